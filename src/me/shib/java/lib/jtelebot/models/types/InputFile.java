@@ -1,14 +1,22 @@
 package me.shib.java.lib.jtelebot.models.types;
 
 import java.io.File;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
 
 /**
  * This object represents the contents of a file to be uploaded. Must be posted using multipart/form-data in the usual way that files are uploaded via the browser.
+ * Besides a file on disk, the contents can be given in memory or as a stream, so generated media can be uploaded without being written to disk first.
  */
 public final class InputFile {
 
     private String file_id;
     private File file;
+    private String fileName;
+    private byte[] bytes;
+    private ByteBuffer byteBuffer;
+    private InputStream inputStream;
+    private long contentLength;
 
     /**
      * Initializes a new InputFile object
@@ -17,6 +25,7 @@ public final class InputFile {
      */
     public InputFile(String file_id) {
         this.file_id = file_id;
+        this.contentLength = -1;
     }
 
     /**
@@ -26,6 +35,58 @@ public final class InputFile {
      */
     public InputFile(File file) {
         this.file = file;
+        this.fileName = file.getName();
+        this.contentLength = -1;
+    }
+
+    /**
+     * Initializes a new InputFile object with contents held in memory
+     *
+     * @param fileName Name of the file as sent to Telegram
+     * @param bytes    Contents of the file to be uploaded
+     */
+    public InputFile(String fileName, byte[] bytes) {
+        this.fileName = fileName;
+        this.bytes = bytes;
+        this.contentLength = bytes.length;
+    }
+
+    /**
+     * Initializes a new InputFile object with contents held in a buffer. The bytes between the position and the limit
+     * of the buffer are uploaded, and the position of the buffer is left unchanged.
+     *
+     * @param fileName   Name of the file as sent to Telegram
+     * @param byteBuffer Contents of the file to be uploaded
+     */
+    public InputFile(String fileName, ByteBuffer byteBuffer) {
+        this.fileName = fileName;
+        this.byteBuffer = byteBuffer.duplicate();
+        this.contentLength = byteBuffer.remaining();
+    }
+
+    /**
+     * Initializes a new InputFile object with contents read from a stream while the file is uploaded.
+     * The stream is read to the end and closed, and can only be uploaded once, so a failed upload is not retried.
+     *
+     * @param fileName      Name of the file as sent to Telegram
+     * @param inputStream   Stream of the contents of the file to be uploaded
+     * @param contentLength Number of bytes in the stream, or -1 if unknown, in which case the upload is sent in chunks
+     */
+    public InputFile(String fileName, InputStream inputStream, long contentLength) {
+        this.fileName = fileName;
+        this.inputStream = inputStream;
+        this.contentLength = (contentLength < 0) ? -1 : contentLength;
+    }
+
+    /**
+     * Initializes a new InputFile object with contents of unknown length read from a stream while the file is uploaded.
+     * The stream is read to the end and closed, and can only be uploaded once, so a failed upload is not retried.
+     *
+     * @param fileName    Name of the file as sent to Telegram
+     * @param inputStream Stream of the contents of the file to be uploaded
+     */
+    public InputFile(String fileName, InputStream inputStream) {
+        this(fileName, inputStream, -1);
     }
 
     /**
@@ -41,4 +102,56 @@ public final class InputFile {
     public File getFile() {
         return file;
     }
+
+    /**
+     * @return Name of the file to be uploaded
+     */
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * @return Contents of the file to be uploaded, if held in a byte array
+     */
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @return Contents of the file to be uploaded, if held in a buffer. A duplicate is returned, so reading it leaves this object unchanged.
+     */
+    public ByteBuffer getByteBuffer() {
+        return (null == byteBuffer) ? null : byteBuffer.duplicate();
+    }
+
+    /**
+     * @return Stream of the contents of the file to be uploaded, if read from a stream
+     */
+    public InputStream getInputStream() {
+        return inputStream;
+    }
+
+    /**
+     * @return Number of bytes to be uploaded, or -1 if unknown until the contents are read
+     */
+    public long getContentLength() {
+        if (null != file) {
+            return file.length();
+        }
+        return contentLength;
+    }
+
+    /**
+     * @return true if the contents are uploaded with the request, false if an existing file is referred to by its file_id
+     */
+    public boolean isUpload() {
+        return null == file_id;
+    }
+
+    /**
+     * @return true if the contents can be uploaded more than once, false if they are read from a stream
+     */
+    public boolean isRepeatable() {
+        return null == inputStream;
+    }
 }
@@ -0,0 +1,24 @@
+package me.shib.java.lib.jtelebot.models.types;
+
+/**
+ * Contains information about why a request was unsuccessful.
+ */
+public final class ResponseParameters {
+
+    private long migrate_to_chat_id;
+    private int retry_after;
+
+    /**
+     * @return The group has been migrated to a supergroup with the specified identifier. 0 if not set.
+     */
+    public long getMigrate_to_chat_id() {
+        return migrate_to_chat_id;
+    }
+
+    /**
+     * @return In case of exceeding flood control, the number of seconds left to wait before the request can be repeated. 0 if not set.
+     */
+    public int getRetry_after() {
+        return retry_after;
+    }
+}
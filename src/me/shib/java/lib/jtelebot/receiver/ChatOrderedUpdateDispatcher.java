@@ -0,0 +1,57 @@
+package me.shib.java.lib.jtelebot.receiver;
+
+/**
+ * Executes updates in parallel across chats while keeping the order of updates within a chat.
+ * Every chat is mapped onto one of a fixed number of single threaded lanes, so updates of the same chat never run concurrently.
+ */
+public final class ChatOrderedUpdateDispatcher implements UpdateDispatcher {
+
+    private UpdateWorkerGroup[] lanes;
+
+    /**
+     * Creates a dispatcher with the given number of lanes.
+     *
+     * @param laneCount         the number of lanes, i.e. the number of chats that can be processed in parallel
+     * @param laneQueueCapacity the maximum number of updates that can wait in each lane
+     */
+    public ChatOrderedUpdateDispatcher(int laneCount, int laneQueueCapacity) {
+        if (laneCount < 1) {
+            throw new IllegalArgumentException("Lane count must be greater than 0");
+        }
+        this.lanes = new UpdateWorkerGroup[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new UpdateWorkerGroup("jtelebot-update-lane-" + i, 1, laneQueueCapacity);
+        }
+    }
+
+    @Override
+    public void start() {
+        for (UpdateWorkerGroup lane : lanes) {
+            lane.start();
+        }
+    }
+
+    @Override
+    public void dispatch(UpdateTask task) throws InterruptedException {
+        long chatKey = UpdateKeys.chatKey(task.getUpdate());
+        int hash = (int) (chatKey ^ (chatKey >>> 32));
+        hash ^= (hash >>> 16);
+        lanes[(hash & Integer.MAX_VALUE) % lanes.length].submit(task);
+    }
+
+    @Override
+    public void shutdown() {
+        for (UpdateWorkerGroup lane : lanes) {
+            lane.shutdown();
+        }
+    }
+
+    @Override
+    public int getPendingTaskCount() {
+        int pendingTaskCount = 0;
+        for (UpdateWorkerGroup lane : lanes) {
+            pendingTaskCount += lane.getPendingTaskCount();
+        }
+        return pendingTaskCount;
+    }
+}
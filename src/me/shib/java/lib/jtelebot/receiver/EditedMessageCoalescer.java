@@ -0,0 +1,91 @@
+package me.shib.java.lib.jtelebot.receiver;
+
+import me.shib.java.lib.jtelebot.models.updates.Message;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collapses edits of the same message that are waiting to be processed. When a message is edited again while
+ * the update of a previous edit is still queued, the previous one is dropped and only the latest version is delivered.
+ * An edit whose handler is already running is left to complete. All other updates pass through unchanged.
+ */
+public final class EditedMessageCoalescer implements UpdateDispatcher {
+
+    private UpdateDispatcher dispatcher;
+    private ConcurrentHashMap<MessageKey, UpdateTask> pendingEdits;
+
+    /**
+     * Creates a coalescer in front of the given dispatcher.
+     *
+     * @param dispatcher the dispatcher that executes the updates
+     */
+    public EditedMessageCoalescer(UpdateDispatcher dispatcher) {
+        if (dispatcher == null) {
+            throw new IllegalArgumentException("Dispatcher is required");
+        }
+        this.dispatcher = dispatcher;
+        this.pendingEdits = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public void start() {
+        dispatcher.start();
+    }
+
+    @Override
+    public void dispatch(final UpdateTask task) throws InterruptedException {
+        Message editedMessage = task.getUpdate().getEdited_message();
+        if ((editedMessage != null) && (editedMessage.getChat() != null)) {
+            final MessageKey messageKey = new MessageKey(editedMessage.getChat().getId(), editedMessage.getMessage_id());
+            UpdateTask previousEdit = pendingEdits.put(messageKey, task);
+            if (previousEdit != null) {
+                previousEdit.cancel(false);
+            }
+            task.addCompletionListener(new Runnable() {
+                @Override
+                public void run() {
+                    pendingEdits.remove(messageKey, task);
+                }
+            });
+        }
+        dispatcher.dispatch(task);
+    }
+
+    @Override
+    public void shutdown() {
+        dispatcher.shutdown();
+    }
+
+    @Override
+    public int getPendingTaskCount() {
+        return dispatcher.getPendingTaskCount();
+    }
+
+    private static final class MessageKey {
+
+        private long chatId;
+        private long messageId;
+
+        private MessageKey(long chatId, long messageId) {
+            this.chatId = chatId;
+            this.messageId = messageId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MessageKey)) {
+                return false;
+            }
+            MessageKey messageKey = (MessageKey) o;
+            return (chatId == messageKey.chatId) && (messageId == messageKey.messageId);
+        }
+
+        @Override
+        public int hashCode() {
+            return (31 * (int) (chatId ^ (chatId >>> 32))) + (int) (messageId ^ (messageId >>> 32));
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package me.shib.java.lib.jtelebot.receiver;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Stores the update offset in a small memory mapped file. Storing an offset is a plain memory write,
+ * and the sync policy decides how often the mapped page is forced to the disk.
+ * The offset is written along with its complement, so a torn write is detected on load and the receiver falls back to Telegram's own offset.
+ */
+public final class FileUpdateOffsetStore implements UpdateOffsetStore, Closeable {
+
+    private static final int fileLength = 16;
+
+    private RandomAccessFile randomAccessFile;
+    private MappedByteBuffer mappedOffset;
+    private SyncPolicy syncPolicy;
+    private long syncIntervalMillis;
+    private long lastSyncTime;
+
+    /**
+     * Opens or creates the offset file.
+     *
+     * @param file               the file in which the offset has to be stored
+     * @param syncPolicy         decides when the stored offset is forced to the disk
+     * @param syncIntervalMillis the minimum interval between two syncs, used only with SyncPolicy.INTERVAL
+     * @throws IOException an exception is thrown if the file cannot be opened
+     */
+    public FileUpdateOffsetStore(File file, SyncPolicy syncPolicy, long syncIntervalMillis) throws IOException {
+        this.randomAccessFile = new RandomAccessFile(file, "rw");
+        this.mappedOffset = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, fileLength);
+        this.syncPolicy = syncPolicy;
+        this.syncIntervalMillis = syncIntervalMillis;
+        this.lastSyncTime = 0;
+    }
+
+    /**
+     * Opens or creates the offset file. Every stored offset is forced to the disk.
+     *
+     * @param file the file in which the offset has to be stored
+     * @throws IOException an exception is thrown if the file cannot be opened
+     */
+    public FileUpdateOffsetStore(File file) throws IOException {
+        this(file, SyncPolicy.EVERY_STORE, 0);
+    }
+
+    @Override
+    public synchronized long load() throws IOException {
+        long offset = mappedOffset.getLong(0);
+        long complement = mappedOffset.getLong(8);
+        if ((offset != ~complement) || (offset < 0)) {
+            return 0;
+        }
+        return offset;
+    }
+
+    @Override
+    public synchronized void store(long offset) throws IOException {
+        mappedOffset.putLong(0, offset);
+        mappedOffset.putLong(8, ~offset);
+        switch (syncPolicy) {
+            case EVERY_STORE:
+                mappedOffset.force();
+                break;
+            case INTERVAL:
+                long now = System.currentTimeMillis();
+                if ((now - lastSyncTime) >= syncIntervalMillis) {
+                    mappedOffset.force();
+                    lastSyncTime = now;
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Forces the last stored offset to the disk and closes the file.
+     *
+     * @throws IOException an exception is thrown if the file cannot be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        mappedOffset.force();
+        randomAccessFile.close();
+    }
+
+    /**
+     * Decides how often the stored offset is forced to the disk.
+     */
+    public enum SyncPolicy {
+        /**
+         * Every stored offset is forced to the disk before store returns. Survives power loss.
+         */
+        EVERY_STORE,
+        /**
+         * The offset is forced to the disk at most once per sync interval. Survives process crashes, and loses at most an interval of progress on power loss.
+         */
+        INTERVAL,
+        /**
+         * The operating system decides when the mapped page is written. Survives process crashes.
+         */
+        OS_MANAGED
+    }
+}
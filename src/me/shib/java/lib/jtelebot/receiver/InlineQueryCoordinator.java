@@ -0,0 +1,72 @@
+package me.shib.java.lib.jtelebot.receiver;
+
+import me.shib.java.lib.jtelebot.models.updates.InlineQuery;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps only the newest inline query of every user. Users type inline queries one keystroke at a time,
+ * so by the time an older query is answered, its results are of no use anymore.
+ * When a new inline query arrives, the previous query of the same user is cancelled: it is dropped if it is still queued,
+ * and its handler's thread is interrupted if it is already running. Handlers of long inline queries should check
+ * Thread.currentThread().isInterrupted() before calling answerInlineQuery. All other updates pass through unchanged.
+ */
+public final class InlineQueryCoordinator implements UpdateDispatcher {
+
+    private UpdateDispatcher dispatcher;
+    private ConcurrentHashMap<Long, UpdateTask> latestQueries;
+
+    /**
+     * Creates a coordinator in front of the given dispatcher.
+     *
+     * @param dispatcher the dispatcher that executes the updates
+     */
+    public InlineQueryCoordinator(UpdateDispatcher dispatcher) {
+        if (dispatcher == null) {
+            throw new IllegalArgumentException("Dispatcher is required");
+        }
+        this.dispatcher = dispatcher;
+        this.latestQueries = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public void start() {
+        dispatcher.start();
+    }
+
+    @Override
+    public void dispatch(final UpdateTask task) throws InterruptedException {
+        InlineQuery inlineQuery = task.getUpdate().getInline_query();
+        if ((inlineQuery != null) && (inlineQuery.getFrom() != null)) {
+            final Long userId = inlineQuery.getFrom().getId();
+            UpdateTask previousQuery = latestQueries.put(userId, task);
+            if (previousQuery != null) {
+                previousQuery.cancel(true);
+            }
+            task.addCompletionListener(new Runnable() {
+                @Override
+                public void run() {
+                    latestQueries.remove(userId, task);
+                }
+            });
+        }
+        dispatcher.dispatch(task);
+    }
+
+    @Override
+    public void shutdown() {
+        dispatcher.shutdown();
+    }
+
+    @Override
+    public int getPendingTaskCount() {
+        return dispatcher.getPendingTaskCount();
+    }
+
+    /**
+     * @return the number of users with an inline query in flight
+     */
+    public int getInFlightQueryCount() {
+        return latestQueries.size();
+    }
+}
@@ -0,0 +1,273 @@
+package me.shib.java.lib.jtelebot.receiver;
+
+import me.shib.java.lib.jtelebot.models.updates.Update;
+import me.shib.java.lib.jtelebot.service.BotCallback;
+import me.shib.java.lib.jtelebot.service.TelegramBot;
+
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Polls updates for many bots and routes them to a handler per bot. The updates of all bots are executed on one shared UpdateDispatcher.
+ * Every bot keeps a long poll open with TelegramBot.getUpdatesAsync, so Telegram answers as soon as an update arrives.
+ * The poller threads only hand the received updates to the dispatcher and start the next polls, so they are never held by a poll.
+ * The open polls themselves still cost a thread each: the transports of this library are blocking, so every open poll waits on
+ * a thread of a shared long poll pool, and polling a thousand bots keeps about a thousand threads parked.
+ * For very many bots, a WebhookReceiver needs no thread per idle bot.
+ * The offset of every bot follows its last received update, as with TelegramBot.getUpdates(int, int).
+ */
+public final class MultiBotPoller {
+
+    private static final int defaultLongPollTimeout = 300;
+    private static final int defaultUpdateListLength = 100;
+    private static final int defaultQueueCapacity = 1000;
+    private static final int startSpreadMillis = 1000;
+    private static final long pollFailureBackoff = 1000;
+    private static Logger logger = Logger.getLogger(MultiBotPoller.class.getName());
+
+    private int pollerThreadCount;
+    private UpdateDispatcher dispatcher;
+    private int longPollTimeoutSeconds;
+    private ConcurrentHashMap<String, PolledBot> polledBots;
+    private Random random;
+    private Executor callbackExecutor;
+    private volatile ScheduledExecutorService scheduler;
+
+    /**
+     * Creates a poller for multiple bots.
+     *
+     * @param pollerThreadCount      the number of threads that hand the received updates to the dispatcher and start the next polls
+     * @param dispatcher             the dispatcher that decides how the updates of all bots are executed
+     * @param longPollTimeoutSeconds the timeout of each long poll in seconds
+     */
+    public MultiBotPoller(int pollerThreadCount, UpdateDispatcher dispatcher, int longPollTimeoutSeconds) {
+        if ((pollerThreadCount < 1) || (dispatcher == null)) {
+            throw new IllegalArgumentException("A dispatcher and at least one poller thread are required");
+        }
+        if (longPollTimeoutSeconds < 1) {
+            throw new IllegalArgumentException("Long poll timeout must be greater than 0");
+        }
+        this.pollerThreadCount = pollerThreadCount;
+        this.dispatcher = dispatcher;
+        this.longPollTimeoutSeconds = longPollTimeoutSeconds;
+        this.polledBots = new ConcurrentHashMap<>();
+        this.random = new Random();
+        this.callbackExecutor = new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                ScheduledExecutorService currentScheduler = scheduler;
+                if (currentScheduler != null) {
+                    try {
+                        currentScheduler.execute(command);
+                        return;
+                    } catch (RejectedExecutionException e) {
+                        // The poller was stopped while the poll was open
+                    }
+                }
+                command.run();
+            }
+        };
+    }
+
+    /**
+     * Creates a poller for multiple bots that executes updates on a pool of workers, with long polls of 5 minutes.
+     *
+     * @param pollerThreadCount the number of threads that hand the received updates to the dispatcher and start the next polls
+     * @param workerCount       the number of worker threads that process updates in parallel
+     */
+    public MultiBotPoller(int pollerThreadCount, int workerCount) {
+        this(pollerThreadCount, new PooledUpdateDispatcher(workerCount, defaultQueueCapacity), defaultLongPollTimeout);
+    }
+
+    /**
+     * Adds a bot to be polled. Replaces the handler if the bot was already added.
+     * If a poll of the bot is open, the new handler takes over once that poll completes, continuing from its offset.
+     *
+     * @param bot     the bot for which the updates have to be received
+     * @param handler the handler to be invoked for every update of the bot
+     */
+    public synchronized void register(TelegramBot bot, UpdateHandler handler) {
+        if ((bot == null) || (handler == null)) {
+            throw new IllegalArgumentException("Both bot and handler are required to receive updates");
+        }
+        PolledBot polledBot = new PolledBot(bot, handler);
+        PolledBot previous = polledBots.put(bot.getBotApiToken(), polledBot);
+        if (previous != null) {
+            previous.active = false;
+            if (previous.polling || previous.awaitingHandOver) {
+                previous.successor = polledBot;
+                polledBot.awaitingHandOver = true;
+                return;
+            }
+            polledBot.offset = previous.offset;
+        }
+        schedule(polledBot, random.nextInt(startSpreadMillis));
+    }
+
+    /**
+     * Stops polling for a bot. Updates of the bot that were already received are still processed.
+     *
+     * @param bot the bot to be removed
+     */
+    public synchronized void unregister(TelegramBot bot) {
+        PolledBot polledBot = polledBots.remove(bot.getBotApiToken());
+        if (polledBot != null) {
+            polledBot.active = false;
+        }
+    }
+
+    /**
+     * @return the number of bots being polled
+     */
+    public int getBotCount() {
+        return polledBots.size();
+    }
+
+    /**
+     * Starts polling for all the registered bots. Does nothing if the poller is already running.
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        dispatcher.start();
+        scheduler = Executors.newScheduledThreadPool(pollerThreadCount, new ThreadFactory() {
+            private int threadCount = 0;
+
+            @Override
+            public synchronized Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "jtelebot-multibot-poller-" + (threadCount++));
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        for (PolledBot polledBot : polledBots.values()) {
+            schedule(polledBot, random.nextInt(startSpreadMillis));
+        }
+    }
+
+    /**
+     * Stops polling. Updates that were already received are still handed over to the handlers before the workers stop.
+     * Polls that are still open are left to complete, and their updates are received again on the next start.
+     */
+    public synchronized void stop() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdownNow();
+        scheduler = null;
+        dispatcher.shutdown();
+    }
+
+    private void schedule(PolledBot polledBot, long delayMillis) {
+        ScheduledExecutorService currentScheduler = scheduler;
+        if ((currentScheduler == null) || (!polledBot.active)) {
+            return;
+        }
+        try {
+            currentScheduler.schedule(polledBot, delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // The poller was stopped; the bot is scheduled again on the next start.
+        }
+    }
+
+    /**
+     * A bot with its handler. At most one poll of a bot is open at a time, and a bot that replaces another
+     * only starts polling once the open poll of the one it replaces has completed.
+     */
+    private final class PolledBot implements Runnable, BotCallback<Update[]> {
+
+        private TelegramBot bot;
+        private UpdateHandler handler;
+        private volatile long offset;
+        private volatile boolean active;
+        private ScheduledExecutorService pollOwner;
+        // Guarded by the poller
+        private boolean polling;
+        private boolean awaitingHandOver;
+        private PolledBot successor;
+
+        private PolledBot(TelegramBot bot, UpdateHandler handler) {
+            this.bot = bot;
+            this.handler = handler;
+            this.offset = 0;
+            this.active = true;
+        }
+
+        @Override
+        public void run() {
+            synchronized (MultiBotPoller.this) {
+                if ((!active) || polling || awaitingHandOver || (scheduler == null)) {
+                    return;
+                }
+                polling = true;
+                pollOwner = scheduler;
+            }
+            try {
+                bot.getUpdatesAsync(longPollTimeoutSeconds, defaultUpdateListLength, offset, callbackExecutor).addCallback(this);
+            } catch (RuntimeException e) {
+                logger.throwing(this.getClass().getName(), "run", e);
+                finishPoll(pollFailureBackoff);
+            }
+        }
+
+        @Override
+        public void onSuccess(Update[] updates) {
+            if (pollOwner == scheduler) {
+                try {
+                    for (Update update : updates) {
+                        dispatcher.dispatch(new UpdateTask(bot, update, handler, null));
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    finishPoll(pollFailureBackoff);
+                    return;
+                }
+                if (updates.length > 0) {
+                    offset = updates[updates.length - 1].getUpdate_id() + 1;
+                }
+            }
+            finishPoll(0);
+        }
+
+        @Override
+        public void onFailure(Throwable failure) {
+            logger.throwing(this.getClass().getName(), "onFailure", failure);
+            finishPoll(pollFailureBackoff);
+        }
+
+        /**
+         * Starts the next poll of the bot, or hands the offset over to the bot that replaced it while the poll was open.
+         */
+        private void finishPoll(long delayMillis) {
+            PolledBot next;
+            synchronized (MultiBotPoller.this) {
+                polling = false;
+                next = successor;
+                successor = null;
+                while ((next != null) && !next.active) {
+                    PolledBot replacement = next.successor;
+                    next.successor = null;
+                    next.awaitingHandOver = false;
+                    next = replacement;
+                }
+                if (next != null) {
+                    next.awaitingHandOver = false;
+                    next.offset = offset;
+                }
+            }
+            if (next != null) {
+                schedule(next, 0);
+            } else {
+                schedule(this, delayMillis);
+            }
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package me.shib.java.lib.jtelebot.receiver;
+
+import me.shib.java.lib.jtelebot.models.updates.Update;
+import me.shib.java.lib.jtelebot.service.TelegramBot;
+
+import java.io.IOException;
+import java.util.logging.Logger;
+
+/**
+ * Publishes the updates of a bot by long polling, fetching only as many updates as the subscriber has requested.
+ * The outstanding demand is passed as the limit of getUpdates, and no poll is sent while there is no demand,
+ * so a slow subscriber leaves the updates queued up at Telegram instead of in memory.
+ * The offset follows the last delivered update, as with TelegramBot.getUpdates(int, int).
+ * A publisher serves a single subscriber at a time.
+ */
+public final class PollingUpdatePublisher implements UpdatePublisher {
+
+    private static final int defaultLongPollInterval = 300;
+    private static final int maxUpdateListLength = 100;
+    private static final long pollFailureBackoff = 1000;
+    private static Logger logger = Logger.getLogger(PollingUpdatePublisher.class.getName());
+
+    private TelegramBot bot;
+    private int pollTimeout;
+    private PolledSubscription activeSubscription;
+    private long offset;
+
+    /**
+     * Creates a publisher for the given bot.
+     *
+     * @param bot         the bot for which the updates have to be published
+     * @param pollTimeout timeout in seconds for long polling
+     */
+    public PollingUpdatePublisher(TelegramBot bot, int pollTimeout) {
+        if (bot == null) {
+            throw new IllegalArgumentException("Bot is required to publish updates");
+        }
+        this.bot = bot;
+        this.pollTimeout = pollTimeout;
+        this.offset = 0;
+    }
+
+    /**
+     * Creates a publisher for the given bot with a long poll timeout of 5 minutes.
+     *
+     * @param bot the bot for which the updates have to be published
+     */
+    public PollingUpdatePublisher(TelegramBot bot) {
+        this(bot, defaultLongPollInterval);
+    }
+
+    /**
+     * Subscribes to the updates of the bot. If another subscription is still active, the subscriber is rejected with an IllegalStateException.
+     *
+     * @param subscriber the subscriber to receive the updates
+     */
+    @Override
+    public void subscribe(UpdateSubscriber subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("Subscriber must not be null");
+        }
+        final PolledSubscription subscription;
+        synchronized (this) {
+            if ((activeSubscription != null) && (!activeSubscription.cancelled)) {
+                subscription = null;
+            } else {
+                activeSubscription = new PolledSubscription(subscriber);
+                subscription = activeSubscription;
+            }
+        }
+        if (subscription == null) {
+            subscriber.onSubscribe(new PolledSubscription(subscriber));
+            subscriber.onError(new IllegalStateException("The publisher already has an active subscriber"));
+            return;
+        }
+        Thread pollerThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                publishUpdates(subscription);
+            }
+        }, "jtelebot-update-publisher");
+        pollerThread.setDaemon(true);
+        subscription.subscriber.onSubscribe(subscription);
+        pollerThread.start();
+    }
+
+    private void publishUpdates(PolledSubscription subscription) {
+        UpdateSubscriber subscriber = subscription.subscriber;
+        while (true) {
+            int limit;
+            try {
+                limit = (int) Math.min(subscription.awaitDemand(), maxUpdateListLength);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (subscription.cancelled) {
+                return;
+            }
+            if (subscription.error != null) {
+                subscription.cancelled = true;
+                subscriber.onError(subscription.error);
+                return;
+            }
+            Update[] updates;
+            try {
+                updates = bot.getUpdates(pollTimeout, limit, getOffset());
+            } catch (IOException e) {
+                logger.throwing(this.getClass().getName(), "publishUpdates", e);
+                try {
+                    Thread.sleep(pollFailureBackoff);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+                continue;
+            }
+            for (Update update : updates) {
+                if (subscription.cancelled) {
+                    return;
+                }
+                subscription.consumeDemand();
+                setOffset(update.getUpdate_id() + 1);
+                try {
+                    subscriber.onNext(update);
+                } catch (RuntimeException e) {
+                    logger.throwing(this.getClass().getName(), "publishUpdates", e);
+                    subscription.cancel();
+                    return;
+                }
+            }
+        }
+    }
+
+    private synchronized long getOffset() {
+        return offset;
+    }
+
+    private synchronized void setOffset(long offset) {
+        this.offset = offset;
+    }
+
+    private static final class PolledSubscription implements UpdateSubscription {
+
+        private UpdateSubscriber subscriber;
+        private long demand;
+        private volatile boolean cancelled;
+        private volatile Throwable error;
+
+        private PolledSubscription(UpdateSubscriber subscriber) {
+            this.subscriber = subscriber;
+            this.demand = 0;
+            this.cancelled = false;
+        }
+
+        @Override
+        public synchronized void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("Requested number of updates must be greater than 0");
+            } else {
+                demand += n;
+                if (demand < 0) {
+                    demand = Long.MAX_VALUE;
+                }
+            }
+            notifyAll();
+        }
+
+        @Override
+        public synchronized void cancel() {
+            cancelled = true;
+            notifyAll();
+        }
+
+        private synchronized long awaitDemand() throws InterruptedException {
+            while ((demand == 0) && (!cancelled) && (error == null)) {
+                wait();
+            }
+            return demand;
+        }
+
+        private synchronized void consumeDemand() {
+            if (demand != Long.MAX_VALUE) {
+                demand--;
+            }
+        }
+    }
+}
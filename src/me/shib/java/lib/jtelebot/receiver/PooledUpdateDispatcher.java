@@ -0,0 +1,39 @@
+package me.shib.java.lib.jtelebot.receiver;
+
+/**
+ * Executes updates on a pool of worker threads that share one bounded queue. Updates are processed in parallel without any ordering guarantees.
+ */
+public final class PooledUpdateDispatcher implements UpdateDispatcher {
+
+    private UpdateWorkerGroup workerGroup;
+
+    /**
+     * Creates a dispatcher with the given number of workers.
+     *
+     * @param workerCount   the number of worker threads that process updates in parallel
+     * @param queueCapacity the maximum number of updates that can wait for a worker
+     */
+    public PooledUpdateDispatcher(int workerCount, int queueCapacity) {
+        this.workerGroup = new UpdateWorkerGroup("jtelebot-update-worker", workerCount, queueCapacity);
+    }
+
+    @Override
+    public void start() {
+        workerGroup.start();
+    }
+
+    @Override
+    public void dispatch(UpdateTask task) throws InterruptedException {
+        workerGroup.submit(task);
+    }
+
+    @Override
+    public void shutdown() {
+        workerGroup.shutdown();
+    }
+
+    @Override
+    public int getPendingTaskCount() {
+        return workerGroup.getPendingTaskCount();
+    }
+}
@@ -0,0 +1,267 @@
+package me.shib.java.lib.jtelebot.receiver;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Routes every kind of update to its own lane, so that latency sensitive updates never queue behind slow ones.
+ * Each lane is an UpdateDispatcher with its own workers and queue. By default callback queries and inline queries,
+ * which are useless to the user after a few seconds, go to the interactive lane, and everything else goes to the default lane.
+ * Updates are handed to each lane through a backlog of its own, so a lane whose queue is full never holds back the other lanes.
+ * When the backlog of a lane is full too, the overflow policy of that lane decides what happens to the next update.
+ */
+public final class PriorityUpdateDispatcher implements UpdateDispatcher {
+
+    private static final int defaultQueueCapacity = 1000;
+    private static final int defaultBacklogCapacity = 10000;
+    private static Logger logger = Logger.getLogger(PriorityUpdateDispatcher.class.getName());
+
+    private Map<UpdateType, Lane> lanes;
+    private volatile Object session;
+
+    /**
+     * Creates a dispatcher with an interactive lane for callback queries and inline queries, and a default lane for the rest.
+     * The interactive lane drops its oldest waiting update when its backlog is full, as a stale query is useless to the user.
+     * Polling waits for the default lane only when its backlog is full.
+     *
+     * @param interactiveLane the lane for callback queries and inline queries
+     * @param defaultLane     the lane for all other updates
+     */
+    public PriorityUpdateDispatcher(UpdateDispatcher interactiveLane, UpdateDispatcher defaultLane) {
+        if ((interactiveLane == null) || (defaultLane == null)) {
+            throw new IllegalArgumentException("Both interactive and default lanes are required");
+        }
+        this.lanes = new EnumMap<>(UpdateType.class);
+        this.session = null;
+        Lane defaultHandOff = new Lane(defaultLane, OverflowPolicy.WAIT, defaultBacklogCapacity);
+        for (UpdateType updateType : UpdateType.values()) {
+            lanes.put(updateType, defaultHandOff);
+        }
+        Lane interactiveHandOff = new Lane(interactiveLane, OverflowPolicy.DROP_OLDEST, defaultBacklogCapacity);
+        lanes.put(UpdateType.CALLBACK_QUERY, interactiveHandOff);
+        lanes.put(UpdateType.INLINE_QUERY, interactiveHandOff);
+    }
+
+    /**
+     * Creates a dispatcher with pooled interactive and default lanes.
+     *
+     * @param interactiveWorkerCount the number of workers reserved for callback queries and inline queries
+     * @param defaultWorkerCount     the number of workers for all other updates
+     */
+    public PriorityUpdateDispatcher(int interactiveWorkerCount, int defaultWorkerCount) {
+        this(new PooledUpdateDispatcher(interactiveWorkerCount, defaultQueueCapacity),
+                new PooledUpdateDispatcher(defaultWorkerCount, defaultQueueCapacity));
+    }
+
+    /**
+     * Routes a kind of update to the given lane. Must be called before the dispatcher is started.
+     * A lane that is new to this dispatcher waits for room when its backlog is full.
+     *
+     * @param updateType the kind of update
+     * @param lane       the lane to execute the updates of this kind
+     * @return this dispatcher
+     */
+    public synchronized PriorityUpdateDispatcher setLane(UpdateType updateType, UpdateDispatcher lane) {
+        if ((updateType == null) || (lane == null)) {
+            throw new IllegalArgumentException("Both update type and lane are required");
+        }
+        Lane handOff = findLane(lane);
+        if (handOff == null) {
+            handOff = new Lane(lane, OverflowPolicy.WAIT, defaultBacklogCapacity);
+        }
+        lanes.put(updateType, handOff);
+        return this;
+    }
+
+    /**
+     * Routes a kind of update to the given lane, and sets what happens to the updates of the lane when its backlog is full.
+     * The policy applies to every kind of update routed to the same lane. Must be called before the dispatcher is started.
+     *
+     * @param updateType      the kind of update
+     * @param lane            the lane to execute the updates of this kind
+     * @param overflowPolicy  what happens to an update of the lane when its backlog is full
+     * @param backlogCapacity the maximum number of updates that can wait for room in the lane
+     * @return this dispatcher
+     */
+    public synchronized PriorityUpdateDispatcher setLane(UpdateType updateType, UpdateDispatcher lane,
+                                                         OverflowPolicy overflowPolicy, int backlogCapacity) {
+        if ((updateType == null) || (lane == null) || (overflowPolicy == null)) {
+            throw new IllegalArgumentException("Update type, lane and overflow policy are required");
+        }
+        if (backlogCapacity < 1) {
+            throw new IllegalArgumentException("Backlog capacity must be greater than 0");
+        }
+        Lane handOff = new Lane(lane, overflowPolicy, backlogCapacity);
+        for (Map.Entry<UpdateType, Lane> entry : lanes.entrySet()) {
+            if (entry.getValue().dispatcher == lane) {
+                entry.setValue(handOff);
+            }
+        }
+        lanes.put(updateType, handOff);
+        return this;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (session != null) {
+            return;
+        }
+        final Object currentSession = new Object();
+        session = currentSession;
+        int laneCount = 0;
+        for (final Lane lane : getDistinctLanes()) {
+            lane.dispatcher.start();
+            Thread feederThread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    lane.feed(currentSession);
+                }
+            }, "jtelebot-lane-feeder-" + (laneCount++));
+            feederThread.setDaemon(true);
+            feederThread.start();
+        }
+    }
+
+    /**
+     * Queues a task in the backlog of its lane. Waits only if that backlog is full and the lane waits for room on overflow.
+     *
+     * @param task the task to be executed
+     * @throws InterruptedException if the calling thread is interrupted while waiting for room
+     */
+    @Override
+    public void dispatch(UpdateTask task) throws InterruptedException {
+        Lane lane;
+        synchronized (this) {
+            lane = lanes.get(UpdateType.of(task.getUpdate()));
+        }
+        lane.offer(task);
+    }
+
+    /**
+     * Stops the lanes once the tasks that were already queued, including those in the backlogs, are handed to them.
+     */
+    @Override
+    public synchronized void shutdown() {
+        session = null;
+    }
+
+    @Override
+    public synchronized int getPendingTaskCount() {
+        int pendingTaskCount = 0;
+        for (Lane lane : getDistinctLanes()) {
+            pendingTaskCount += lane.backlog.size() + lane.dispatcher.getPendingTaskCount();
+        }
+        return pendingTaskCount;
+    }
+
+    private Lane findLane(UpdateDispatcher dispatcher) {
+        for (Lane lane : lanes.values()) {
+            if (lane.dispatcher == dispatcher) {
+                return lane;
+            }
+        }
+        return null;
+    }
+
+    private Set<Lane> getDistinctLanes() {
+        Set<Lane> distinctLanes = Collections.newSetFromMap(new IdentityHashMap<Lane, Boolean>());
+        distinctLanes.addAll(lanes.values());
+        return distinctLanes;
+    }
+
+    /**
+     * Skips a task that did not fit in its lane. The task is still acknowledged, so the offset moves past it.
+     */
+    private static void skip(UpdateTask task) {
+        logger.warning("Lane is full, skipping update " + task.getUpdate().getUpdate_id());
+        boolean interrupted = Thread.interrupted();
+        task.cancel(false);
+        task.run();
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Decides what happens to an update when the backlog of its lane is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Dispatch waits for room in the backlog. Polling pauses meanwhile, which holds back the updates of every lane.
+         */
+        WAIT,
+        /**
+         * The oldest update waiting in the backlog is skipped to make room for the new one.
+         */
+        DROP_OLDEST,
+        /**
+         * The new update is skipped.
+         */
+        DROP_NEWEST
+    }
+
+    /**
+     * A lane with the backlog of updates waiting for room in it. A feeder thread per lane moves the updates from
+     * the backlog to the lane in order, so only that thread waits while the lane is full.
+     */
+    private final class Lane {
+
+        private UpdateDispatcher dispatcher;
+        private OverflowPolicy overflowPolicy;
+        private BlockingQueue<UpdateTask> backlog;
+
+        private Lane(UpdateDispatcher dispatcher, OverflowPolicy overflowPolicy, int backlogCapacity) {
+            this.dispatcher = dispatcher;
+            this.overflowPolicy = overflowPolicy;
+            this.backlog = new ArrayBlockingQueue<>(backlogCapacity);
+        }
+
+        private void offer(UpdateTask task) throws InterruptedException {
+            switch (overflowPolicy) {
+                case WAIT:
+                    backlog.put(task);
+                    break;
+                case DROP_NEWEST:
+                    if (!backlog.offer(task)) {
+                        skip(task);
+                    }
+                    break;
+                case DROP_OLDEST:
+                    while (!backlog.offer(task)) {
+                        UpdateTask oldest = backlog.poll();
+                        if (oldest != null) {
+                            skip(oldest);
+                        }
+                    }
+                    break;
+            }
+        }
+
+        private void feed(Object currentSession) {
+            // A restarted dispatcher has a feeder of its own, so this one only drains what is left after a shutdown
+            while ((session == currentSession) || ((session == null) && !backlog.isEmpty())) {
+                UpdateTask task;
+                try {
+                    task = backlog.poll(1, TimeUnit.SECONDS);
+                    if (task != null) {
+                        dispatcher.dispatch(task);
+                    }
+                } catch (InterruptedException e) {
+                    break;
+                }
+            }
+            synchronized (PriorityUpdateDispatcher.this) {
+                if (session == null) {
+                    dispatcher.shutdown();
+                }
+            }
+        }
+    }
+}
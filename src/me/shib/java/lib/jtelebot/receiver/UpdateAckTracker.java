@@ -0,0 +1,159 @@
+package me.shib.java.lib.jtelebot.receiver;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Logger;
+
+/**
+ * Keeps track of the received updates that are yet to be acknowledged by the handlers.
+ * The committed offset is the lowest update identifier that has not been acknowledged, so it never skips an unfinished update,
+ * however out of order the handlers complete. It is persisted whenever it moves forward.
+ * Updates are tracked in a fixed ring of slots indexed by update identifier, and acknowledgements never take a lock.
+ * Only the poller thread registers updates, and it waits when the oldest pending update is a whole ring behind.
+ */
+final class UpdateAckTracker {
+
+    private static final int defaultWindowSize = 4096;
+    private static final int free = 0;
+    private static final int pending = 1;
+    private static final int acknowledged = 2;
+    private static Logger logger = Logger.getLogger(UpdateAckTracker.class.getName());
+
+    private UpdateOffsetStore offsetStore;
+    private AtomicIntegerArray slots;
+    private int slotMask;
+    private AtomicLong committedOffset;
+    private volatile long highestReceivedId;
+    private volatile Thread waitingThread;
+    private AtomicBoolean persisting;
+    private volatile long persistedOffset;
+
+    UpdateAckTracker(UpdateOffsetStore offsetStore, long initialOffset) {
+        this.offsetStore = offsetStore;
+        this.slots = new AtomicIntegerArray(defaultWindowSize);
+        this.slotMask = defaultWindowSize - 1;
+        this.committedOffset = new AtomicLong(initialOffset);
+        this.highestReceivedId = initialOffset - 1;
+        this.persisting = new AtomicBoolean(false);
+        this.persistedOffset = initialOffset;
+    }
+
+    /**
+     * Registers a received update as pending. Must only be called from a single thread.
+     *
+     * @param updateId the identifier of the received update
+     * @return false if the update was already received before, in which case it must not be processed again
+     * @throws InterruptedException if the calling thread is interrupted while waiting for room in the ring
+     */
+    boolean register(long updateId) throws InterruptedException {
+        long highestId = highestReceivedId;
+        if (updateId <= highestId) {
+            return false;
+        }
+        if (committedOffset.get() == (highestId + 1)) {
+            // Nothing is pending, so nobody else can move the offset. Skip any gap in the identifiers at once.
+            committedOffset.set(updateId);
+            highestId = updateId - 1;
+        }
+        for (long skippedId = highestId + 1; skippedId < updateId; skippedId++) {
+            awaitSlot(skippedId);
+            slots.set(slotIndex(skippedId), acknowledged);
+        }
+        awaitSlot(updateId);
+        slots.set(slotIndex(updateId), pending);
+        highestReceivedId = updateId;
+        advance();
+        return true;
+    }
+
+    /**
+     * Marks a pending update as processed and moves the committed offset forward if possible.
+     *
+     * @param updateId the identifier of the processed update
+     */
+    void acknowledge(long updateId) {
+        slots.set(slotIndex(updateId), acknowledged);
+        advance();
+    }
+
+    long getCommittedOffset() {
+        return committedOffset.get();
+    }
+
+    /**
+     * Waits until the committed offset moves past the given offset. Must only be called from the registering thread.
+     *
+     * @param offset        the last known committed offset
+     * @param timeoutMillis the maximum time to wait
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    void awaitCommit(long offset, long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + (timeoutMillis * 1000000L);
+        waitingThread = Thread.currentThread();
+        try {
+            long remaining;
+            while ((committedOffset.get() <= offset) && ((remaining = deadline - System.nanoTime()) > 0)) {
+                LockSupport.parkNanos(this, remaining);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        } finally {
+            waitingThread = null;
+        }
+    }
+
+    private int slotIndex(long updateId) {
+        return (int) (updateId & slotMask);
+    }
+
+    private void awaitSlot(long updateId) throws InterruptedException {
+        long offset;
+        while ((updateId - (offset = committedOffset.get())) > slotMask) {
+            awaitCommit(offset, 1000);
+        }
+    }
+
+    private void advance() {
+        boolean advanced = false;
+        while (true) {
+            long offset = committedOffset.get();
+            if ((offset > highestReceivedId) || (!slots.compareAndSet(slotIndex(offset), acknowledged, free))) {
+                break;
+            }
+            // Only the thread that freed the slot may move the offset past it.
+            committedOffset.set(offset + 1);
+            advanced = true;
+        }
+        if (advanced) {
+            Thread waiter = waitingThread;
+            if (waiter != null) {
+                LockSupport.unpark(waiter);
+            }
+            persist();
+        }
+    }
+
+    private void persist() {
+        if (offsetStore == null) {
+            return;
+        }
+        while ((committedOffset.get() > persistedOffset) && persisting.compareAndSet(false, true)) {
+            try {
+                long offset = committedOffset.get();
+                if (offset > persistedOffset) {
+                    offsetStore.store(offset);
+                    persistedOffset = offset;
+                }
+            } catch (IOException e) {
+                logger.throwing(this.getClass().getName(), "persist", e);
+                return;
+            } finally {
+                persisting.set(false);
+            }
+        }
+    }
+}
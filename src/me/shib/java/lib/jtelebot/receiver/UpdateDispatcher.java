@@ -0,0 +1,31 @@
+package me.shib.java.lib.jtelebot.receiver;
+
+/**
+ * Decides on which thread and in which order the received updates are processed.
+ */
+public interface UpdateDispatcher {
+
+    /**
+     * Starts the worker threads of the dispatcher. Does nothing if the dispatcher is already running.
+     */
+    void start();
+
+    /**
+     * Queues a task for execution. Blocks while the dispatcher has no room for the task.
+     *
+     * @param task the task to be executed
+     * @throws InterruptedException if the calling thread is interrupted while waiting for room
+     */
+    void dispatch(UpdateTask task) throws InterruptedException;
+
+    /**
+     * Stops the worker threads once the tasks that were already queued are executed.
+     */
+    void shutdown();
+
+    /**
+     * @return the number of tasks that are waiting for a worker
+     */
+    int getPendingTaskCount();
+
+}
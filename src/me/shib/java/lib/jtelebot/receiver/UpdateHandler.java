@@ -0,0 +1,21 @@
+package me.shib.java.lib.jtelebot.receiver;
+
+import me.shib.java.lib.jtelebot.models.updates.Update;
+import me.shib.java.lib.jtelebot.service.TelegramBot;
+
+/**
+ * Implement this interface to process the updates received by an UpdateReceiver.
+ * Handlers may be invoked concurrently from multiple worker threads, so implementations have to be thread safe.
+ */
+public interface UpdateHandler {
+
+    /**
+     * Called once for every update that is received for the bot.
+     *
+     * @param bot    the bot for which the update was received
+     * @param update the update to be processed
+     * @throws Exception any exception thrown is logged and the receiver moves on to the next update
+     */
+    void onUpdate(TelegramBot bot, Update update) throws Exception;
+
+}
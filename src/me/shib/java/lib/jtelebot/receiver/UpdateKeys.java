@@ -0,0 +1,51 @@
+package me.shib.java.lib.jtelebot.receiver;
+
+import me.shib.java.lib.jtelebot.models.updates.Message;
+import me.shib.java.lib.jtelebot.models.updates.Update;
+
+/**
+ * Helpers to derive grouping keys from updates.
+ */
+final class UpdateKeys {
+
+    private UpdateKeys() {
+    }
+
+    /**
+     * Gives the chat that an update belongs to. Falls back to the user for inline queries, chosen inline results
+     * and callback queries of inline messages, which is the same identifier as the user's private chat with the bot.
+     *
+     * @param update the update to derive the key from
+     * @return the chat identifier, or 0 if the update carries neither a chat nor a user
+     */
+    static long chatKey(Update update) {
+        if (update.getMessage() != null) {
+            return chatKey(update.getMessage());
+        }
+        if (update.getEdited_message() != null) {
+            return chatKey(update.getEdited_message());
+        }
+        if (update.getCallback_query() != null) {
+            if (update.getCallback_query().getMessage() != null) {
+                return chatKey(update.getCallback_query().getMessage());
+            }
+            if (update.getCallback_query().getFrom() != null) {
+                return update.getCallback_query().getFrom().getId();
+            }
+        }
+        if ((update.getInline_query() != null) && (update.getInline_query().getFrom() != null)) {
+            return update.getInline_query().getFrom().getId();
+        }
+        if ((update.getChosen_inline_result() != null) && (update.getChosen_inline_result().getFrom() != null)) {
+            return update.getChosen_inline_result().getFrom().getId();
+        }
+        return 0;
+    }
+
+    private static long chatKey(Message message) {
+        if (message.getChat() != null) {
+            return message.getChat().getId();
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,27 @@
+package me.shib.java.lib.jtelebot.receiver;
+
+import java.io.IOException;
+
+/**
+ * Persists the offset up to which the updates of a bot have been processed, so that a restarted receiver resumes from where it stopped.
+ * The offset is the identifier of the first update that has not been acknowledged by the handlers yet.
+ */
+public interface UpdateOffsetStore {
+
+    /**
+     * Loads the last stored offset.
+     *
+     * @return the stored offset, or 0 if no offset was stored yet
+     * @throws IOException an exception is thrown in case of any storage failures
+     */
+    long load() throws IOException;
+
+    /**
+     * Stores the given offset. Called only with increasing offsets.
+     *
+     * @param offset identifier of the first update that is yet to be processed
+     * @throws IOException an exception is thrown in case of any storage failures
+     */
+    void store(long offset) throws IOException;
+
+}
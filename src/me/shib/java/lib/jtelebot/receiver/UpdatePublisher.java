@@ -0,0 +1,16 @@
+package me.shib.java.lib.jtelebot.receiver;
+
+/**
+ * A source of updates that delivers only as many updates as its subscriber has requested.
+ * Mirrors the Publisher of the Reactive Streams specification (java.util.concurrent.Flow.Publisher on Java 9 and above).
+ */
+public interface UpdatePublisher {
+
+    /**
+     * Starts delivering updates to the given subscriber once it requests them.
+     *
+     * @param subscriber the subscriber to receive the updates
+     */
+    void subscribe(UpdateSubscriber subscriber);
+
+}
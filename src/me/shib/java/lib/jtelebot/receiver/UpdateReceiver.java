@@ -0,0 +1,261 @@
+package me.shib.java.lib.jtelebot.receiver;
+
+import me.shib.java.lib.jtelebot.models.updates.Update;
+import me.shib.java.lib.jtelebot.service.TelegramBot;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Receives updates for a bot through long polling and hands them over to an UpdateDispatcher.
+ * A poll is always kept in flight while the dispatcher's workers process the received updates, so the time spent in handlers does not delay the next poll.
+ * When the dispatcher has no room for more updates, polling pauses until the workers catch up.
+ * The offset confirmed to Telegram only moves past an update once its handler returns, and can be persisted with an UpdateOffsetStore to resume after a restart.
+ * In prefetch mode, the next poll is sent as soon as a response is parsed, with the offset following the last received update.
+ */
+public final class UpdateReceiver {
+
+    private static final int defaultLongPollInterval = 300;
+    private static final int defaultUpdateListLength = 100;
+    private static final int defaultQueueCapacity = 1000;
+    private static final long pollFailureBackoff = 1000;
+    private static final long duplicatePollBackoff = 1000;
+    private static Logger logger = Logger.getLogger(UpdateReceiver.class.getName());
+
+    private TelegramBot bot;
+    private UpdateHandler handler;
+    private UpdateDispatcher dispatcher;
+    private UpdateOffsetStore offsetStore;
+    private UpdateAckTracker ackTracker;
+    private volatile boolean prefetch;
+    private volatile Object session;
+    private Thread pollerThread;
+
+    /**
+     * Creates an update receiver for the given bot.
+     *
+     * @param bot         the bot for which the updates have to be received
+     * @param handler     the handler to be invoked for every update
+     * @param dispatcher  the dispatcher that decides how the updates are executed
+     * @param offsetStore the store to persist the processed offset in. The offset is kept only in memory if null.
+     */
+    public UpdateReceiver(TelegramBot bot, UpdateHandler handler, UpdateDispatcher dispatcher, UpdateOffsetStore offsetStore) {
+        if ((bot == null) || (handler == null) || (dispatcher == null)) {
+            throw new IllegalArgumentException("Bot, handler and dispatcher are required to receive updates");
+        }
+        this.bot = bot;
+        this.handler = handler;
+        this.dispatcher = dispatcher;
+        this.offsetStore = offsetStore;
+        this.prefetch = false;
+        this.session = null;
+    }
+
+    /**
+     * Creates an update receiver for the given bot that keeps the processed offset only in memory.
+     *
+     * @param bot        the bot for which the updates have to be received
+     * @param handler    the handler to be invoked for every update
+     * @param dispatcher the dispatcher that decides how the updates are executed
+     */
+    public UpdateReceiver(TelegramBot bot, UpdateHandler handler, UpdateDispatcher dispatcher) {
+        this(bot, handler, dispatcher, null);
+    }
+
+    /**
+     * Creates an update receiver for the given bot that processes updates on a pool of workers.
+     *
+     * @param bot           the bot for which the updates have to be received
+     * @param handler       the handler to be invoked for every update
+     * @param workerCount   the number of worker threads that process updates in parallel
+     * @param queueCapacity the maximum number of received updates that can wait for a worker
+     */
+    public UpdateReceiver(TelegramBot bot, UpdateHandler handler, int workerCount, int queueCapacity) {
+        this(bot, handler, new PooledUpdateDispatcher(workerCount, queueCapacity));
+    }
+
+    /**
+     * Creates an update receiver for the given bot with a worker for every available processor.
+     *
+     * @param bot     the bot for which the updates have to be received
+     * @param handler the handler to be invoked for every update
+     */
+    public UpdateReceiver(TelegramBot bot, UpdateHandler handler) {
+        this(bot, handler, Runtime.getRuntime().availableProcessors(), defaultQueueCapacity);
+    }
+
+    /**
+     * Enables or disables prefetching. Takes effect on the next start.
+     * Without prefetching, Telegram is asked for updates from the oldest unprocessed update, so nothing is lost if the process dies,
+     * but a poll that only returns updates still being processed has to wait for a handler to finish.
+     * With prefetching, a poll is always in flight while the previous batch is being queued, and Telegram is asked for updates following the last received one.
+     * This saves a round trip per batch when busy, but updates that are received and not yet processed are lost if the process dies,
+     * since Telegram considers them confirmed.
+     *
+     * @param prefetch true to enable prefetching
+     */
+    public void setPrefetch(boolean prefetch) {
+        this.prefetch = prefetch;
+    }
+
+    /**
+     * Starts polling for updates and processing them. Does nothing if the receiver is already running.
+     */
+    public synchronized void start() {
+        if (session != null) {
+            return;
+        }
+        final Object currentSession = new Object();
+        session = currentSession;
+        ackTracker = new UpdateAckTracker(offsetStore, getInitialOffset());
+        dispatcher.start();
+        pollerThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                if (prefetch) {
+                    prefetchUpdates(currentSession);
+                } else {
+                    pollUpdates(currentSession);
+                }
+            }
+        }, "jtelebot-update-poller");
+        pollerThread.setDaemon(true);
+        pollerThread.start();
+    }
+
+    /**
+     * Stops polling for updates. Updates that were already received are still handed over to the handler before the workers stop.
+     */
+    public synchronized void stop() {
+        if (session == null) {
+            return;
+        }
+        session = null;
+        pollerThread.interrupt();
+        pollerThread = null;
+        dispatcher.shutdown();
+    }
+
+    /**
+     * @return true if the receiver is polling for updates
+     */
+    public boolean isRunning() {
+        return session != null;
+    }
+
+    /**
+     * @return the number of received updates that are waiting for a worker
+     */
+    public int getPendingUpdateCount() {
+        return dispatcher.getPendingTaskCount();
+    }
+
+    /**
+     * @return the identifier of the first update that has not been processed yet, or 0 if nothing was received so far
+     */
+    public long getCommittedOffset() {
+        UpdateAckTracker currentAckTracker = ackTracker;
+        return (currentAckTracker == null) ? 0 : currentAckTracker.getCommittedOffset();
+    }
+
+    private long getInitialOffset() {
+        if (offsetStore == null) {
+            return getCommittedOffset();
+        }
+        try {
+            return offsetStore.load();
+        } catch (IOException e) {
+            logger.throwing(this.getClass().getName(), "getInitialOffset", e);
+            return 0;
+        }
+    }
+
+    private void pollUpdates(Object currentSession) {
+        UpdateAckTracker currentAckTracker = ackTracker;
+        while (session == currentSession) {
+            try {
+                long offset = currentAckTracker.getCommittedOffset();
+                Update[] updates = bot.getUpdates(defaultLongPollInterval, defaultUpdateListLength, offset);
+                int receivedCount = 0;
+                for (Update update : updates) {
+                    if (currentAckTracker.register(update.getUpdate_id())) {
+                        dispatcher.dispatch(new UpdateTask(bot, update, handler, currentAckTracker));
+                        receivedCount++;
+                    }
+                }
+                if ((updates.length > 0) && (receivedCount == 0)) {
+                    // Every update in the response is still being processed. Telegram answers such polls
+                    // immediately, so wait for the handlers to move the offset instead of spinning.
+                    currentAckTracker.awaitCommit(offset, duplicatePollBackoff);
+                }
+            } catch (InterruptedException e) {
+                break;
+            } catch (IOException e) {
+                logger.throwing(this.getClass().getName(), "pollUpdates", e);
+                if (!backOff()) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private void prefetchUpdates(final Object currentSession) {
+        final UpdateAckTracker currentAckTracker = ackTracker;
+        final BlockingQueue<Update[]> batchBuffer = new ArrayBlockingQueue<>(1);
+        Thread feederThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                feedUpdates(currentSession, currentAckTracker, batchBuffer);
+            }
+        }, "jtelebot-update-feeder");
+        feederThread.setDaemon(true);
+        feederThread.start();
+        long offset = currentAckTracker.getCommittedOffset();
+        while (session == currentSession) {
+            try {
+                Update[] updates = bot.getUpdates(defaultLongPollInterval, defaultUpdateListLength, offset);
+                if (updates.length > 0) {
+                    offset = updates[updates.length - 1].getUpdate_id() + 1;
+                    batchBuffer.put(updates);
+                }
+            } catch (InterruptedException e) {
+                break;
+            } catch (IOException e) {
+                logger.throwing(this.getClass().getName(), "prefetchUpdates", e);
+                if (!backOff()) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private void feedUpdates(Object currentSession, UpdateAckTracker currentAckTracker, BlockingQueue<Update[]> batchBuffer) {
+        while ((session == currentSession) || !batchBuffer.isEmpty()) {
+            try {
+                Update[] updates = batchBuffer.poll(1, TimeUnit.SECONDS);
+                if (updates == null) {
+                    continue;
+                }
+                for (Update update : updates) {
+                    if (currentAckTracker.register(update.getUpdate_id())) {
+                        dispatcher.dispatch(new UpdateTask(bot, update, handler, currentAckTracker));
+                    }
+                }
+            } catch (InterruptedException e) {
+                break;
+            }
+        }
+    }
+
+    private boolean backOff() {
+        try {
+            Thread.sleep(pollFailureBackoff);
+            return true;
+        } catch (InterruptedException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package me.shib.java.lib.jtelebot.receiver;
+
+import me.shib.java.lib.jtelebot.models.updates.Update;
+
+/**
+ * Receives updates from an UpdatePublisher. All the methods of a subscriber are called from one thread at a time.
+ * Mirrors the Subscriber of the Reactive Streams specification (java.util.concurrent.Flow.Subscriber on Java 9 and above).
+ */
+public interface UpdateSubscriber {
+
+    /**
+     * Called once before any other method. No updates are delivered until they are requested through the subscription.
+     *
+     * @param subscription the subscription to request updates with
+     */
+    void onSubscribe(UpdateSubscription subscription);
+
+    /**
+     * Called for every update, never more often than requested.
+     *
+     * @param update the received update
+     */
+    void onNext(Update update);
+
+    /**
+     * Called when the subscription is terminated by an error. No more methods are called after this.
+     *
+     * @param throwable the cause of the termination
+     */
+    void onError(Throwable throwable);
+
+    /**
+     * Called when the publisher has no more updates to deliver. No more methods are called after this.
+     */
+    void onComplete();
+
+}
@@ -0,0 +1,21 @@
+package me.shib.java.lib.jtelebot.receiver;
+
+/**
+ * The link between an UpdatePublisher and an UpdateSubscriber, used to signal demand.
+ * Mirrors the Subscription of the Reactive Streams specification (java.util.concurrent.Flow.Subscription on Java 9 and above).
+ */
+public interface UpdateSubscription {
+
+    /**
+     * Requests more updates. Demand adds up across calls, and Long.MAX_VALUE stands for unbounded demand.
+     *
+     * @param n the number of additional updates to be delivered. Must be greater than 0.
+     */
+    void request(long n);
+
+    /**
+     * Stops the delivery of updates. Updates may still be delivered for a short while after cancellation.
+     */
+    void cancel();
+
+}
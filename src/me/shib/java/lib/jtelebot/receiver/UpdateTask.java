@@ -0,0 +1,131 @@
+package me.shib.java.lib.jtelebot.receiver;
+
+import me.shib.java.lib.jtelebot.models.updates.Update;
+import me.shib.java.lib.jtelebot.service.TelegramBot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * A received update along with the handler that has to process it. Tasks are created by the receivers and executed by an UpdateDispatcher.
+ * A task can be cancelled, in which case its handler is skipped if it has not started yet, and optionally interrupted if it is running.
+ */
+public final class UpdateTask implements Runnable {
+
+    private static final int queued = 0;
+    private static final int running = 1;
+    private static final int completed = 2;
+    private static Logger logger = Logger.getLogger(UpdateTask.class.getName());
+
+    private TelegramBot bot;
+    private Update update;
+    private UpdateHandler handler;
+    private UpdateAckTracker ackTracker;
+    private int state;
+    private Thread runner;
+    private volatile boolean cancelled;
+    private List<Runnable> completionListeners;
+
+    UpdateTask(TelegramBot bot, Update update, UpdateHandler handler, UpdateAckTracker ackTracker) {
+        this.bot = bot;
+        this.update = update;
+        this.handler = handler;
+        this.ackTracker = ackTracker;
+        this.state = queued;
+        this.cancelled = false;
+        this.completionListeners = new ArrayList<>();
+    }
+
+    /**
+     * @return the bot for which the update was received
+     */
+    public TelegramBot getBot() {
+        return bot;
+    }
+
+    /**
+     * @return the update to be processed
+     */
+    public Update getUpdate() {
+        return update;
+    }
+
+    /**
+     * Cancels the task. A task that has not started yet skips its handler, but is still acknowledged as processed.
+     *
+     * @param mayInterruptIfRunning true to interrupt the handler's thread if the handler is already running
+     * @return false if the task has already completed
+     */
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        synchronized (this) {
+            if (state == completed) {
+                return false;
+            }
+            cancelled = true;
+            if ((state == running) && mayInterruptIfRunning) {
+                runner.interrupt();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true if the task was cancelled before it completed
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Invokes the handler for the update unless the task was cancelled, and acknowledges the update once the handler returns.
+     * Exceptions thrown by the handler are logged and not propagated.
+     */
+    @Override
+    public void run() {
+        synchronized (this) {
+            if (state != queued) {
+                return;
+            }
+            state = running;
+            runner = Thread.currentThread();
+        }
+        try {
+            if (!cancelled) {
+                handler.onUpdate(bot, update);
+            }
+        } catch (Exception e) {
+            logger.throwing(this.getClass().getName(), "run", e);
+        } finally {
+            List<Runnable> listeners;
+            synchronized (this) {
+                state = completed;
+                runner = null;
+                listeners = new ArrayList<>(completionListeners);
+            }
+            // Clear an interrupt from a cancellation that raced with the completion of the handler.
+            Thread.interrupted();
+            if (ackTracker != null) {
+                ackTracker.acknowledge(update.getUpdate_id());
+            }
+            for (Runnable listener : listeners) {
+                listener.run();
+            }
+        }
+    }
+
+    /**
+     * Registers a listener to be run once the task completes, right away if it already has.
+     *
+     * @param listener the listener to be run
+     */
+    void addCompletionListener(Runnable listener) {
+        synchronized (this) {
+            if (state != completed) {
+                completionListeners.add(listener);
+                return;
+            }
+        }
+        listener.run();
+    }
+}
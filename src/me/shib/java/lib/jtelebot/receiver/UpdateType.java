@@ -0,0 +1,35 @@
+package me.shib.java.lib.jtelebot.receiver;
+
+import me.shib.java.lib.jtelebot.models.updates.Update;
+
+/**
+ * The kinds of updates, depending on which of the optional fields of an Update is present.
+ */
+public enum UpdateType {
+    MESSAGE, EDITED_MESSAGE, INLINE_QUERY, CHOSEN_INLINE_RESULT, CALLBACK_QUERY, UNKNOWN;
+
+    /**
+     * Classifies an update by the field that is present.
+     *
+     * @param update the update to be classified
+     * @return the kind of the update, or UNKNOWN if none of the known fields is present
+     */
+    public static UpdateType of(Update update) {
+        if (update.getMessage() != null) {
+            return MESSAGE;
+        }
+        if (update.getEdited_message() != null) {
+            return EDITED_MESSAGE;
+        }
+        if (update.getInline_query() != null) {
+            return INLINE_QUERY;
+        }
+        if (update.getChosen_inline_result() != null) {
+            return CHOSEN_INLINE_RESULT;
+        }
+        if (update.getCallback_query() != null) {
+            return CALLBACK_QUERY;
+        }
+        return UNKNOWN;
+    }
+}
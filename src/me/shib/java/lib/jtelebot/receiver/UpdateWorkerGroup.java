@@ -0,0 +1,70 @@
+package me.shib.java.lib.jtelebot.receiver;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A bounded queue of tasks drained by a fixed number of threads.
+ */
+final class UpdateWorkerGroup {
+
+    private String name;
+    private int workerCount;
+    private BlockingQueue<Runnable> taskQueue;
+    private volatile Object session;
+
+    UpdateWorkerGroup(String name, int workerCount, int queueCapacity) {
+        if ((workerCount < 1) || (queueCapacity < 1)) {
+            throw new IllegalArgumentException("Worker count and queue capacity must be greater than 0");
+        }
+        this.name = name;
+        this.workerCount = workerCount;
+        this.taskQueue = new ArrayBlockingQueue<>(queueCapacity);
+        this.session = null;
+    }
+
+    synchronized void start() {
+        if (session != null) {
+            return;
+        }
+        final Object currentSession = new Object();
+        session = currentSession;
+        for (int i = 0; i < workerCount; i++) {
+            Thread workerThread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    processTasks(currentSession);
+                }
+            }, name + "-" + i);
+            workerThread.setDaemon(true);
+            workerThread.start();
+        }
+    }
+
+    synchronized void shutdown() {
+        session = null;
+    }
+
+    void submit(Runnable task) throws InterruptedException {
+        taskQueue.put(task);
+    }
+
+    int getPendingTaskCount() {
+        return taskQueue.size();
+    }
+
+    private void processTasks(Object currentSession) {
+        while ((session == currentSession) || !taskQueue.isEmpty()) {
+            Runnable task;
+            try {
+                task = taskQueue.poll(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                break;
+            }
+            if (task != null) {
+                task.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package me.shib.java.lib.jtelebot.receiver;
+
+import com.google.gson.Gson;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+import me.shib.java.lib.jtelebot.models.updates.Update;
+import me.shib.java.lib.jtelebot.service.TelegramBot;
+
+import javax.net.ssl.SSLContext;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Receives the updates that Telegram posts to a webhook set with TelegramBot.setWebhook and hands them over to an UpdateDispatcher.
+ * With an UpdateHandler, every request is decoded and queued before it is acknowledged, while the handlers run on the dispatcher's workers.
+ * With a WebhookUpdateHandler, the request waits for the handler, and the returned WebhookReply is written as the response.
+ * A reply that takes longer than the reply timeout is sent through the bot after an empty response.
+ * The server is built on the JDK's selector based HTTP server. Either terminate TLS here by passing an SSLContext,
+ * or run it behind a reverse proxy that does. Use a hard to guess path, since anyone who knows it can post updates.
+ */
+public final class WebhookReceiver {
+
+    private static final int maxUpdateLength = 1024 * 1024;
+    private static final int defaultRequestThreadCount = 2;
+    private static final int defaultReplyingRequestThreadCount = 32;
+    private static final long defaultReplyTimeout = 10000;
+    private static final int defaultQueueCapacity = 1000;
+    private static Logger logger = Logger.getLogger(WebhookReceiver.class.getName());
+
+    private TelegramBot bot;
+    private UpdateHandler handler;
+    private WebhookUpdateHandler replyHandler;
+    private UpdateDispatcher dispatcher;
+    private InetSocketAddress address;
+    private String path;
+    private SSLContext sslContext;
+    private int requestThreadCount;
+    private volatile long replyTimeoutMillis;
+    private Gson gson;
+    private HttpServer httpServer;
+    private ExecutorService requestExecutor;
+
+    private WebhookReceiver(TelegramBot bot, UpdateHandler handler, WebhookUpdateHandler replyHandler, UpdateDispatcher dispatcher, InetSocketAddress address, String path, SSLContext sslContext) {
+        if ((bot == null) || ((handler == null) && (replyHandler == null)) || (dispatcher == null) || (address == null)) {
+            throw new IllegalArgumentException("Bot, handler, dispatcher and address are required to receive updates");
+        }
+        if ((path == null) || (!path.startsWith("/"))) {
+            throw new IllegalArgumentException("Webhook path must start with a '/'");
+        }
+        this.bot = bot;
+        this.handler = handler;
+        this.replyHandler = replyHandler;
+        this.dispatcher = dispatcher;
+        this.address = address;
+        this.path = path;
+        this.sslContext = sslContext;
+        this.requestThreadCount = (replyHandler == null) ? defaultRequestThreadCount : defaultReplyingRequestThreadCount;
+        this.replyTimeoutMillis = defaultReplyTimeout;
+        this.gson = new Gson();
+    }
+
+    /**
+     * Creates a webhook receiver for the given bot.
+     *
+     * @param bot        the bot for which the updates have to be received
+     * @param handler    the handler to be invoked for every update
+     * @param dispatcher the dispatcher that decides how the updates are executed
+     * @param address    the local address to listen on
+     * @param path       the path of the webhook URL, e.g. "/my-secret-path"
+     * @param sslContext the SSL context to serve HTTPS with, or null to serve plain HTTP behind a TLS terminating proxy
+     */
+    public WebhookReceiver(TelegramBot bot, UpdateHandler handler, UpdateDispatcher dispatcher, InetSocketAddress address, String path, SSLContext sslContext) {
+        this(bot, handler, null, dispatcher, address, path, sslContext);
+    }
+
+    /**
+     * Creates a webhook receiver for the given bot that replies to updates within the webhook response.
+     *
+     * @param bot          the bot for which the updates have to be received
+     * @param replyHandler the handler to be invoked for every update
+     * @param dispatcher   the dispatcher that decides how the updates are executed
+     * @param address      the local address to listen on
+     * @param path         the path of the webhook URL, e.g. "/my-secret-path"
+     * @param sslContext   the SSL context to serve HTTPS with, or null to serve plain HTTP behind a TLS terminating proxy
+     */
+    public WebhookReceiver(TelegramBot bot, WebhookUpdateHandler replyHandler, UpdateDispatcher dispatcher, InetSocketAddress address, String path, SSLContext sslContext) {
+        this(bot, null, replyHandler, dispatcher, address, path, sslContext);
+    }
+
+    /**
+     * Creates a plain HTTP webhook receiver that processes updates on a pool of workers, for use behind a TLS terminating proxy.
+     *
+     * @param bot     the bot for which the updates have to be received
+     * @param handler the handler to be invoked for every update
+     * @param port    the local port to listen on
+     * @param path    the path of the webhook URL, e.g. "/my-secret-path"
+     */
+    public WebhookReceiver(TelegramBot bot, UpdateHandler handler, int port, String path) {
+        this(bot, handler, new PooledUpdateDispatcher(Runtime.getRuntime().availableProcessors(), defaultQueueCapacity),
+                new InetSocketAddress(port), path, null);
+    }
+
+    /**
+     * Creates a plain HTTP webhook receiver that replies to updates within the webhook response, for use behind a TLS terminating proxy.
+     *
+     * @param bot          the bot for which the updates have to be received
+     * @param replyHandler the handler to be invoked for every update
+     * @param port         the local port to listen on
+     * @param path         the path of the webhook URL, e.g. "/my-secret-path"
+     */
+    public WebhookReceiver(TelegramBot bot, WebhookUpdateHandler replyHandler, int port, String path) {
+        this(bot, replyHandler, new PooledUpdateDispatcher(Runtime.getRuntime().availableProcessors(), defaultQueueCapacity),
+                new InetSocketAddress(port), path, null);
+    }
+
+    /**
+     * Sets the number of threads that serve webhook requests. Takes effect on the next start.
+     * When replying within the response, every request holds a thread until its handler returns.
+     *
+     * @param requestThreadCount the number of request threads
+     */
+    public synchronized void setRequestThreadCount(int requestThreadCount) {
+        if (requestThreadCount < 1) {
+            throw new IllegalArgumentException("Request thread count must be greater than 0");
+        }
+        this.requestThreadCount = requestThreadCount;
+    }
+
+    /**
+     * Sets how long a webhook request waits for a WebhookUpdateHandler before it is answered with an empty response.
+     * Replies that are returned later are sent through the bot.
+     *
+     * @param replyTimeoutMillis the time to wait for a reply in milliseconds
+     */
+    public synchronized void setReplyTimeout(long replyTimeoutMillis) {
+        this.replyTimeoutMillis = replyTimeoutMillis;
+    }
+
+    /**
+     * Starts listening for updates. Does nothing if the receiver is already running.
+     *
+     * @throws IOException an exception is thrown if the server cannot be bound to the address
+     */
+    public synchronized void start() throws IOException {
+        if (httpServer != null) {
+            return;
+        }
+        HttpServer server;
+        if (sslContext != null) {
+            HttpsServer httpsServer = HttpsServer.create(address, 0);
+            httpsServer.setHttpsConfigurator(new HttpsConfigurator(sslContext));
+            server = httpsServer;
+        } else {
+            server = HttpServer.create(address, 0);
+        }
+        server.createContext(path, new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                handleExchange(exchange);
+            }
+        });
+        requestExecutor = Executors.newFixedThreadPool(requestThreadCount, new ThreadFactory() {
+            private int threadCount = 0;
+
+            @Override
+            public synchronized Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "jtelebot-webhook-" + (threadCount++));
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        server.setExecutor(requestExecutor);
+        dispatcher.start();
+        server.start();
+        httpServer = server;
+    }
+
+    /**
+     * Stops listening for updates. Updates that were already received are still handed over to the handler before the workers stop.
+     */
+    public synchronized void stop() {
+        if (httpServer == null) {
+            return;
+        }
+        httpServer.stop(1);
+        httpServer = null;
+        requestExecutor.shutdown();
+        requestExecutor = null;
+        dispatcher.shutdown();
+    }
+
+    /**
+     * @return the address the receiver is listening on, or null if it is not running
+     */
+    public synchronized InetSocketAddress getListenAddress() {
+        return (httpServer == null) ? null : httpServer.getAddress();
+    }
+
+    private void handleExchange(HttpExchange exchange) throws IOException {
+        try {
+            if (!"POST".equalsIgnoreCase(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            if (!path.equals(exchange.getRequestURI().getPath())) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            Update update = readUpdate(exchange.getRequestBody());
+            if (update == null) {
+                exchange.sendResponseHeaders(400, -1);
+                return;
+            }
+            if (replyHandler == null) {
+                dispatcher.dispatch(new UpdateTask(bot, update, handler, null));
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            PendingReply pendingReply = new PendingReply(replyHandler);
+            dispatcher.dispatch(new UpdateTask(bot, update, pendingReply, null));
+            WebhookReply reply = pendingReply.await(replyTimeoutMillis);
+            if (reply == null) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            byte[] responseBody = gson.toJson(reply.toParameters()).getBytes("UTF-8");
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(200, responseBody.length);
+            exchange.getResponseBody().write(responseBody);
+        } catch (InterruptedException e) {
+            exchange.sendResponseHeaders(503, -1);
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private Update readUpdate(InputStream requestBody) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(1024);
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = requestBody.read(buffer)) != -1) {
+            body.write(buffer, 0, read);
+            if (body.size() > maxUpdateLength) {
+                return null;
+            }
+        }
+        try {
+            return gson.fromJson(body.toString("UTF-8"), Update.class);
+        } catch (RuntimeException e) {
+            logger.throwing(this.getClass().getName(), "readUpdate", e);
+            return null;
+        }
+    }
+
+    /**
+     * Hands the reply of a WebhookUpdateHandler over to the waiting request, or sends it through the bot if the request stopped waiting.
+     */
+    private static final class PendingReply implements UpdateHandler {
+
+        private static final int waiting = 0;
+        private static final int completed = 1;
+        private static final int abandoned = 2;
+
+        private WebhookUpdateHandler replyHandler;
+        private CountDownLatch completion;
+        private AtomicInteger state;
+        private volatile WebhookReply reply;
+
+        private PendingReply(WebhookUpdateHandler replyHandler) {
+            this.replyHandler = replyHandler;
+            this.completion = new CountDownLatch(1);
+            this.state = new AtomicInteger(waiting);
+        }
+
+        @Override
+        public void onUpdate(TelegramBot bot, Update update) throws Exception {
+            WebhookReply handlerReply = null;
+            boolean inResponse;
+            try {
+                handlerReply = replyHandler.onUpdate(bot, update);
+            } finally {
+                reply = handlerReply;
+                // Claim the response before waking the request thread, so that it sees the reply instead of giving up on it
+                inResponse = state.compareAndSet(waiting, completed);
+                completion.countDown();
+            }
+            if ((!inResponse) && (handlerReply != null)) {
+                handlerReply.execute(bot);
+            }
+        }
+
+        private WebhookReply await(long timeoutMillis) throws InterruptedException {
+            try {
+                completion.await(timeoutMillis, TimeUnit.MILLISECONDS);
+            } finally {
+                state.compareAndSet(waiting, abandoned);
+            }
+            return (state.get() == completed) ? reply : null;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package me.shib.java.lib.jtelebot.receiver;
+
+import me.shib.java.lib.jtelebot.models.inline.InlineKeyboardMarkup;
+import me.shib.java.lib.jtelebot.models.types.ChatId;
+import me.shib.java.lib.jtelebot.models.types.ParseMode;
+import me.shib.java.lib.jtelebot.models.types.ReplyMarkup;
+import me.shib.java.lib.jtelebot.service.TelegramBot;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A Bot API method call that is sent back to Telegram in the response to a webhook request, which saves a separate request to the Bot API.
+ * If the reply cannot be sent within the webhook response, it is sent through the bot instead.
+ */
+public final class WebhookReply {
+
+    private String method;
+    private ChatId chat_id;
+    private long message_id;
+    private String inline_message_id;
+    private String callback_query_id;
+    private String text;
+    private ParseMode parse_mode;
+    private boolean disable_web_page_preview;
+    private boolean show_alert;
+    private long reply_to_message_id;
+    private ReplyMarkup reply_markup;
+
+    private WebhookReply(String method) {
+        this.method = method;
+    }
+
+    /**
+     * Creates a reply that sends a text message.
+     *
+     * @param chat_id             Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param text                Text of the message to be sent
+     * @param parse_mode          Send Markdown, if you want Telegram apps to show bold, italic and inline URLs in your bot's message.
+     * @param reply_to_message_id If the message is a reply, ID of the original message
+     * @param reply_markup        Additional interface options. An object for a custom reply keyboard, instructions to hide keyboard or to force a reply from the user.
+     * @return the reply to be returned from a WebhookUpdateHandler
+     */
+    public static WebhookReply sendMessage(ChatId chat_id, String text, ParseMode parse_mode, long reply_to_message_id, ReplyMarkup reply_markup) {
+        WebhookReply reply = new WebhookReply("sendMessage");
+        reply.chat_id = chat_id;
+        reply.text = text;
+        reply.parse_mode = parse_mode;
+        reply.reply_to_message_id = reply_to_message_id;
+        reply.reply_markup = reply_markup;
+        return reply;
+    }
+
+    /**
+     * Creates a reply that sends a text message.
+     *
+     * @param chat_id Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param text    Text of the message to be sent
+     * @return the reply to be returned from a WebhookUpdateHandler
+     */
+    public static WebhookReply sendMessage(ChatId chat_id, String text) {
+        return sendMessage(chat_id, text, null, 0, null);
+    }
+
+    /**
+     * Creates a reply that answers a callback query.
+     *
+     * @param callback_query_id Unique identifier for the query to be answered
+     * @param text              Text of the notification. If not specified, nothing will be shown to the user
+     * @param show_alert        If true, an alert will be shown by the client instead of a notification at the top of the chat screen.
+     * @return the reply to be returned from a WebhookUpdateHandler
+     */
+    public static WebhookReply answerCallbackQuery(String callback_query_id, String text, boolean show_alert) {
+        WebhookReply reply = new WebhookReply("answerCallbackQuery");
+        reply.callback_query_id = callback_query_id;
+        reply.text = text;
+        reply.show_alert = show_alert;
+        return reply;
+    }
+
+    /**
+     * Creates a reply that edits a text message sent by the bot.
+     *
+     * @param chat_id      Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param message_id   Unique identifier of the sent message
+     * @param text         New text of the message
+     * @param parse_mode   Send Markdown or HTML, if you want Telegram apps to show bold, italic, fixed-width text or inline URLs in your bot's message.
+     * @param reply_markup A JSON-serialized object for an inline keyboard.
+     * @return the reply to be returned from a WebhookUpdateHandler
+     */
+    public static WebhookReply editMessageText(ChatId chat_id, long message_id, String text, ParseMode parse_mode, InlineKeyboardMarkup reply_markup) {
+        WebhookReply reply = new WebhookReply("editMessageText");
+        reply.chat_id = chat_id;
+        reply.message_id = message_id;
+        reply.text = text;
+        reply.parse_mode = parse_mode;
+        reply.reply_markup = reply_markup;
+        return reply;
+    }
+
+    /**
+     * Creates a reply that edits a text message sent via the bot (for inline bots).
+     *
+     * @param inline_message_id Identifier of the inline message
+     * @param text              New text of the message
+     * @param parse_mode        Send Markdown or HTML, if you want Telegram apps to show bold, italic, fixed-width text or inline URLs in your bot's message.
+     * @param reply_markup      A JSON-serialized object for an inline keyboard.
+     * @return the reply to be returned from a WebhookUpdateHandler
+     */
+    public static WebhookReply editMessageText(String inline_message_id, String text, ParseMode parse_mode, InlineKeyboardMarkup reply_markup) {
+        WebhookReply reply = new WebhookReply("editMessageText");
+        reply.inline_message_id = inline_message_id;
+        reply.text = text;
+        reply.parse_mode = parse_mode;
+        reply.reply_markup = reply_markup;
+        return reply;
+    }
+
+    /**
+     * Disables link previews for links in the message. Applies to sendMessage and editMessageText replies.
+     *
+     * @return this reply
+     */
+    public WebhookReply disableWebPagePreview() {
+        this.disable_web_page_preview = true;
+        return this;
+    }
+
+    /**
+     * @return the name of the Bot API method
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * @return the parameters of the call along with the method, as they are written to the webhook response
+     */
+    Map<String, Object> toParameters() {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("method", method);
+        if (chat_id != null) {
+            parameters.put("chat_id", chat_id.getChatId());
+        }
+        if (message_id > 0) {
+            parameters.put("message_id", message_id);
+        }
+        if (inline_message_id != null) {
+            parameters.put("inline_message_id", inline_message_id);
+        }
+        if (callback_query_id != null) {
+            parameters.put("callback_query_id", callback_query_id);
+        }
+        if (text != null) {
+            parameters.put("text", text);
+        }
+        if (parse_mode != null) {
+            parameters.put("parse_mode", parse_mode.toString());
+        }
+        if (disable_web_page_preview) {
+            parameters.put("disable_web_page_preview", true);
+        }
+        if (show_alert) {
+            parameters.put("show_alert", true);
+        }
+        if (reply_to_message_id > 0) {
+            parameters.put("reply_to_message_id", reply_to_message_id);
+        }
+        if (reply_markup != null) {
+            parameters.put("reply_markup", reply_markup);
+        }
+        return parameters;
+    }
+
+    /**
+     * Sends the reply as a separate Bot API call.
+     *
+     * @param bot the bot to send the reply with
+     * @throws IOException an exception is thrown in case of any service call failures
+     */
+    void execute(TelegramBot bot) throws IOException {
+        switch (method) {
+            case "sendMessage":
+                bot.sendMessage(chat_id, text, parse_mode, disable_web_page_preview, reply_to_message_id, reply_markup);
+                break;
+            case "answerCallbackQuery":
+                bot.answerCallbackQuery(callback_query_id, text, show_alert);
+                break;
+            case "editMessageText":
+                if (inline_message_id != null) {
+                    bot.editMessageText(inline_message_id, text, parse_mode, disable_web_page_preview, (InlineKeyboardMarkup) reply_markup);
+                } else {
+                    bot.editMessageText(chat_id, message_id, text, parse_mode, disable_web_page_preview, (InlineKeyboardMarkup) reply_markup);
+                }
+                break;
+            default:
+                throw new IllegalStateException("Unsupported webhook reply method: " + method);
+        }
+    }
+}
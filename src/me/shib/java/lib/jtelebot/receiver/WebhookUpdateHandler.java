@@ -0,0 +1,22 @@
+package me.shib.java.lib.jtelebot.receiver;
+
+import me.shib.java.lib.jtelebot.models.updates.Update;
+import me.shib.java.lib.jtelebot.service.TelegramBot;
+
+/**
+ * Implement this interface to process webhook updates and reply to them within the webhook response.
+ * Handlers may be invoked concurrently from multiple worker threads, so implementations have to be thread safe.
+ */
+public interface WebhookUpdateHandler {
+
+    /**
+     * Called once for every update that is received for the bot.
+     *
+     * @param bot    the bot for which the update was received
+     * @param update the update to be processed
+     * @return the call to be sent back in the webhook response, or null if there is nothing to reply
+     * @throws Exception any exception thrown is logged and an empty response is sent
+     */
+    WebhookReply onUpdate(TelegramBot bot, Update update) throws Exception;
+
+}
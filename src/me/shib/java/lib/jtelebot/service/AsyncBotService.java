@@ -0,0 +1,387 @@
+package me.shib.java.lib.jtelebot.service;
+
+import me.shib.java.lib.jtelebot.models.inline.InlineKeyboardMarkup;
+import me.shib.java.lib.jtelebot.models.inline.InlineQueryResult;
+import me.shib.java.lib.jtelebot.models.types.*;
+import me.shib.java.lib.jtelebot.models.updates.Message;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Create an instance for this class with your Bot API token to make Bot API calls without blocking the calling thread.
+ * The calls are asynchronous, not non-blocking: with a blocking transport such as the default PooledHttpTransport,
+ * every call in flight holds a thread of the call executor. By default that is a pool with a thread per connection of the transport
+ * and a bounded queue, so a burst of calls waits in the queue instead of growing threads, and calls beyond the queue fail.
+ * With an AsyncBotServiceTransport, calls complete on the transport's own threads and the call executor is not used.
+ */
+public final class AsyncBotService extends AsyncTelegramBot {
+
+    private static final String telegramBotServiceEndPoint = "https://api.telegram.org";
+    private static final int defaultCallbackThreadCount = 4;
+
+    private String botApiToken;
+    private BotServiceWrapper botServiceWrapper;
+    private BotRequestFactory requestFactory;
+    private Executor callbackExecutor;
+
+    /**
+     * Creates an asynchronous bot for the given bot API token.
+     *
+     * @param botApiToken      the API token that is given by @BotFather bot
+     * @param endPoint         the endpoint to call the Bot API service. Might be used in case of proxy services
+     * @param transport        the transport used to send requests to the Bot API. Can be shared with a BotService.
+     * @param callbackExecutor the executor on which the callbacks of the returned futures run
+     * @param callExecutor     the executor on which a blocking transport makes the calls, or null for a pool with a thread
+     *                         per connection of a PooledHttpTransport, or 20 threads otherwise, and a queue of 1000 calls
+     */
+    public AsyncBotService(String botApiToken, String endPoint, BotServiceTransport transport,
+                           Executor callbackExecutor, Executor callExecutor) {
+        if ((endPoint == null) || (endPoint.isEmpty())) {
+            endPoint = telegramBotServiceEndPoint;
+        }
+        if (null == transport) {
+            transport = new PooledHttpTransport();
+        }
+        if (null == callbackExecutor) {
+            callbackExecutor = Executors.newFixedThreadPool(defaultCallbackThreadCount, new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "jtelebot-async-callback");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        if ((null == callExecutor) && !(transport instanceof AsyncBotServiceTransport)) {
+            callExecutor = BotServiceWrapper.newCallExecutor(transport, "jtelebot-async-call");
+        }
+        this.botApiToken = botApiToken;
+        this.botServiceWrapper = new BotServiceWrapper(endPoint + "/bot" + botApiToken, transport);
+        this.botServiceWrapper.setCallExecutor(callExecutor);
+        this.requestFactory = new BotRequestFactory();
+        this.callbackExecutor = callbackExecutor;
+    }
+
+    /**
+     * Creates an asynchronous bot for the given bot API token. A blocking transport makes the calls on a pool with a thread
+     * per connection of a PooledHttpTransport, or 20 threads otherwise, and a queue of 1000 calls.
+     *
+     * @param botApiToken      the API token that is given by @BotFather bot
+     * @param endPoint         the endpoint to call the Bot API service. Might be used in case of proxy services
+     * @param transport        the transport used to send requests to the Bot API. Can be shared with a BotService.
+     * @param callbackExecutor the executor on which the callbacks of the returned futures run
+     */
+    public AsyncBotService(String botApiToken, String endPoint, BotServiceTransport transport, Executor callbackExecutor) {
+        this(botApiToken, endPoint, transport, callbackExecutor, null);
+    }
+
+    /**
+     * Creates an asynchronous bot for the given bot API token, using a PooledHttpTransport and 4 callback threads.
+     *
+     * @param botApiToken the API token that is given by @BotFather bot
+     * @param endPoint    the endpoint to call the Bot API service. Might be used in case of proxy services
+     */
+    public AsyncBotService(String botApiToken, String endPoint) {
+        this(botApiToken, endPoint, null, null);
+    }
+
+    /**
+     * Creates an asynchronous bot for the given bot API token, using a PooledHttpTransport and 4 callback threads.
+     *
+     * @param botApiToken the API token that is given by @BotFather bot
+     */
+    public AsyncBotService(String botApiToken) {
+        this(botApiToken, null);
+    }
+
+    private AsyncBotService(AsyncBotService asyncBotService, OutboundPriority priority) {
+        this.botApiToken = asyncBotService.botApiToken;
+        this.botServiceWrapper = asyncBotService.botServiceWrapper;
+        this.requestFactory = new BotRequestFactory(priority);
+        this.callbackExecutor = asyncBotService.callbackExecutor;
+    }
+
+    /**
+     * Gives a view of this bot whose calls are queued in the given priority class by the outbound scheduler.
+     * The view shares the connections, retry policy, rate limiter and scheduler of this bot.
+     *
+     * @param priority the priority class of the calls made through the view
+     * @return a bot that makes its calls with the given priority
+     */
+    public AsyncBotService withPriority(OutboundPriority priority) {
+        return new AsyncBotService(this, priority);
+    }
+
+    @Override
+    public String getBotApiToken() {
+        return botApiToken;
+    }
+
+    /**
+     * Sets how long each call of this bot may take, including its retries, before it is aborted and fails
+     * with a BotDeadlineExceededException. Aborting a call closes its connection, so a hung socket cannot hold a thread.
+     *
+     * @param callDeadlines the deadlines of the calls of this bot
+     */
+    public void setCallDeadlines(BotCallDeadlines callDeadlines) {
+        if (null == callDeadlines) {
+            throw new IllegalArgumentException("Call deadlines cannot be null");
+        }
+        botServiceWrapper.setCallDeadlines(callDeadlines);
+    }
+
+    /**
+     * @return the deadlines of the calls of this bot
+     */
+    public BotCallDeadlines getCallDeadlines() {
+        return botServiceWrapper.getCallDeadlines();
+    }
+
+    /**
+     * Sets whether identical read calls of this bot that are in flight at the same time share a single request.
+     * Only getChat, getChatMember, getFile and getMe are shared, as for the default BotHedgingPolicy.
+     * Concurrent calls like getChat for the same chat then get the same result instance, so a caller must not modify
+     * the result, and has to copy it first if it needs changes. Each call still fails on its own deadline, and cancelling
+     * one call does not cancel the shared request. Enabled by default.
+     *
+     * @param readCoalescing true to let identical concurrent reads share a request
+     */
+    public void setReadCoalescing(boolean readCoalescing) {
+        botServiceWrapper.setReadCoalescing(readCoalescing);
+    }
+
+    /**
+     * @return true if identical concurrent read calls of this bot share a single request
+     */
+    public boolean isReadCoalescing() {
+        return botServiceWrapper.isReadCoalescing();
+    }
+
+    /**
+     * Sets which read calls of this bot are hedged. A hedged call whose first request is slower than the given latency
+     * percentile sends a second request and takes whichever response comes first.
+     *
+     * @param hedgingPolicy the hedging policy, or null to disable hedging, which is the default
+     */
+    public void setHedgingPolicy(BotHedgingPolicy hedgingPolicy) {
+        botServiceWrapper.setHedgingPolicy(hedgingPolicy);
+    }
+
+    /**
+     * @return the hedging policy of this bot, or null if calls are not hedged
+     */
+    public BotHedgingPolicy getHedgingPolicy() {
+        return botServiceWrapper.getHedgingPolicy();
+    }
+
+    /**
+     * Sets how failed calls of this bot are retried and when their circuit breakers open.
+     * Flood limit responses are retried after the retry_after given by the API, instead of immediately.
+     *
+     * @param retryPolicy the retry policy. Use a policy with a single attempt to disable retries.
+     */
+    public void setRetryPolicy(BotRetryPolicy retryPolicy) {
+        if (null == retryPolicy) {
+            throw new IllegalArgumentException("Retry policy cannot be null");
+        }
+        botServiceWrapper.setRetryPolicy(retryPolicy);
+    }
+
+    /**
+     * @return the retry policy of this bot
+     */
+    public BotRetryPolicy getRetryPolicy() {
+        return botServiceWrapper.getRetryPolicy();
+    }
+
+    /**
+     * Sets the rate limiter that keeps the messages of this bot under Telegram's limits. Share one limiter between
+     * the BotService and AsyncBotService of the same token, so that their messages are counted together.
+     *
+     * @param rateLimiter the rate limiter, or null to send without limiting
+     */
+    public void setRateLimiter(BotRateLimiter rateLimiter) {
+        botServiceWrapper.setRateLimiter(rateLimiter);
+    }
+
+    /**
+     * @return the rate limiter of this bot, or null if messages are sent without limiting
+     */
+    public BotRateLimiter getRateLimiter() {
+        return botServiceWrapper.getRateLimiter();
+    }
+
+    /**
+     * Routes the send and edit calls of this bot through an outbound scheduler, which queues them by priority class and chat
+     * and applies its own rate limiter and concurrency limit to them. Share one scheduler between the bots using the same token.
+     *
+     * @param scheduler the outbound scheduler, or null to send calls directly
+     */
+    public void setOutboundScheduler(OutboundScheduler scheduler) {
+        botServiceWrapper.setOutboundScheduler(scheduler);
+    }
+
+    /**
+     * @return the outbound scheduler of this bot, or null if calls are sent directly
+     */
+    public OutboundScheduler getOutboundScheduler() {
+        return botServiceWrapper.getOutboundScheduler();
+    }
+
+    @Override
+    public BotCallFuture<Boolean> setWebhook(String url, InputFile certificate) {
+        return botServiceWrapper.callAsync(requestFactory.setWebhook(url, certificate), Boolean.class, false, callbackExecutor);
+    }
+
+    @Override
+    public BotCallFuture<User> getMe() {
+        return botServiceWrapper.callAsync(requestFactory.getMe(), User.class, null, callbackExecutor);
+    }
+
+    @Override
+    public BotCallFuture<Message> sendMessage(ChatId chat_id, String text, ParseMode parse_mode, boolean disable_web_page_preview, long reply_to_message_id, ReplyMarkup reply_markup, boolean disable_notification) {
+        return botServiceWrapper.callAsync(requestFactory.sendMessage(chat_id, text, parse_mode, disable_web_page_preview, reply_to_message_id, reply_markup, disable_notification), Message.class, null, callbackExecutor);
+    }
+
+    @Override
+    public BotCallFuture<Message> forwardMessage(ChatId chat_id, ChatId from_chat_id, long message_id, boolean disable_notification) {
+        return botServiceWrapper.callAsync(requestFactory.forwardMessage(chat_id, from_chat_id, message_id, disable_notification), Message.class, null, callbackExecutor);
+    }
+
+    @Override
+    public BotCallFuture<Message> sendPhoto(ChatId chat_id, InputFile photo, String caption, long reply_to_message_id, ReplyMarkup reply_markup, boolean disable_notification) {
+        return botServiceWrapper.callAsync(requestFactory.sendPhoto(chat_id, photo, caption, reply_to_message_id, reply_markup, disable_notification), Message.class, null, callbackExecutor);
+    }
+
+    @Override
+    public BotCallFuture<Message> sendAudio(ChatId chat_id, InputFile audio, int duration, String performer, String title, long reply_to_message_id, ReplyMarkup reply_markup, boolean disable_notification) {
+        return botServiceWrapper.callAsync(requestFactory.sendAudio(chat_id, audio, duration, performer, title, reply_to_message_id, reply_markup, disable_notification), Message.class, null, callbackExecutor);
+    }
+
+    @Override
+    public BotCallFuture<Message> sendDocument(ChatId chat_id, InputFile document, String caption, long reply_to_message_id, ReplyMarkup reply_markup, boolean disable_notification) {
+        return botServiceWrapper.callAsync(requestFactory.sendDocument(chat_id, document, caption, reply_to_message_id, reply_markup, disable_notification), Message.class, null, callbackExecutor);
+    }
+
+    @Override
+    public BotCallFuture<Message> sendSticker(ChatId chat_id, InputFile sticker, long reply_to_message_id, ReplyMarkup reply_markup, boolean disable_notification) {
+        return botServiceWrapper.callAsync(requestFactory.sendSticker(chat_id, sticker, reply_to_message_id, reply_markup, disable_notification), Message.class, null, callbackExecutor);
+    }
+
+    @Override
+    public BotCallFuture<Message> sendVideo(ChatId chat_id, InputFile video, int duration, String caption, long reply_to_message_id, ReplyMarkup reply_markup, int width, int height, boolean disable_notification) {
+        return botServiceWrapper.callAsync(requestFactory.sendVideo(chat_id, video, duration, caption, reply_to_message_id, reply_markup, width, height, disable_notification), Message.class, null, callbackExecutor);
+    }
+
+    @Override
+    public BotCallFuture<Message> sendVoice(ChatId chat_id, InputFile voice, int duration, long reply_to_message_id, ReplyMarkup reply_markup, boolean disable_notification) {
+        return botServiceWrapper.callAsync(requestFactory.sendVoice(chat_id, voice, duration, reply_to_message_id, reply_markup, disable_notification), Message.class, null, callbackExecutor);
+    }
+
+    @Override
+    public BotCallFuture<Message> sendLocation(ChatId chat_id, float latitude, float longitude, long reply_to_message_id, ReplyMarkup reply_markup, boolean disable_notification) {
+        return botServiceWrapper.callAsync(requestFactory.sendLocationAndVenue("sendLocation", chat_id, latitude, longitude, null, null, null, reply_to_message_id, reply_markup, disable_notification), Message.class, null, callbackExecutor);
+    }
+
+    @Override
+    public BotCallFuture<Message> sendVenue(ChatId chat_id, float latitude, float longitude, String title, String address, String foursquare_id, long reply_to_message_id, ReplyMarkup reply_markup, boolean disable_notification) {
+        return botServiceWrapper.callAsync(requestFactory.sendLocationAndVenue("sendVenue", chat_id, latitude, longitude, title, address, foursquare_id, reply_to_message_id, reply_markup, disable_notification), Message.class, null, callbackExecutor);
+    }
+
+    @Override
+    public BotCallFuture<Message> sendContact(ChatId chat_id, String phone_number, String first_name, String last_name, long reply_to_message_id, ReplyMarkup reply_markup, boolean disable_notification) {
+        return botServiceWrapper.callAsync(requestFactory.sendContact(chat_id, phone_number, first_name, last_name, reply_to_message_id, reply_markup, disable_notification), Message.class, null, callbackExecutor);
+    }
+
+    @Override
+    public BotCallFuture<Boolean> sendChatAction(ChatId chat_id, ChatAction action) {
+        return botServiceWrapper.callAsync(requestFactory.sendChatAction(chat_id, action), Boolean.class, false, callbackExecutor);
+    }
+
+    @Override
+    public BotCallFuture<UserProfilePhotos> getUserProfilePhotos(long user_id, int offset, int limit) {
+        return botServiceWrapper.callAsync(requestFactory.getUserProfilePhotos(user_id, offset, limit), UserProfilePhotos.class, null, callbackExecutor);
+    }
+
+    @Override
+    public BotCallFuture<TFile> getFile(String file_id) {
+        return botServiceWrapper.callAsync(requestFactory.getFile(file_id), TFile.class, null, callbackExecutor);
+    }
+
+    @Override
+    public BotCallFuture<Boolean> answerInlineQuery(String inline_query_id, InlineQueryResult[] results, String next_offset, boolean is_personal, int cache_time, String switch_pm_text, String switch_pm_parameter) {
+        return botServiceWrapper.callAsync(requestFactory.answerInlineQuery(inline_query_id, results, next_offset, is_personal, cache_time, switch_pm_text, switch_pm_parameter), Boolean.class, false, callbackExecutor);
+    }
+
+    @Override
+    public BotCallFuture<Boolean> kickChatMember(ChatId chat_id, long user_id) {
+        return botServiceWrapper.callAsync(requestFactory.manageGroupMember("kickChatMember", chat_id, user_id), Boolean.class, false, callbackExecutor);
+    }
+
+    @Override
+    public BotCallFuture<Boolean> leaveChat(ChatId chat_id) {
+        return botServiceWrapper.callAsync(requestFactory.leaveChat(chat_id), Boolean.class, false, callbackExecutor);
+    }
+
+    @Override
+    public BotCallFuture<Boolean> unbanChatMember(ChatId chat_id, long user_id) {
+        return botServiceWrapper.callAsync(requestFactory.manageGroupMember("unbanChatMember", chat_id, user_id), Boolean.class, false, callbackExecutor);
+    }
+
+    @Override
+    public BotCallFuture<Chat> getChat(ChatId chat_id) {
+        return botServiceWrapper.callAsync(requestFactory.getChat(chat_id), Chat.class, null, callbackExecutor);
+    }
+
+    @Override
+    public BotCallFuture<ChatMember[]> getChatAdministrators(ChatId chat_id) {
+        return botServiceWrapper.callAsync(requestFactory.getChatAdministrators(chat_id), ChatMember[].class, null, callbackExecutor);
+    }
+
+    @Override
+    public BotCallFuture<Integer> getChatMembersCount(ChatId chat_id) {
+        return botServiceWrapper.callAsync(requestFactory.getChatMembersCount(chat_id), Integer.class, 0, callbackExecutor);
+    }
+
+    @Override
+    public BotCallFuture<ChatMember> getChatMember(ChatId chat_id, long user_id) {
+        return botServiceWrapper.callAsync(requestFactory.getChatMember(chat_id, user_id), ChatMember.class, null, callbackExecutor);
+    }
+
+    @Override
+    public BotCallFuture<Boolean> answerCallbackQuery(String callback_query_id, String text, boolean show_alert) {
+        return botServiceWrapper.callAsync(requestFactory.answerCallbackQuery(callback_query_id, text, show_alert), Boolean.class, false, callbackExecutor);
+    }
+
+    @Override
+    public BotCallFuture<Message> editMessageText(ChatId chat_id, long message_id, String text, ParseMode parse_mode, boolean disable_web_page_preview, InlineKeyboardMarkup reply_markup) {
+        return botServiceWrapper.callAsync(requestFactory.editMessageText(chat_id, message_id, text, parse_mode, disable_web_page_preview, reply_markup), Message.class, null, callbackExecutor);
+    }
+
+    @Override
+    public BotCallFuture<Boolean> editMessageText(String inline_message_id, String text, ParseMode parse_mode, boolean disable_web_page_preview, InlineKeyboardMarkup reply_markup) {
+        return botServiceWrapper.callAsync(requestFactory.editMessageText(inline_message_id, text, parse_mode, disable_web_page_preview, reply_markup), Boolean.class, false, callbackExecutor);
+    }
+
+    @Override
+    public BotCallFuture<Message> editMessageCaption(ChatId chat_id, long message_id, String caption, InlineKeyboardMarkup reply_markup) {
+        return botServiceWrapper.callAsync(requestFactory.editMessageCaption(chat_id, message_id, caption, reply_markup), Message.class, null, callbackExecutor);
+    }
+
+    @Override
+    public BotCallFuture<Boolean> editMessageCaption(String inline_message_id, String caption, InlineKeyboardMarkup reply_markup) {
+        return botServiceWrapper.callAsync(requestFactory.editMessageCaption(inline_message_id, caption, reply_markup), Boolean.class, false, callbackExecutor);
+    }
+
+    @Override
+    public BotCallFuture<Message> editMessageReplyMarkup(ChatId chat_id, long message_id, InlineKeyboardMarkup reply_markup) {
+        return botServiceWrapper.callAsync(requestFactory.editMessageReplyMarkup(chat_id, message_id, reply_markup), Message.class, null, callbackExecutor);
+    }
+
+    @Override
+    public BotCallFuture<Boolean> editMessageReplyMarkup(String inline_message_id, InlineKeyboardMarkup reply_markup) {
+        return botServiceWrapper.callAsync(requestFactory.editMessageReplyMarkup(inline_message_id, reply_markup), Boolean.class, false, callbackExecutor);
+    }
+}
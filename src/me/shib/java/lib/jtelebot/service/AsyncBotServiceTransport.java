@@ -0,0 +1,19 @@
+package me.shib.java.lib.jtelebot.service;
+
+/**
+ * A transport that can send a request without blocking the calling thread.
+ * AsyncBotService uses it so that many calls can be in flight without holding a thread for each of them.
+ */
+public interface AsyncBotServiceTransport extends BotServiceTransport {
+
+    /**
+     * Sends a request to the Bot API and returns immediately. The callback is invoked once the complete response is read,
+     * or once the call fails. It may be invoked on the I/O thread of the transport, so it must not block.
+     *
+     * @param endPoint the URL of the bot, e.g. https://api.telegram.org/bot&lt;token&gt;, to which the method name is appended
+     * @param request  the request to be sent
+     * @param callback the callback that receives the response or the failure
+     */
+    void callAsync(String endPoint, BotApiRequest request, TransportCallback callback);
+
+}
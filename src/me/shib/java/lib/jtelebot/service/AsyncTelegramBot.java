@@ -0,0 +1,1195 @@
+package me.shib.java.lib.jtelebot.service;
+
+import me.shib.java.lib.jtelebot.models.inline.InlineKeyboardMarkup;
+import me.shib.java.lib.jtelebot.models.inline.InlineQueryResult;
+import me.shib.java.lib.jtelebot.models.types.*;
+import me.shib.java.lib.jtelebot.models.updates.Message;
+
+/**
+ * The asynchronous counterpart of TelegramBot. Every method starts its call and returns right away with a BotCallFuture,
+ * so a handler can fan out many calls without waiting on each of them. Whether a call in flight holds a thread
+ * depends on the transport, as described for AsyncBotService.
+ * Updates are received through the receivers, and files are downloaded through TelegramBot.
+ */
+public abstract class AsyncTelegramBot {
+
+    /**
+     * Gives the API token of the bot that is associated with the object.
+     *
+     * @return the API token of the bot is returned.
+     */
+    public abstract String getBotApiToken();
+
+    /**
+     * Use this method to specify a url and receive incoming updates via an outgoing webhook.
+     * Whenever there is an update for the bot, an HTTPS POST request to the specified url will be sent, containing a JSON-serialized Update.
+     * In case of an unsuccessful request, it will give up after a reasonable amount of attempts.
+     * You will not be able to receive updates using getUpdates for as long as an outgoing webhook is set up.
+     * To use a self-signed certificate, you need to upload your public key certificate using certificate parameter.
+     * Please upload the certificate as InputFile, sending a String will not work.
+     * Ports currently supported for Webhooks: 443, 80, 88, 8443.
+     *
+     * @param url         HTTPS url to send updates to. Use an empty string to remove webhook integration
+     * @param certificate Upload your public key certificate so that the root certificate in use can be checked. See our self-signed guide for details.
+     * @return A future of the result. Returns true on success.
+     */
+    public abstract BotCallFuture<Boolean> setWebhook(String url, InputFile certificate);
+
+    /**
+     * A simple method for testing your bot's auth token.
+     *
+     * @return A future of the result. Basic information about the bot in form of a User object.
+     */
+    public abstract BotCallFuture<User> getMe();
+
+    /**
+     * Use this method to send text messages.
+     *
+     * @param chat_id                  Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param text                     Text of the message to be sent
+     * @param parse_mode               Send Markdown, if you want Telegram apps to show bold, italic and inline URLs in your bot's message.
+     * @param disable_web_page_preview Disables link previews for links in this message
+     * @param reply_to_message_id      If the message is a reply, ID of the original message
+     * @param reply_markup             Additional interface options. An object for a custom reply keyboard, instructions to hide keyboard or to force a reply from the user.
+     * @param disable_notification     Sends the message silently
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public abstract BotCallFuture<Message> sendMessage(ChatId chat_id, String text, ParseMode parse_mode, boolean disable_web_page_preview, long reply_to_message_id, ReplyMarkup reply_markup, boolean disable_notification);
+
+    /**
+     * Use this method to send text messages.
+     *
+     * @param chat_id                  Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param text                     Text of the message to be sent
+     * @param parse_mode               Send Markdown, if you want Telegram apps to show bold, italic and inline URLs in your bot's message.
+     * @param disable_web_page_preview Disables link previews for links in this message
+     * @param reply_to_message_id      If the message is a reply, ID of the original message
+     * @param reply_markup             Additional interface options. An object for a custom reply keyboard, instructions to hide keyboard or to force a reply from the user.
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public BotCallFuture<Message> sendMessage(ChatId chat_id, String text, ParseMode parse_mode, boolean disable_web_page_preview, long reply_to_message_id, ReplyMarkup reply_markup) {
+        return sendMessage(chat_id, text, parse_mode, disable_web_page_preview, reply_to_message_id, reply_markup, false);
+    }
+
+    /**
+     * Use this method to send text messages.
+     *
+     * @param chat_id                  Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param text                     Text of the message to be sent
+     * @param parse_mode               Send Markdown, if you want Telegram apps to show bold, italic and inline URLs in your bot's message.
+     * @param disable_web_page_preview Disables link previews for links in this message
+     * @param reply_to_message_id      If the message is a reply, ID of the original message
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public BotCallFuture<Message> sendMessage(ChatId chat_id, String text, ParseMode parse_mode, boolean disable_web_page_preview, long reply_to_message_id) {
+        return sendMessage(chat_id, text, parse_mode, disable_web_page_preview, reply_to_message_id, null);
+    }
+
+    /**
+     * Use this method to send text messages.
+     *
+     * @param chat_id                  Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param text                     Text of the message to be sent
+     * @param parse_mode               Send Markdown, if you want Telegram apps to show bold, italic and inline URLs in your bot's message.
+     * @param disable_web_page_preview Disables link previews for links in this message
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public BotCallFuture<Message> sendMessage(ChatId chat_id, String text, ParseMode parse_mode, boolean disable_web_page_preview) {
+        return sendMessage(chat_id, text, parse_mode, disable_web_page_preview, 0);
+    }
+
+    /**
+     * Use this method to send text messages.
+     *
+     * @param chat_id    Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param text       Text of the message to be sent
+     * @param parse_mode Send Markdown, if you want Telegram apps to show bold, italic and inline URLs in your bot's message.
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public BotCallFuture<Message> sendMessage(ChatId chat_id, String text, ParseMode parse_mode) {
+        return sendMessage(chat_id, text, parse_mode, false);
+    }
+
+    /**
+     * Use this method to send text messages.
+     *
+     * @param chat_id Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param text    Text of the message to be sent
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public BotCallFuture<Message> sendMessage(ChatId chat_id, String text) {
+        return sendMessage(chat_id, text, null);
+    }
+
+    /**
+     * Use this method to forward messages of any kind.
+     *
+     * @param chat_id              Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param from_chat_id         Unique identifier for the chat where the original message was sent (or channel username in the format @channelusername)
+     * @param message_id           Unique message identifier
+     * @param disable_notification Sends the message silently
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public abstract BotCallFuture<Message> forwardMessage(ChatId chat_id, ChatId from_chat_id, long message_id, boolean disable_notification);
+
+    /**
+     * Use this method to forward messages of any kind.
+     *
+     * @param chat_id      Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param from_chat_id Unique identifier for the chat where the original message was sent (or channel username in the format @channelusername)
+     * @param message_id   Unique message identifier
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public BotCallFuture<Message> forwardMessage(ChatId chat_id, ChatId from_chat_id, long message_id) {
+        return forwardMessage(chat_id, from_chat_id, message_id, false);
+    }
+
+    /**
+     * Use this method to send photos.
+     *
+     * @param chat_id              Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param photo                Photo to send. You can either pass a file_id as String to resend a photo that is already on the Telegram servers, or upload a new file by passing a File object.
+     * @param caption              Photo caption (may also be used when resending photos by file_id).
+     * @param reply_to_message_id  If the message is a reply, ID of the original message
+     * @param reply_markup         Additional interface options. An object for a custom reply keyboard, instructions to hide keyboard or to force a reply from the user.
+     * @param disable_notification Sends the message silently
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public abstract BotCallFuture<Message> sendPhoto(ChatId chat_id, InputFile photo, String caption, long reply_to_message_id, ReplyMarkup reply_markup, boolean disable_notification);
+
+    /**
+     * Use this method to send photos.
+     *
+     * @param chat_id             Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param photo               Photo to send. You can either pass a file_id as String to resend a photo that is already on the Telegram servers, or upload a new file by passing a File object.
+     * @param caption             Photo caption (may also be used when resending photos by file_id).
+     * @param reply_to_message_id If the message is a reply, ID of the original message
+     * @param reply_markup        Additional interface options. An object for a custom reply keyboard, instructions to hide keyboard or to force a reply from the user.
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public BotCallFuture<Message> sendPhoto(ChatId chat_id, InputFile photo, String caption, long reply_to_message_id, ReplyMarkup reply_markup) {
+        return sendPhoto(chat_id, photo, caption, reply_to_message_id, reply_markup, false);
+    }
+
+    /**
+     * Use this method to send photos.
+     *
+     * @param chat_id             Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param photo               Photo to send. You can either pass a file_id as String to resend a photo that is already on the Telegram servers, or upload a new file by passing a File object.
+     * @param caption             Photo caption (may also be used when resending photos by file_id).
+     * @param reply_to_message_id If the message is a reply, ID of the original message
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public BotCallFuture<Message> sendPhoto(ChatId chat_id, InputFile photo, String caption, long reply_to_message_id) {
+        return sendPhoto(chat_id, photo, caption, reply_to_message_id, null);
+    }
+
+    /**
+     * Use this method to send photos.
+     *
+     * @param chat_id Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param photo   Photo to send. You can either pass a file_id as String to resend a photo that is already on the Telegram servers, or upload a new file by passing a File object.
+     * @param caption Photo caption (may also be used when resending photos by file_id).
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public BotCallFuture<Message> sendPhoto(ChatId chat_id, InputFile photo, String caption) {
+        return sendPhoto(chat_id, photo, caption, 0);
+    }
+
+    /**
+     * Use this method to send photos.
+     *
+     * @param chat_id Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param photo   Photo to send. You can either pass a file_id as String to resend a photo that is already on the Telegram servers, or upload a new file by passing a File object.
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public BotCallFuture<Message> sendPhoto(ChatId chat_id, InputFile photo) {
+        return sendPhoto(chat_id, photo, null);
+    }
+
+    /**
+     * Use this method to send audio files, if you want Telegram clients to display them in the music player. Your audio must be in the .mp3 format. Bots can currently send audio files of up to 50 MB in size, this limit may be changed in the future.
+     *
+     * @param chat_id              Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param audio                Audio file to send. You can either pass a file_id as String to resend an audio that is already on the Telegram servers, or upload a new file by passing a File object.
+     * @param duration             Duration of the audio in seconds
+     * @param performer            Performer
+     * @param title                Track name
+     * @param reply_to_message_id  If the message is a reply, ID of the original message
+     * @param reply_markup         Additional interface options. An object for a custom reply keyboard, instructions to hide keyboard or to force a reply from the user.
+     * @param disable_notification Sends the message silently
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public abstract BotCallFuture<Message> sendAudio(ChatId chat_id, InputFile audio, int duration, String performer, String title, long reply_to_message_id, ReplyMarkup reply_markup, boolean disable_notification);
+
+    /**
+     * Use this method to send audio files, if you want Telegram clients to display them in the music player. Your audio must be in the .mp3 format. Bots can currently send audio files of up to 50 MB in size, this limit may be changed in the future.
+     *
+     * @param chat_id             Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param audio               Audio file to send. You can either pass a file_id as String to resend an audio that is already on the Telegram servers, or upload a new file by passing a File object.
+     * @param duration            Duration of the audio in seconds
+     * @param performer           Performer
+     * @param title               Track name
+     * @param reply_to_message_id If the message is a reply, ID of the original message
+     * @param reply_markup        Additional interface options. An object for a custom reply keyboard, instructions to hide keyboard or to force a reply from the user.
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public BotCallFuture<Message> sendAudio(ChatId chat_id, InputFile audio, int duration, String performer, String title, long reply_to_message_id, ReplyMarkup reply_markup) {
+        return sendAudio(chat_id, audio, duration, performer, title, reply_to_message_id, reply_markup, false);
+    }
+
+    /**
+     * Use this method to send audio files, if you want Telegram clients to display them in the music player. Your audio must be in the .mp3 format. Bots can currently send audio files of up to 50 MB in size, this limit may be changed in the future.
+     *
+     * @param chat_id             Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param audio               Audio file to send. You can either pass a file_id as String to resend an audio that is already on the Telegram servers, or upload a new file by passing a File object.
+     * @param duration            Duration of the audio in seconds
+     * @param performer           Performer
+     * @param title               Track name
+     * @param reply_to_message_id If the message is a reply, ID of the original message
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public BotCallFuture<Message> sendAudio(ChatId chat_id, InputFile audio, int duration, String performer, String title, long reply_to_message_id) {
+        return sendAudio(chat_id, audio, duration, performer, title, reply_to_message_id, null);
+    }
+
+    /**
+     * Use this method to send audio files, if you want Telegram clients to display them in the music player. Your audio must be in the .mp3 format. Bots can currently send audio files of up to 50 MB in size, this limit may be changed in the future.
+     *
+     * @param chat_id   Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param audio     Audio file to send. You can either pass a file_id as String to resend an audio that is already on the Telegram servers, or upload a new file by passing a File object.
+     * @param duration  Duration of the audio in seconds
+     * @param performer Performer
+     * @param title     Track name
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public BotCallFuture<Message> sendAudio(ChatId chat_id, InputFile audio, int duration, String performer, String title) {
+        return sendAudio(chat_id, audio, duration, performer, title, 0);
+    }
+
+    /**
+     * Use this method to send audio files, if you want Telegram clients to display them in the music player. Your audio must be in the .mp3 format. Bots can currently send audio files of up to 50 MB in size, this limit may be changed in the future.
+     *
+     * @param chat_id   Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param audio     Audio file to send. You can either pass a file_id as String to resend an audio that is already on the Telegram servers, or upload a new file by passing a File object.
+     * @param duration  Duration of the audio in seconds
+     * @param performer Performer
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public BotCallFuture<Message> sendAudio(ChatId chat_id, InputFile audio, int duration, String performer) {
+        return sendAudio(chat_id, audio, duration, performer, null);
+    }
+
+    /**
+     * Use this method to send audio files, if you want Telegram clients to display them in the music player. Your audio must be in the .mp3 format. Bots can currently send audio files of up to 50 MB in size, this limit may be changed in the future.
+     *
+     * @param chat_id  Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param audio    Audio file to send. You can either pass a file_id as String to resend an audio that is already on the Telegram servers, or upload a new file by passing a File object.
+     * @param duration Duration of the audio in seconds
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public BotCallFuture<Message> sendAudio(ChatId chat_id, InputFile audio, int duration) {
+        return sendAudio(chat_id, audio, duration, null);
+    }
+
+    /**
+     * Use this method to send audio files, if you want Telegram clients to display them in the music player. Your audio must be in the .mp3 format. Bots can currently send audio files of up to 50 MB in size, this limit may be changed in the future.
+     *
+     * @param chat_id Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param audio   Audio file to send. You can either pass a file_id as String to resend an audio that is already on the Telegram servers, or upload a new file by passing a File object.
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public BotCallFuture<Message> sendAudio(ChatId chat_id, InputFile audio) {
+        return sendAudio(chat_id, audio, 0);
+    }
+
+    /**
+     * Use this method to send general files. Bots can currently send files of any type of up to 50 MB in size, this limit may be changed in the future.
+     *
+     * @param chat_id              Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param document             File to send. You can either pass a file_id as String to resend a file that is already on the Telegram servers, or upload a new file by passing a File object.
+     * @param caption              Document caption (may also be used when resending documents by file_id), 0-200 characters
+     * @param reply_to_message_id  If the message is a reply, ID of the original message
+     * @param reply_markup         Additional interface options. An object for a custom reply keyboard, instructions to hide keyboard or to force a reply from the user.
+     * @param disable_notification Sends the message silently
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public abstract BotCallFuture<Message> sendDocument(ChatId chat_id, InputFile document, String caption, long reply_to_message_id, ReplyMarkup reply_markup, boolean disable_notification);
+
+    /**
+     * Use this method to send general files. Bots can currently send files of any type of up to 50 MB in size, this limit may be changed in the future.
+     *
+     * @param chat_id             Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param document            File to send. You can either pass a file_id as String to resend a file that is already on the Telegram servers, or upload a new file by passing a File object.
+     * @param caption             Document caption (may also be used when resending documents by file_id), 0-200 characters
+     * @param reply_to_message_id If the message is a reply, ID of the original message
+     * @param reply_markup        Additional interface options. An object for a custom reply keyboard, instructions to hide keyboard or to force a reply from the user.
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public BotCallFuture<Message> sendDocument(ChatId chat_id, InputFile document, String caption, long reply_to_message_id, ReplyMarkup reply_markup) {
+        return sendDocument(chat_id, document, caption, reply_to_message_id, reply_markup, false);
+    }
+
+    /**
+     * Use this method to send general files. Bots can currently send files of any type of up to 50 MB in size, this limit may be changed in the future.
+     *
+     * @param chat_id             Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param document            File to send. You can either pass a file_id as String to resend a file that is already on the Telegram servers, or upload a new file by passing a File object.
+     * @param caption             Document caption (may also be used when resending documents by file_id), 0-200 characters
+     * @param reply_to_message_id If the message is a reply, ID of the original message
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public BotCallFuture<Message> sendDocument(ChatId chat_id, InputFile document, String caption, long reply_to_message_id) {
+        return sendDocument(chat_id, document, caption, reply_to_message_id, null);
+    }
+
+    /**
+     * Use this method to send general files. Bots can currently send files of any type of up to 50 MB in size, this limit may be changed in the future.
+     *
+     * @param chat_id  Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param document File to send. You can either pass a file_id as String to resend a file that is already on the Telegram servers, or upload a new file by passing a File object.
+     * @param caption  Document caption (may also be used when resending documents by file_id), 0-200 characters
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public BotCallFuture<Message> sendDocument(ChatId chat_id, InputFile document, String caption) {
+        return sendDocument(chat_id, document, caption, 0);
+    }
+
+    /**
+     * Use this method to send general files. Bots can currently send files of any type of up to 50 MB in size, this limit may be changed in the future.
+     *
+     * @param chat_id  Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param document File to send. You can either pass a file_id as String to resend a file that is already on the Telegram servers, or upload a new file by passing a File object.
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public BotCallFuture<Message> sendDocument(ChatId chat_id, InputFile document) {
+        return sendDocument(chat_id, document, null);
+    }
+
+    /**
+     * Use this method to send .webp stickers.
+     *
+     * @param chat_id              Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param sticker              Sticker to send. You can either pass a file_id as String to resend a sticker that is already on the Telegram servers, or upload a new file by passing a File object.
+     * @param reply_to_message_id  If the message is a reply, ID of the original message
+     * @param reply_markup         Additional interface options. An object for a custom reply keyboard, instructions to hide keyboard or to force a reply from the user.
+     * @param disable_notification Sends the message silently
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public abstract BotCallFuture<Message> sendSticker(ChatId chat_id, InputFile sticker, long reply_to_message_id, ReplyMarkup reply_markup, boolean disable_notification);
+
+    /**
+     * Use this method to send .webp stickers.
+     *
+     * @param chat_id             Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param sticker             Sticker to send. You can either pass a file_id as String to resend a sticker that is already on the Telegram servers, or upload a new file by passing a File object.
+     * @param reply_to_message_id If the message is a reply, ID of the original message
+     * @param reply_markup        Additional interface options. An object for a custom reply keyboard, instructions to hide keyboard or to force a reply from the user.
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public BotCallFuture<Message> sendSticker(ChatId chat_id, InputFile sticker, long reply_to_message_id, ReplyMarkup reply_markup) {
+        return sendSticker(chat_id, sticker, reply_to_message_id, reply_markup, false);
+    }
+
+    /**
+     * Use this method to send .webp stickers.
+     *
+     * @param chat_id             Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param sticker             Sticker to send. You can either pass a file_id as String to resend a sticker that is already on the Telegram servers, or upload a new file by passing a File object.
+     * @param reply_to_message_id If the message is a reply, ID of the original message
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public BotCallFuture<Message> sendSticker(ChatId chat_id, InputFile sticker, long reply_to_message_id) {
+        return sendSticker(chat_id, sticker, reply_to_message_id, null);
+    }
+
+    /**
+     * Use this method to send .webp stickers.
+     *
+     * @param chat_id Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param sticker Sticker to send. You can either pass a file_id as String to resend a sticker that is already on the Telegram servers, or upload a new file by passing a File object.
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public BotCallFuture<Message> sendSticker(ChatId chat_id, InputFile sticker) {
+        return sendSticker(chat_id, sticker, 0);
+    }
+
+    /**
+     * Use this method to send video files, Telegram clients support mp4 videos (other formats may be sent as Document). Bots can currently send video files of up to 50 MB in size, this limit may be changed in the future.
+     *
+     * @param chat_id              Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param video                Video to send. You can either pass a file_id as String to resend a video that is already on the Telegram servers, or upload a new file by passing a File object.
+     * @param duration             Duration of sent video in seconds
+     * @param caption              Video caption (may also be used when resending videos by file_id).
+     * @param reply_to_message_id  If the message is a reply, ID of the original message
+     * @param reply_markup         Additional interface options. An object for a custom reply keyboard, instructions to hide keyboard or to force a reply from the user.
+     * @param width                Video width
+     * @param height               Video height
+     * @param disable_notification Sends the message silently
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public abstract BotCallFuture<Message> sendVideo(ChatId chat_id, InputFile video, int duration, String caption, long reply_to_message_id, ReplyMarkup reply_markup, int width, int height, boolean disable_notification);
+
+    /**
+     * Use this method to send video files, Telegram clients support mp4 videos (other formats may be sent as Document). Bots can currently send video files of up to 50 MB in size, this limit may be changed in the future.
+     *
+     * @param chat_id             Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param video               Video to send. You can either pass a file_id as String to resend a video that is already on the Telegram servers, or upload a new file by passing a File object.
+     * @param duration            Duration of sent video in seconds
+     * @param caption             Video caption (may also be used when resending videos by file_id).
+     * @param reply_to_message_id If the message is a reply, ID of the original message
+     * @param reply_markup        Additional interface options. An object for a custom reply keyboard, instructions to hide keyboard or to force a reply from the user.
+     * @param width               Video width
+     * @param height              Video height
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public BotCallFuture<Message> sendVideo(ChatId chat_id, InputFile video, int duration, String caption, long reply_to_message_id, ReplyMarkup reply_markup, int width, int height) {
+        return sendVideo(chat_id, video, duration, caption, reply_to_message_id, reply_markup, width, height, false);
+    }
+
+    /**
+     * Use this method to send video files, Telegram clients support mp4 videos (other formats may be sent as Document). Bots can currently send video files of up to 50 MB in size, this limit may be changed in the future.
+     *
+     * @param chat_id             Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param video               Video to send. You can either pass a file_id as String to resend a video that is already on the Telegram servers, or upload a new file by passing a File object.
+     * @param duration            Duration of sent video in seconds
+     * @param caption             Video caption (may also be used when resending videos by file_id).
+     * @param reply_to_message_id If the message is a reply, ID of the original message
+     * @param reply_markup        Additional interface options. An object for a custom reply keyboard, instructions to hide keyboard or to force a reply from the user.
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public BotCallFuture<Message> sendVideo(ChatId chat_id, InputFile video, int duration, String caption, long reply_to_message_id, ReplyMarkup reply_markup) {
+        return sendVideo(chat_id, video, duration, caption, reply_to_message_id, reply_markup, 0, 0);
+    }
+
+    /**
+     * Use this method to send video files, Telegram clients support mp4 videos (other formats may be sent as Document). Bots can currently send video files of up to 50 MB in size, this limit may be changed in the future.
+     *
+     * @param chat_id             Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param video               Video to send. You can either pass a file_id as String to resend a video that is already on the Telegram servers, or upload a new file by passing a File object.
+     * @param duration            Duration of sent video in seconds
+     * @param caption             Video caption (may also be used when resending videos by file_id).
+     * @param reply_to_message_id If the message is a reply, ID of the original message
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public BotCallFuture<Message> sendVideo(ChatId chat_id, InputFile video, int duration, String caption, long reply_to_message_id) {
+        return sendVideo(chat_id, video, duration, caption, reply_to_message_id, null);
+    }
+
+    /**
+     * Use this method to send video files, Telegram clients support mp4 videos (other formats may be sent as Document). Bots can currently send video files of up to 50 MB in size, this limit may be changed in the future.
+     *
+     * @param chat_id  Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param video    Video to send. You can either pass a file_id as String to resend a video that is already on the Telegram servers, or upload a new file by passing a File object.
+     * @param duration Duration of sent video in seconds
+     * @param caption  Video caption (may also be used when resending videos by file_id).
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public BotCallFuture<Message> sendVideo(ChatId chat_id, InputFile video, int duration, String caption) {
+        return sendVideo(chat_id, video, duration, caption, 0);
+    }
+
+    /**
+     * Use this method to send video files, Telegram clients support mp4 videos (other formats may be sent as Document). Bots can currently send video files of up to 50 MB in size, this limit may be changed in the future.
+     *
+     * @param chat_id  Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param video    Video to send. You can either pass a file_id as String to resend a video that is already on the Telegram servers, or upload a new file by passing a File object.
+     * @param duration Duration of sent video in seconds
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public BotCallFuture<Message> sendVideo(ChatId chat_id, InputFile video, int duration) {
+        return sendVideo(chat_id, video, duration, null);
+    }
+
+    /**
+     * Use this method to send video files, Telegram clients support mp4 videos (other formats may be sent as Document). Bots can currently send video files of up to 50 MB in size, this limit may be changed in the future.
+     *
+     * @param chat_id Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param video   Video to send. You can either pass a file_id as String to resend a video that is already on the Telegram servers, or upload a new file by passing a File object.
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public BotCallFuture<Message> sendVideo(ChatId chat_id, InputFile video) {
+        return sendVideo(chat_id, video, 0);
+    }
+
+    /**
+     * Use this method to send audio files, if you want Telegram clients to display the file as a playable voice message. For this to work, your audio must be in an .ogg file encoded with OPUS (other formats may be sent as Audio or Document). Bots can currently send voice messages of up to 50 MB in size, this limit may be changed in the future.
+     *
+     * @param chat_id              Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param voice                Audio file to send. You can either pass a file_id as String to resend an audio that is already on the Telegram servers, or upload a new file by passing a File object.
+     * @param duration             Duration of sent audio in seconds
+     * @param reply_to_message_id  If the message is a reply, ID of the original message
+     * @param reply_markup         Additional interface options. An object for a custom reply keyboard, instructions to hide keyboard or to force a reply from the user.
+     * @param disable_notification Sends the message silently
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public abstract BotCallFuture<Message> sendVoice(ChatId chat_id, InputFile voice, int duration, long reply_to_message_id, ReplyMarkup reply_markup, boolean disable_notification);
+
+    /**
+     * Use this method to send audio files, if you want Telegram clients to display the file as a playable voice message. For this to work, your audio must be in an .ogg file encoded with OPUS (other formats may be sent as Audio or Document). Bots can currently send voice messages of up to 50 MB in size, this limit may be changed in the future.
+     *
+     * @param chat_id             Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param voice               Audio file to send. You can either pass a file_id as String to resend an audio that is already on the Telegram servers, or upload a new file by passing a File object.
+     * @param duration            Duration of sent audio in seconds
+     * @param reply_to_message_id If the message is a reply, ID of the original message
+     * @param reply_markup        Additional interface options. An object for a custom reply keyboard, instructions to hide keyboard or to force a reply from the user.
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public BotCallFuture<Message> sendVoice(ChatId chat_id, InputFile voice, int duration, long reply_to_message_id, ReplyMarkup reply_markup) {
+        return sendVoice(chat_id, voice, duration, reply_to_message_id, reply_markup, false);
+    }
+
+    /**
+     * Use this method to send audio files, if you want Telegram clients to display the file as a playable voice message. For this to work, your audio must be in an .ogg file encoded with OPUS (other formats may be sent as Audio or Document). Bots can currently send voice messages of up to 50 MB in size, this limit may be changed in the future.
+     *
+     * @param chat_id             Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param voice               Audio file to send. You can either pass a file_id as String to resend an audio that is already on the Telegram servers, or upload a new file by passing a File object.
+     * @param duration            Duration of sent audio in seconds
+     * @param reply_to_message_id If the message is a reply, ID of the original message
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public BotCallFuture<Message> sendVoice(ChatId chat_id, InputFile voice, int duration, long reply_to_message_id) {
+        return sendVoice(chat_id, voice, duration, reply_to_message_id, null);
+    }
+
+    /**
+     * Use this method to send audio files, if you want Telegram clients to display the file as a playable voice message. For this to work, your audio must be in an .ogg file encoded with OPUS (other formats may be sent as Audio or Document). Bots can currently send voice messages of up to 50 MB in size, this limit may be changed in the future.
+     *
+     * @param chat_id  Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param voice    Audio file to send. You can either pass a file_id as String to resend an audio that is already on the Telegram servers, or upload a new file by passing a File object.
+     * @param duration Duration of sent audio in seconds
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public BotCallFuture<Message> sendVoice(ChatId chat_id, InputFile voice, int duration) {
+        return sendVoice(chat_id, voice, duration, 0);
+    }
+
+    /**
+     * Use this method to send audio files, if you want Telegram clients to display the file as a playable voice message. For this to work, your audio must be in an .ogg file encoded with OPUS (other formats may be sent as Audio or Document). Bots can currently send voice messages of up to 50 MB in size, this limit may be changed in the future.
+     *
+     * @param chat_id Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param voice   Audio file to send. You can either pass a file_id as String to resend an audio that is already on the Telegram servers, or upload a new file by passing a File object.
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public BotCallFuture<Message> sendVoice(ChatId chat_id, InputFile voice) {
+        return sendVoice(chat_id, voice, 0);
+    }
+
+    /**
+     * Use this method to send point on the map.
+     *
+     * @param chat_id              Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param latitude             Latitude of location
+     * @param longitude            Longitude of location
+     * @param reply_to_message_id  If the message is a reply, ID of the original message
+     * @param reply_markup         Additional interface options. An object for a custom reply keyboard, instructions to hide keyboard or to force a reply from the user.
+     * @param disable_notification Sends the message silently
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public abstract BotCallFuture<Message> sendLocation(ChatId chat_id, float latitude, float longitude, long reply_to_message_id, ReplyMarkup reply_markup, boolean disable_notification);
+
+    /**
+     * Use this method to send point on the map.
+     *
+     * @param chat_id             Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param latitude            Latitude of location
+     * @param longitude           Longitude of location
+     * @param reply_to_message_id If the message is a reply, ID of the original message
+     * @param reply_markup        Additional interface options. An object for a custom reply keyboard, instructions to hide keyboard or to force a reply from the user.
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public BotCallFuture<Message> sendLocation(ChatId chat_id, float latitude, float longitude, long reply_to_message_id, ReplyMarkup reply_markup) {
+        return sendLocation(chat_id, latitude, longitude, reply_to_message_id, reply_markup, false);
+    }
+
+    /**
+     * Use this method to send point on the map.
+     *
+     * @param chat_id             Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param latitude            Latitude of location
+     * @param longitude           Longitude of location
+     * @param reply_to_message_id If the message is a reply, ID of the original message
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public BotCallFuture<Message> sendLocation(ChatId chat_id, float latitude, float longitude, long reply_to_message_id) {
+        return sendLocation(chat_id, latitude, longitude, reply_to_message_id, null);
+    }
+
+    /**
+     * Use this method to send point on the map.
+     *
+     * @param chat_id   Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param latitude  Latitude of location
+     * @param longitude Longitude of location
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public BotCallFuture<Message> sendLocation(ChatId chat_id, float latitude, float longitude) {
+        return sendLocation(chat_id, latitude, longitude, 0);
+    }
+
+    /**
+     * Use this method to send information about a venue.
+     *
+     * @param chat_id              Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param latitude             Latitude of location
+     * @param longitude            Longitude of location
+     * @param title                Name of the venue
+     * @param address              Address of the venue
+     * @param foursquare_id        Foursquare identifier of the venue
+     * @param reply_to_message_id  If the message is a reply, ID of the original message
+     * @param reply_markup         Additional interface options. An object for a custom reply keyboard, instructions to hide keyboard or to force a reply from the user.
+     * @param disable_notification Sends the message silently
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public abstract BotCallFuture<Message> sendVenue(ChatId chat_id, float latitude, float longitude, String title, String address, String foursquare_id, long reply_to_message_id, ReplyMarkup reply_markup, boolean disable_notification);
+
+    /**
+     * Use this method to send information about a venue.
+     *
+     * @param chat_id             Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param latitude            Latitude of location
+     * @param longitude           Longitude of location
+     * @param title               Name of the venue
+     * @param address             Address of the venue
+     * @param foursquare_id       Foursquare identifier of the venue
+     * @param reply_to_message_id If the message is a reply, ID of the original message
+     * @param reply_markup        Additional interface options. An object for a custom reply keyboard, instructions to hide keyboard or to force a reply from the user.
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public BotCallFuture<Message> sendVenue(ChatId chat_id, float latitude, float longitude, String title, String address, String foursquare_id, long reply_to_message_id, ReplyMarkup reply_markup) {
+        return sendVenue(chat_id, latitude, longitude, title, address, foursquare_id, reply_to_message_id, reply_markup, false);
+    }
+
+    /**
+     * Use this method to send information about a venue.
+     *
+     * @param chat_id             Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param latitude            Latitude of location
+     * @param longitude           Longitude of location
+     * @param title               Name of the venue
+     * @param address             Address of the venue
+     * @param foursquare_id       Foursquare identifier of the venue
+     * @param reply_to_message_id If the message is a reply, ID of the original message
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public BotCallFuture<Message> sendVenue(ChatId chat_id, float latitude, float longitude, String title, String address, String foursquare_id, long reply_to_message_id) {
+        return sendVenue(chat_id, latitude, longitude, title, address, foursquare_id, reply_to_message_id, null);
+    }
+
+    /**
+     * Use this method to send information about a venue.
+     *
+     * @param chat_id       Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param latitude      Latitude of location
+     * @param longitude     Longitude of location
+     * @param title         Name of the venue
+     * @param address       Address of the venue
+     * @param foursquare_id Foursquare identifier of the venue
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public BotCallFuture<Message> sendVenue(ChatId chat_id, float latitude, float longitude, String title, String address, String foursquare_id) {
+        return sendVenue(chat_id, latitude, longitude, title, address, foursquare_id, 0);
+    }
+
+    /**
+     * Use this method to send information about a venue.
+     *
+     * @param chat_id   Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param latitude  Latitude of location
+     * @param longitude Longitude of location
+     * @param title     Name of the venue
+     * @param address   Address of the venue
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public BotCallFuture<Message> sendVenue(ChatId chat_id, float latitude, float longitude, String title, String address) {
+        return sendVenue(chat_id, latitude, longitude, title, address, null);
+    }
+
+    /**
+     * Use this method to send phone contacts.
+     *
+     * @param chat_id              Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param phone_number         Contact's phone number
+     * @param first_name           Contact's first name
+     * @param last_name            Contact's last name
+     * @param reply_to_message_id  If the message is a reply, ID of the original message
+     * @param reply_markup         Additional interface options. An object for a custom reply keyboard, instructions to hide keyboard or to force a reply from the user.
+     * @param disable_notification Sends the message silently
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public abstract BotCallFuture<Message> sendContact(ChatId chat_id, String phone_number, String first_name, String last_name, long reply_to_message_id, ReplyMarkup reply_markup, boolean disable_notification);
+
+    /**
+     * Use this method to send phone contacts.
+     *
+     * @param chat_id             Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param phone_number        Contact's phone number
+     * @param first_name          Contact's first name
+     * @param last_name           Contact's last name
+     * @param reply_to_message_id If the message is a reply, ID of the original message
+     * @param reply_markup        Additional interface options. An object for a custom reply keyboard, instructions to hide keyboard or to force a reply from the user.
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public BotCallFuture<Message> sendContact(ChatId chat_id, String phone_number, String first_name, String last_name, long reply_to_message_id, ReplyMarkup reply_markup) {
+        return sendContact(chat_id, phone_number, first_name, last_name, reply_to_message_id, reply_markup, false);
+    }
+
+    /**
+     * Use this method to send phone contacts.
+     *
+     * @param chat_id             Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param phone_number        Contact's phone number
+     * @param first_name          Contact's first name
+     * @param last_name           Contact's last name
+     * @param reply_to_message_id If the message is a reply, ID of the original message
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public BotCallFuture<Message> sendContact(ChatId chat_id, String phone_number, String first_name, String last_name, long reply_to_message_id) {
+        return sendContact(chat_id, phone_number, first_name, last_name, reply_to_message_id, null);
+    }
+
+    /**
+     * Use this method to send phone contacts.
+     *
+     * @param chat_id      Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param phone_number Contact's phone number
+     * @param first_name   Contact's first name
+     * @param last_name    Contact's last name
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public BotCallFuture<Message> sendContact(ChatId chat_id, String phone_number, String first_name, String last_name) {
+        return sendContact(chat_id, phone_number, first_name, last_name, 0);
+    }
+
+    /**
+     * Use this method to send phone contacts.
+     *
+     * @param chat_id      Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param phone_number Contact's phone number
+     * @param first_name   Contact's first name
+     * @return A future of the result. On success, the sent Message is returned.
+     */
+    public BotCallFuture<Message> sendContact(ChatId chat_id, String phone_number, String first_name) {
+        return sendContact(chat_id, phone_number, first_name, null);
+    }
+
+    /**
+     * Use this method when you need to tell the user that something is happening on the bot's side. The status is set for 5 seconds or less (when a message arrives from your bot, Telegram clients clear its typing status). We only recommend using this method when a response from the bot will take a noticeable amount of time to arrive.
+     *
+     * @param chat_id Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param action  Type of action to broadcast. Choose one, depending on what the user is about to receive: typing for text messages, upload_photo for photos, record_video or upload_video for videos, record_audio or upload_audio for audio files, upload_document for general files, find_location for location data.
+     * @return A future of the result. On success, returns True.
+     */
+    public abstract BotCallFuture<Boolean> sendChatAction(ChatId chat_id, ChatAction action);
+
+    /**
+     * Use this method to get a list of profile pictures for a user.
+     *
+     * @param user_id Unique identifier of the target user
+     * @param offset  Sequential number of the first photo to be returned. By default, all photos are returned.
+     * @param limit   Limits the number of photos to be retrieved. Values between 1—100 are accepted. Defaults to 100.
+     * @return A future of the result. Returns a UserProfilePhotos object.
+     */
+    public abstract BotCallFuture<UserProfilePhotos> getUserProfilePhotos(long user_id, int offset, int limit);
+
+    /**
+     * Use this method to get a list of profile pictures for a user.
+     *
+     * @param user_id Unique identifier of the target user
+     * @param offset  Sequential number of the first photo to be returned. By default, all photos are returned.
+     * @return A future of the result. Returns a UserProfilePhotos object.
+     */
+    public BotCallFuture<UserProfilePhotos> getUserProfilePhotos(long user_id, int offset) {
+        return getUserProfilePhotos(user_id, offset, 100);
+    }
+
+    /**
+     * Use this method to get a list of profile pictures for a user.
+     *
+     * @param user_id Unique identifier of the target user
+     * @return A future of the result. Returns a UserProfilePhotos object.
+     */
+    public BotCallFuture<UserProfilePhotos> getUserProfilePhotos(long user_id) {
+        return getUserProfilePhotos(user_id, 0);
+    }
+
+    /**
+     * Use this method to get a InputFile object for downloading. For the moment, bots can download files of up to 20MB in size.
+     *
+     * @param file_id File identifier to get TFile object
+     * @return A future of the result. On success, a TFile object is returned.
+     */
+    public abstract BotCallFuture<TFile> getFile(String file_id);
+
+    /**
+     * Use this method to send answers to an inline query. No more than 50 results per query are allowed.
+     *
+     * @param inline_query_id     Unique identifier for the answered query
+     * @param results             A JSON-serialized array of results for the inline query
+     * @param next_offset         Pass the offset that a client should send in the next query with the same text to receive more results. Pass an empty string if there are no more results or if you don‘t support pagination. Offset length can’t exceed 64 bytes.
+     * @param is_personal         Pass True, if results may be cached on the server side only for the user that sent the query. By default, results may be returned to any user who sends the same query
+     * @param cache_time          The maximum amount of time in seconds that the result of the inline query may be cached on the server. Defaults to 300.
+     * @param switch_pm_text      If passed, clients will display a button with specified text that switches the user to a private chat with the bot and sends the bot a start message with the parameter switch_pm_parameter
+     * @param switch_pm_parameter Parameter for the start message sent to the bot when user presses the switch button
+     *                            Example: An inline bot that sends YouTube videos can ask the user to connect the bot to their YouTube account to adapt search results accordingly.
+     *                            To do this, it displays a ‘Connect your YouTube account’ button above the results, or even before showing any.
+     *                            The user presses the button, switches to a private chat with the bot and, in doing so, passes a start parameter that instructs the bot to return an oauth link.
+     *                            Once done, the bot can offer a switch_inline button so that the user can easily return to the chat where they wanted to use the bot's inline capabilities.
+     * @return A future of the result. On success, returns True.
+     */
+    public abstract BotCallFuture<Boolean> answerInlineQuery(String inline_query_id, InlineQueryResult[] results, String next_offset, boolean is_personal, int cache_time, String switch_pm_text, String switch_pm_parameter);
+
+    /**
+     * Use this method to send answers to an inline query. No more than 50 results per query are allowed.
+     *
+     * @param inline_query_id Unique identifier for the answered query
+     * @param results         A JSON-serialized array of results for the inline query
+     * @param next_offset     Pass the offset that a client should send in the next query with the same text to receive more results. Pass an empty string if there are no more results or if you don‘t support pagination. Offset length can’t exceed 64 bytes.
+     * @param is_personal     Pass True, if results may be cached on the server side only for the user that sent the query. By default, results may be returned to any user who sends the same query
+     * @param cache_time      The maximum amount of time in seconds that the result of the inline query may be cached on the server. Defaults to 300.
+     * @return A future of the result. On success, returns True.
+     */
+    public BotCallFuture<Boolean> answerInlineQuery(String inline_query_id, InlineQueryResult[] results, String next_offset, boolean is_personal, int cache_time) {
+        return answerInlineQuery(inline_query_id, results, next_offset, is_personal, cache_time, null, null);
+    }
+
+    /**
+     * Use this method to send answers to an inline query. No more than 50 results per query are allowed.
+     *
+     * @param inline_query_id Unique identifier for the answered query
+     * @param results         A JSON-serialized array of results for the inline query
+     * @param next_offset     Pass the offset that a client should send in the next query with the same text to receive more results. Pass an empty string if there are no more results or if you don‘t support pagination. Offset length can’t exceed 64 bytes.
+     * @param is_personal     Pass True, if results may be cached on the server side only for the user that sent the query. By default, results may be returned to any user who sends the same query
+     * @return A future of the result. On success, returns True.
+     */
+    public BotCallFuture<Boolean> answerInlineQuery(String inline_query_id, InlineQueryResult[] results, String next_offset, boolean is_personal) {
+        return answerInlineQuery(inline_query_id, results, next_offset, is_personal, -1);
+    }
+
+    /**
+     * Use this method to send answers to an inline query. No more than 50 results per query are allowed.
+     *
+     * @param inline_query_id Unique identifier for the answered query
+     * @param results         A JSON-serialized array of results for the inline query
+     * @param next_offset     Pass the offset that a client should send in the next query with the same text to receive more results. Pass an empty string if there are no more results or if you don‘t support pagination. Offset length can’t exceed 64 bytes.
+     * @return A future of the result. On success, returns True.
+     */
+    public BotCallFuture<Boolean> answerInlineQuery(String inline_query_id, InlineQueryResult[] results, String next_offset) {
+        return answerInlineQuery(inline_query_id, results, next_offset, false);
+    }
+
+    /**
+     * Use this method to send answers to an inline query. No more than 50 results per query are allowed.
+     *
+     * @param inline_query_id Unique identifier for the answered query
+     * @param results         A JSON-serialized array of results for the inline query
+     * @return A future of the result. On success, returns True.
+     */
+    public BotCallFuture<Boolean> answerInlineQuery(String inline_query_id, InlineQueryResult[] results) {
+        return answerInlineQuery(inline_query_id, results, null);
+    }
+
+    /**
+     * Use this method to kick a user from a group or a supergroup.
+     * In the case of supergroups, the user will not be able to return to the group on their own using invite links, etc., unless unbanned first.
+     * The bot must be an administrator in the group for this to work.
+     *
+     * @param chat_id Unique identifier for the target group or username of the target supergroup (in the format @supergroupusername)
+     * @param user_id Unique identifier of the target user
+     * @return A future of the result. On success, returns True.
+     */
+    public abstract BotCallFuture<Boolean> kickChatMember(ChatId chat_id, long user_id);
+
+    /**
+     * Use this method for your bot to leave a group, supergroup or channel.
+     *
+     * @param chat_id Unique identifier for the target chat or username of the target supergroup or channel (in the format @channelusername)
+     * @return A future of the result. On success, returns True.
+     */
+    public abstract BotCallFuture<Boolean> leaveChat(ChatId chat_id);
+
+    /**
+     * Use this method to unban a previously kicked user in a supergroup.
+     * The user will not return to the group automatically, but will be able to join via link, etc.
+     * The bot must be an administrator in the group for this to work.
+     *
+     * @param chat_id Unique identifier for the target group or username of the target supergroup (in the format @supergroupusername)
+     * @param user_id Unique identifier of the target user
+     * @return A future of the result. On success, returns True.
+     */
+    public abstract BotCallFuture<Boolean> unbanChatMember(ChatId chat_id, long user_id);
+
+    /**
+     * Use this method to get up to date information about the chat
+     * (current name of the user for one-on-one conversations, current username of a user, group or channel, etc.).
+     *
+     * @param chat_id Unique identifier for the target chat or username of the target supergroup or channel (in the format @channelusername)
+     * @return A future of the result. On success, returns a Chat object.
+     */
+    public abstract BotCallFuture<Chat> getChat(ChatId chat_id);
+
+    /**
+     * Use this method to get a list of administrators in a chat.
+     *
+     * @param chat_id Unique identifier for the target chat or username of the target supergroup or channel (in the format @channelusername)
+     * @return A future of the result. On success, returns an Array of ChatMember objects that contains information about all chat administrators except other bots.
+     * If the chat is a group or a supergroup and no administrators were appointed, only the creator will be returned.
+     */
+    public abstract BotCallFuture<ChatMember[]> getChatAdministrators(ChatId chat_id);
+
+    /**
+     * Use this method to get the number of members in a chat.
+     *
+     * @param chat_id Unique identifier for the target chat or username of the target supergroup or channel (in the format @channelusername)
+     * @return A future of the result. On success, returns the number of members in a chat as an integer
+     */
+    public abstract BotCallFuture<Integer> getChatMembersCount(ChatId chat_id);
+
+    /**
+     * Use this method to get information about a member of a chat.
+     *
+     * @param chat_id Unique identifier for the target chat or username of the target supergroup or channel (in the format @channelusername)
+     * @param user_id Unique identifier of the target user
+     * @return A future of the result. On success, returns a ChatMember object
+     */
+    public abstract BotCallFuture<ChatMember> getChatMember(ChatId chat_id, long user_id);
+
+    /**
+     * Use this method to send answers to callback queries sent from inline keyboards.
+     * The answer will be displayed to the user as a notification at the top of the chat screen or as an alert.
+     *
+     * @param callback_query_id Unique identifier for the query to be answered
+     * @param text              Text of the notification. If not specified, nothing will be shown to the user
+     * @param show_alert        If true, an alert will be shown by the client instead of a notification at the top of the chat screen.
+     * @return A future of the result. On success, returns True.
+     */
+    public abstract BotCallFuture<Boolean> answerCallbackQuery(String callback_query_id, String text, boolean show_alert);
+
+    /**
+     * Use this method to send answers to callback queries sent from inline keyboards.
+     * The answer will be displayed to the user as a notification at the top of the chat screen or as an alert.
+     *
+     * @param callback_query_id Unique identifier for the query to be answered
+     * @param text              Text of the notification. If not specified, nothing will be shown to the user
+     * @return A future of the result. On success, returns True.
+     */
+    public BotCallFuture<Boolean> answerCallbackQuery(String callback_query_id, String text) {
+        return answerCallbackQuery(callback_query_id, text, false);
+    }
+
+    /**
+     * Use this method to send answers to callback queries sent from inline keyboards.
+     * The answer will be displayed to the user as a notification at the top of the chat screen or as an alert.
+     *
+     * @param callback_query_id Unique identifier for the query to be answered
+     * @return A future of the result. On success, returns True.
+     */
+    public BotCallFuture<Boolean> answerCallbackQuery(String callback_query_id) {
+        return answerCallbackQuery(callback_query_id, null);
+    }
+
+    /**
+     * Use this method to edit text messages sent by the bot.
+     *
+     * @param chat_id                  Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param message_id               Unique identifier of the sent message
+     * @param text                     New text of the message
+     * @param parse_mode               Send Markdown or HTML, if you want Telegram apps to show bold, italic, fixed-width text or inline URLs in your bot's message.
+     * @param disable_web_page_preview Disables link previews for links in this message
+     * @param reply_markup             A JSON-serialized object for an inline keyboard.
+     * @return A future of the result. On success, if edited message is sent by the bot, the edited Message is returned.
+     */
+    public abstract BotCallFuture<Message> editMessageText(ChatId chat_id, long message_id, String text, ParseMode parse_mode, boolean disable_web_page_preview, InlineKeyboardMarkup reply_markup);
+
+    /**
+     * Use this method to edit text messages sent by the bot.
+     *
+     * @param chat_id                  Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param message_id               Unique identifier of the sent message
+     * @param text                     New text of the message
+     * @param parse_mode               Send Markdown or HTML, if you want Telegram apps to show bold, italic, fixed-width text or inline URLs in your bot's message.
+     * @param disable_web_page_preview Disables link previews for links in this message
+     * @return A future of the result. On success, if edited message is sent by the bot, the edited Message is returned.
+     */
+    public BotCallFuture<Message> editMessageText(ChatId chat_id, long message_id, String text, ParseMode parse_mode, boolean disable_web_page_preview) {
+        return editMessageText(chat_id, message_id, text, parse_mode, disable_web_page_preview, null);
+    }
+
+    /**
+     * Use this method to edit text messages sent by the bot.
+     *
+     * @param chat_id    Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param message_id Unique identifier of the sent message
+     * @param text       New text of the message
+     * @param parse_mode Send Markdown or HTML, if you want Telegram apps to show bold, italic, fixed-width text or inline URLs in your bot's message.
+     * @return A future of the result. On success, if edited message is sent by the bot, the edited Message is returned.
+     */
+    public BotCallFuture<Message> editMessageText(ChatId chat_id, long message_id, String text, ParseMode parse_mode) {
+        return editMessageText(chat_id, message_id, text, parse_mode, false);
+    }
+
+    /**
+     * Use this method to edit text messages sent by the bot.
+     *
+     * @param chat_id    Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param message_id Unique identifier of the sent message
+     * @param text       New text of the message
+     * @return A future of the result. On success, if edited message is sent by the bot, the edited Message is returned.
+     */
+    public BotCallFuture<Message> editMessageText(ChatId chat_id, long message_id, String text) {
+        return editMessageText(chat_id, message_id, text, null);
+    }
+
+    /**
+     * Use this method to edit text messages sent via the bot (for inline bots).
+     *
+     * @param inline_message_id        Identifier of the inline message
+     * @param text                     New text of the message
+     * @param parse_mode               Send Markdown or HTML, if you want Telegram apps to show bold, italic, fixed-width text or inline URLs in your bot's message.
+     * @param disable_web_page_preview Disables link previews for links in this message
+     * @param reply_markup             A JSON-serialized object for an inline keyboard.
+     * @return A future of the result. On success, returns True.
+     */
+    public abstract BotCallFuture<Boolean> editMessageText(String inline_message_id, String text, ParseMode parse_mode, boolean disable_web_page_preview, InlineKeyboardMarkup reply_markup);
+
+    /**
+     * Use this method to edit text messages sent via the bot (for inline bots).
+     *
+     * @param inline_message_id        Identifier of the inline message
+     * @param text                     New text of the message
+     * @param parse_mode               Send Markdown or HTML, if you want Telegram apps to show bold, italic, fixed-width text or inline URLs in your bot's message.
+     * @param disable_web_page_preview Disables link previews for links in this message
+     * @return A future of the result. On success, returns True.
+     */
+    public BotCallFuture<Boolean> editMessageText(String inline_message_id, String text, ParseMode parse_mode, boolean disable_web_page_preview) {
+        return editMessageText(inline_message_id, text, parse_mode, disable_web_page_preview, null);
+    }
+
+    /**
+     * Use this method to edit text messages sent via the bot (for inline bots).
+     *
+     * @param inline_message_id Identifier of the inline message
+     * @param text              New text of the message
+     * @param parse_mode        Send Markdown or HTML, if you want Telegram apps to show bold, italic, fixed-width text or inline URLs in your bot's message.
+     * @return A future of the result. On success, returns True.
+     */
+    public BotCallFuture<Boolean> editMessageText(String inline_message_id, String text, ParseMode parse_mode) {
+        return editMessageText(inline_message_id, text, parse_mode, false);
+    }
+
+    /**
+     * Use this method to edit text messages sent via the bot (for inline bots).
+     *
+     * @param inline_message_id Identifier of the inline message
+     * @param text              New text of the message
+     * @return A future of the result. On success, returns True.
+     */
+    public BotCallFuture<Boolean> editMessageText(String inline_message_id, String text) {
+        return editMessageText(inline_message_id, text, null);
+    }
+
+    /**
+     * Use this method to edit captions of messages sent by the bot.
+     *
+     * @param chat_id      Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param message_id   Unique identifier of the sent message
+     * @param caption      New caption of the message
+     * @param reply_markup A JSON-serialized object for an inline keyboard.
+     * @return A future of the result. On success, if edited message is sent by the bot, the edited Message is returned.
+     */
+    public abstract BotCallFuture<Message> editMessageCaption(ChatId chat_id, long message_id, String caption, InlineKeyboardMarkup reply_markup);
+
+    /**
+     * Use this method to edit captions of messages sent by the bot.
+     *
+     * @param chat_id    Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param message_id Unique identifier of the sent message
+     * @param caption    New caption of the message
+     * @return A future of the result. On success, if edited message is sent by the bot, the edited Message is returned.
+     */
+    public BotCallFuture<Message> editMessageCaption(ChatId chat_id, long message_id, String caption) {
+        return editMessageCaption(chat_id, message_id, caption, null);
+    }
+
+    /**
+     * Use this method to edit captions of messages sent by the bot.
+     *
+     * @param chat_id    Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param message_id Unique identifier of the sent message
+     * @return A future of the result. On success, if edited message is sent by the bot, the edited Message is returned.
+     */
+    public BotCallFuture<Message> editMessageCaption(ChatId chat_id, long message_id) {
+        return editMessageCaption(chat_id, message_id, null);
+    }
+
+    /**
+     * Use this method to edit captions of messages sent via the bot (for inline bots).
+     *
+     * @param inline_message_id Identifier of the inline message
+     * @param caption           New caption of the message
+     * @param reply_markup      A JSON-serialized object for an inline keyboard.
+     * @return A future of the result. On success, returns True.
+     */
+    public abstract BotCallFuture<Boolean> editMessageCaption(String inline_message_id, String caption, InlineKeyboardMarkup reply_markup);
+
+    /**
+     * Use this method to edit captions of messages sent via the bot (for inline bots).
+     *
+     * @param inline_message_id Identifier of the inline message
+     * @param caption           New caption of the message
+     * @return A future of the result. On success, returns True.
+     */
+    public BotCallFuture<Boolean> editMessageCaption(String inline_message_id, String caption) {
+        return editMessageCaption(inline_message_id, caption, null);
+    }
+
+    /**
+     * Use this method to edit captions of messages sent via the bot (for inline bots).
+     *
+     * @param inline_message_id Identifier of the inline message
+     * @return A future of the result. On success, returns True.
+     */
+    public BotCallFuture<Boolean> editMessageCaption(String inline_message_id) {
+        return editMessageCaption(inline_message_id, null);
+    }
+
+    /**
+     * Use this method to edit only the reply markup of messages sent by the bot.
+     *
+     * @param chat_id      Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param message_id   Unique identifier of the sent message
+     * @param reply_markup A JSON-serialized object for an inline keyboard.
+     * @return A future of the result. On success, if edited message is sent by the bot, the edited Message is returned.
+     */
+    public abstract BotCallFuture<Message> editMessageReplyMarkup(ChatId chat_id, long message_id, InlineKeyboardMarkup reply_markup);
+
+    /**
+     * Use this method to edit only the reply markup of messages sent by the bot.
+     *
+     * @param chat_id    Unique identifier for the target chat or username of the target channel (in the format @channelusername)
+     * @param message_id Unique identifier of the sent message
+     * @return A future of the result. On success, if edited message is sent by the bot, the edited Message is returned.
+     */
+    public BotCallFuture<Message> editMessageReplyMarkup(ChatId chat_id, long message_id) {
+        return editMessageReplyMarkup(chat_id, message_id, null);
+    }
+
+    /**
+     * Use this method to edit only the reply markup of messages sent via the bot (for inline bots).
+     *
+     * @param inline_message_id Identifier of the inline message
+     * @param reply_markup      A JSON-serialized object for an inline keyboard.
+     * @return A future of the result. On success, returns True.
+     */
+    public abstract BotCallFuture<Boolean> editMessageReplyMarkup(String inline_message_id, InlineKeyboardMarkup reply_markup);
+
+    /**
+     * Use this method to edit only the reply markup of messages sent via the bot (for inline bots).
+     *
+     * @param inline_message_id Identifier of the inline message
+     * @return A future of the result. On success, returns True.
+     */
+    public BotCallFuture<Boolean> editMessageReplyMarkup(String inline_message_id) {
+        return editMessageReplyMarkup(inline_message_id, null);
+    }
+}
@@ -0,0 +1,233 @@
+package me.shib.java.lib.jtelebot.service;
+
+import me.shib.java.lib.jtelebot.models.types.InputFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A call to a Bot API method along with its parameters, as handed over to a BotServiceTransport.
+ */
+public final class BotApiRequest {
+
+    private String methodName;
+    private Map<String, String> parameters;
+    private Map<String, InputFile> uploads;
+    private OutboundPriority priority;
+    private volatile long deadlineNanos;
+    private IOException abortCause;
+    private Runnable abortAction;
+
+    BotApiRequest(String methodName) {
+        this.methodName = methodName;
+        this.priority = OutboundPriority.INTERACTIVE;
+        this.parameters = new LinkedHashMap<>();
+        this.uploads = new LinkedHashMap<>();
+    }
+
+    void addParameter(String name, String value) {
+        parameters.put(name, value);
+    }
+
+    void addParameter(String name, InputFile upload) {
+        uploads.put(name, upload);
+    }
+
+    void setPriority(OutboundPriority priority) {
+        this.priority = priority;
+    }
+
+    /**
+     * @return a new request for the same call, which can be sent and aborted independently of this one
+     */
+    BotApiRequest copy() {
+        BotApiRequest copy = new BotApiRequest(methodName);
+        copy.parameters.putAll(parameters);
+        copy.uploads.putAll(uploads);
+        copy.priority = priority;
+        copy.deadlineNanos = deadlineNanos;
+        return copy;
+    }
+
+    void setDeadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    boolean isPastDeadlineAfter(long delayMillis) {
+        long deadline = deadlineNanos;
+        return (deadline != 0) && ((System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMillis) - deadline) >= 0);
+    }
+
+    /**
+     * Registers how the transport sending the call can abort it, e.g. by closing its connection.
+     *
+     * @param abortAction the action to run if the call is aborted before the action is cleared
+     * @return false if the call has already been aborted, in which case it must not be sent
+     */
+    synchronized boolean setAbortAction(Runnable abortAction) {
+        if (null != abortCause) {
+            return false;
+        }
+        this.abortAction = abortAction;
+        return true;
+    }
+
+    synchronized void clearAbortAction() {
+        this.abortAction = null;
+    }
+
+    /**
+     * Aborts the call, running the abort action of the transport that is sending it. Only the first cause is kept.
+     */
+    void abort(IOException cause) {
+        Runnable action;
+        synchronized (this) {
+            if (null != abortCause) {
+                return;
+            }
+            abortCause = cause;
+            action = abortAction;
+            abortAction = null;
+            notifyAll();
+        }
+        if (null != action) {
+            action.run();
+        }
+    }
+
+    /**
+     * Waits for the given time unless the call is aborted first.
+     *
+     * @return true if the call was aborted, false if the time passed
+     */
+    synchronized boolean awaitAbort(long waitNanos) throws InterruptedException {
+        long end = System.nanoTime() + waitNanos;
+        while (null == abortCause) {
+            long left = end - System.nanoTime();
+            if (left <= 0) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, left);
+        }
+        return true;
+    }
+
+    /**
+     * @return the time left before the deadline in nanoseconds, 0 if it has passed, or Long.MAX_VALUE if the call has no deadline
+     */
+    long getRemainingNanos() {
+        long deadline = deadlineNanos;
+        if (deadline == 0) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, deadline - System.nanoTime());
+    }
+
+    synchronized IOException getAbortCause() {
+        return abortCause;
+    }
+
+    /**
+     * @return true if the call has been aborted because it passed its deadline or was cancelled
+     */
+    public synchronized boolean isAborted() {
+        return null != abortCause;
+    }
+
+    /**
+     * @return the time left before the call is aborted in milliseconds, at least 1, or 0 if the call has no deadline
+     */
+    public long getTimeoutMillis() {
+        long deadline = deadlineNanos;
+        if (deadline == 0) {
+            return 0;
+        }
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+    }
+
+    /**
+     * @return the name of the Bot API method, e.g. sendMessage
+     */
+    public String getMethodName() {
+        return methodName;
+    }
+
+    /**
+     * @return the text parameters of the call
+     */
+    public Map<String, String> getParameters() {
+        return Collections.unmodifiableMap(parameters);
+    }
+
+    /**
+     * @param name the name of the parameter
+     * @return the value of the text parameter, or null if it is not set
+     */
+    public String getParameter(String name) {
+        return parameters.get(name);
+    }
+
+    /**
+     * @return the files on disk to be uploaded with the call. Uploads held in memory or read from a stream are left out, see getUploads.
+     */
+    public Map<String, File> getFiles() {
+        Map<String, File> files = new LinkedHashMap<>();
+        for (Map.Entry<String, InputFile> upload : uploads.entrySet()) {
+            if (null != upload.getValue().getFile()) {
+                files.put(upload.getKey(), upload.getValue().getFile());
+            }
+        }
+        return Collections.unmodifiableMap(files);
+    }
+
+    /**
+     * @return the contents to be uploaded with the call, whether files on disk, held in memory or read from a stream
+     */
+    public Map<String, InputFile> getUploads() {
+        return Collections.unmodifiableMap(uploads);
+    }
+
+    /**
+     * @return the priority class of the call
+     */
+    public OutboundPriority getPriority() {
+        return priority;
+    }
+
+    /**
+     * @return true if the call uploads files and has to be sent as multipart/form-data
+     */
+    public boolean isMultipart() {
+        return !uploads.isEmpty();
+    }
+
+    /**
+     * @return true if the call can be sent again, false if it uploads contents read from a stream, which can only be read once
+     */
+    public boolean isRepeatable() {
+        for (InputFile upload : uploads.values()) {
+            if (!upload.isRepeatable()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    byte[] toFormBody() throws UnsupportedEncodingException {
+        StringBuilder form = new StringBuilder();
+        for (Map.Entry<String, String> parameter : parameters.entrySet()) {
+            if (form.length() > 0) {
+                form.append('&');
+            }
+            form.append(URLEncoder.encode(parameter.getKey(), "UTF-8")).append('=')
+                    .append(URLEncoder.encode(parameter.getValue(), "UTF-8"));
+        }
+        return form.toString().getBytes("UTF-8");
+    }
+}
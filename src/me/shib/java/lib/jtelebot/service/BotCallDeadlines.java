@@ -0,0 +1,98 @@
+package me.shib.java.lib.jtelebot.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The time each Bot API call of a bot is allowed to take, including its retries, before it is aborted.
+ * An aborted call closes its connection, so a hung socket fails the call instead of holding a thread and a connection indefinitely.
+ * getUpdates is given its long poll timeout plus a grace period unless a deadline is set for it explicitly.
+ */
+public final class BotCallDeadlines {
+
+    private static final long defaultApiDeadline = 30000;
+    private static final long defaultUploadDeadline = 300000;
+    private static final long longPollGraceMillis = 15000;
+
+    private long apiDeadlineMillis;
+    private long uploadDeadlineMillis;
+    private ConcurrentMap<String, Long> methodDeadlines;
+
+    /**
+     * Creates deadlines with the given defaults. A deadline of 0 means calls are never aborted.
+     *
+     * @param apiDeadlineMillis    the deadline of API calls in milliseconds
+     * @param uploadDeadlineMillis the deadline of calls that upload a file in milliseconds
+     */
+    public BotCallDeadlines(long apiDeadlineMillis, long uploadDeadlineMillis) {
+        if ((apiDeadlineMillis < 0) || (uploadDeadlineMillis < 0)) {
+            throw new IllegalArgumentException("Deadlines cannot be negative");
+        }
+        this.apiDeadlineMillis = apiDeadlineMillis;
+        this.uploadDeadlineMillis = uploadDeadlineMillis;
+        this.methodDeadlines = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Creates deadlines of 30 seconds for API calls and 5 minutes for file uploads.
+     */
+    public BotCallDeadlines() {
+        this(defaultApiDeadline, defaultUploadDeadline);
+    }
+
+    /**
+     * Sets the deadline of a Bot API method, overriding the defaults.
+     *
+     * @param methodName     the name of the Bot API method, e.g. sendMessage
+     * @param deadlineMillis the deadline in milliseconds, or 0 to never abort calls of the method
+     */
+    public void setDeadline(String methodName, long deadlineMillis) {
+        if (deadlineMillis < 0) {
+            throw new IllegalArgumentException("Deadline cannot be negative");
+        }
+        methodDeadlines.put(methodName, deadlineMillis);
+    }
+
+    /**
+     * Removes the deadline set for a Bot API method, so that the defaults apply again.
+     *
+     * @param methodName the name of the Bot API method
+     */
+    public void clearDeadline(String methodName) {
+        methodDeadlines.remove(methodName);
+    }
+
+    /**
+     * @return the deadline of API calls in milliseconds, 0 if they are never aborted
+     */
+    public long getApiDeadlineMillis() {
+        return apiDeadlineMillis;
+    }
+
+    /**
+     * @return the deadline of calls that upload a file in milliseconds, 0 if they are never aborted
+     */
+    public long getUploadDeadlineMillis() {
+        return uploadDeadlineMillis;
+    }
+
+    long deadlineFor(BotApiRequest request) {
+        Long methodDeadline = methodDeadlines.get(request.getMethodName());
+        if (null != methodDeadline) {
+            return methodDeadline;
+        }
+        if ("getUpdates".equals(request.getMethodName())) {
+            String timeout = request.getParameter("timeout");
+            long longPollMillis = 0;
+            if (null != timeout) {
+                try {
+                    longPollMillis = Long.parseLong(timeout) * 1000;
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+            return (apiDeadlineMillis > 0) ? (longPollMillis + longPollGraceMillis) : 0;
+        }
+        return request.isMultipart() ? uploadDeadlineMillis : apiDeadlineMillis;
+    }
+}
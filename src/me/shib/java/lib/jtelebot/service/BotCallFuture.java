@@ -0,0 +1,183 @@
+package me.shib.java.lib.jtelebot.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Logger;
+
+/**
+ * The pending result of an asynchronous Bot API call. Callbacks can be added at any time, and run on the callback executor
+ * of the bot once the call completes, so a handler can fan out many calls and react to each without blocking on them.
+ *
+ * @param <T> the type of the result of the call
+ */
+public final class BotCallFuture<T> implements Future<T> {
+
+    private static Logger logger = Logger.getLogger(BotCallFuture.class.getName());
+
+    private static final int pending = 0;
+    private static final int succeeded = 1;
+    private static final int failed = 2;
+    private static final int cancelled = 3;
+
+    private Executor callbackExecutor;
+    private CountDownLatch done;
+    private List<BotCallback<? super T>> callbacks;
+    private int state;
+    private T result;
+    private Throwable failure;
+    private Runnable cancelAction;
+
+    BotCallFuture(Executor callbackExecutor) {
+        this.callbackExecutor = callbackExecutor;
+        this.done = new CountDownLatch(1);
+        this.callbacks = new ArrayList<>();
+        this.state = pending;
+    }
+
+    /**
+     * Adds a callback to be notified when the call completes. If the call has already completed, the callback is notified right away.
+     *
+     * @param callback the callback to be notified
+     */
+    public void addCallback(BotCallback<? super T> callback) {
+        synchronized (this) {
+            if (state == pending) {
+                callbacks.add(callback);
+                return;
+            }
+        }
+        notifyCallback(callback);
+    }
+
+    boolean complete(T result) {
+        return settle(succeeded, result, null);
+    }
+
+    boolean fail(Throwable failure) {
+        return settle(failed, null, failure);
+    }
+
+    void setCancelAction(Runnable cancelAction) {
+        synchronized (this) {
+            if (state != cancelled) {
+                this.cancelAction = cancelAction;
+                return;
+            }
+        }
+        cancelAction.run();
+    }
+
+    /**
+     * Cancels the call. A request that is being sent is aborted and its connection closed,
+     * and a request that has already been answered has its response ignored.
+     *
+     * @param mayInterruptIfRunning ignored, as the call is aborted by closing its connection instead of by interrupting a thread
+     * @return true if the call was cancelled, false if it had already completed
+     */
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        if (!settle(cancelled, null, new CancellationException("Call cancelled"))) {
+            return false;
+        }
+        Runnable action;
+        synchronized (this) {
+            action = cancelAction;
+            cancelAction = null;
+        }
+        if (null != action) {
+            action.run();
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized boolean isCancelled() {
+        return state == cancelled;
+    }
+
+    @Override
+    public synchronized boolean isDone() {
+        return state != pending;
+    }
+
+    @Override
+    public T get() throws InterruptedException, ExecutionException {
+        done.await();
+        return report();
+    }
+
+    @Override
+    public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+        if (!done.await(timeout, unit)) {
+            throw new TimeoutException("Call did not complete in time");
+        }
+        return report();
+    }
+
+    private synchronized T report() throws ExecutionException {
+        if (state == succeeded) {
+            return result;
+        }
+        if (state == cancelled) {
+            throw new CancellationException("Call cancelled");
+        }
+        throw new ExecutionException(failure);
+    }
+
+    private boolean settle(int newState, T result, Throwable failure) {
+        List<BotCallback<? super T>> toNotify;
+        synchronized (this) {
+            if (state != pending) {
+                return false;
+            }
+            this.state = newState;
+            this.result = result;
+            this.failure = failure;
+            toNotify = callbacks;
+            callbacks = null;
+        }
+        done.countDown();
+        for (BotCallback<? super T> callback : toNotify) {
+            notifyCallback(callback);
+        }
+        return true;
+    }
+
+    private void notifyCallback(final BotCallback<? super T> callback) {
+        Runnable notification = new Runnable() {
+            @Override
+            public void run() {
+                int completedState;
+                T completedResult;
+                Throwable completedFailure;
+                synchronized (BotCallFuture.this) {
+                    completedState = state;
+                    completedResult = result;
+                    completedFailure = failure;
+                }
+                try {
+                    if (completedState == succeeded) {
+                        callback.onSuccess(completedResult);
+                    } else {
+                        callback.onFailure(completedFailure);
+                    }
+                } catch (RuntimeException e) {
+                    logger.throwing(this.getClass().getName(), "run", e);
+                }
+            }
+        };
+        try {
+            callbackExecutor.execute(notification);
+        } catch (RejectedExecutionException e) {
+            notification.run();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package me.shib.java.lib.jtelebot.service;
+
+/**
+ * Receives the outcome of an asynchronous Bot API call made through AsyncTelegramBot.
+ *
+ * @param <T> the type of the result of the call
+ */
+public interface BotCallback<T> {
+
+    /**
+     * Invoked when the Bot API responds. As with the blocking methods of TelegramBot, a call rejected by the API
+     * completes with null, false or 0 rather than failing.
+     *
+     * @param result the result of the call
+     */
+    void onSuccess(T result);
+
+    /**
+     * Invoked when the call cannot be completed, e.g. on connection failures or when the call is cancelled.
+     *
+     * @param error the cause of the failure
+     */
+    void onFailure(Throwable error);
+
+}
@@ -0,0 +1,25 @@
+package me.shib.java.lib.jtelebot.service;
+
+import java.io.IOException;
+
+/**
+ * Thrown when a Bot API method is not called because its circuit breaker is open after a cluster of failures.
+ */
+public final class BotCircuitOpenException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    private String methodName;
+
+    BotCircuitOpenException(String methodName) {
+        super("Circuit breaker is open for " + methodName);
+        this.methodName = methodName;
+    }
+
+    /**
+     * @return the name of the Bot API method whose calls are being rejected
+     */
+    public String getMethodName() {
+        return methodName;
+    }
+}
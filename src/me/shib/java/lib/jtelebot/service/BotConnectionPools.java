@@ -0,0 +1,125 @@
+package me.shib.java.lib.jtelebot.service;
+
+/**
+ * Keeps the long poll, API call and file traffic of a bot apart so they never wait on each other.
+ * getUpdates holds a dedicated connection for the length of the long poll, ordinary API calls share a wide pool,
+ * and file uploads and downloads run on a small pool of their own with optional admission control of download starts,
+ * so a large download never delays a time-critical call like answerCallbackQuery.
+ */
+public final class BotConnectionPools {
+
+    private static final int defaultApiConnections = 32;
+    private static final int defaultUploadConnections = 4;
+    private static final int defaultDownloadThreads = 4;
+    private static final int defaultConnectTimeout = 10000;
+    private static final int defaultApiReadTimeout = 60000;
+    private static final int defaultLongPollReadTimeout = 330000;
+    private static final int defaultFileReadTimeout = 300000;
+
+    private BotServiceTransport updateTransport;
+    private BotServiceTransport apiTransport;
+    private BotServiceTransport uploadTransport;
+    private DownloadManager downloadManager;
+
+    /**
+     * Creates the pools from the given transports and download manager.
+     *
+     * @param updateTransport the transport for getUpdates. Only one long poll is made at a time, so one connection is enough.
+     * @param apiTransport    the transport for all other API calls
+     * @param uploadTransport the transport for calls that upload a file
+     * @param downloadManager the manager running file downloads. Share one manager between bots to share its admission rate.
+     */
+    public BotConnectionPools(BotServiceTransport updateTransport, BotServiceTransport apiTransport,
+                              BotServiceTransport uploadTransport, DownloadManager downloadManager) {
+        if ((null == updateTransport) || (null == apiTransport) || (null == uploadTransport)) {
+            throw new IllegalArgumentException("Transports cannot be null");
+        }
+        if (null == downloadManager) {
+            throw new IllegalArgumentException("Download manager cannot be null");
+        }
+        this.updateTransport = updateTransport;
+        this.apiTransport = apiTransport;
+        this.uploadTransport = uploadTransport;
+        this.downloadManager = downloadManager;
+    }
+
+    /**
+     * Creates the pools from the given transports.
+     *
+     * @param updateTransport        the transport for getUpdates. Only one long poll is made at a time, so one connection is enough.
+     * @param apiTransport           the transport for all other API calls
+     * @param uploadTransport        the transport for calls that upload a file
+     * @param downloadThreads                the maximum number of file downloads running at once
+     * @param admittedDownloadBytesPerSecond the rate at which the sizes of starting downloads are admitted, or 0 to start them right away.
+     *                                       This spaces out the starts of downloads and does not cap their throughput.
+     */
+    public BotConnectionPools(BotServiceTransport updateTransport, BotServiceTransport apiTransport,
+                              BotServiceTransport uploadTransport, int downloadThreads, long admittedDownloadBytesPerSecond) {
+        this(updateTransport, apiTransport, uploadTransport, new DownloadManager(downloadThreads, admittedDownloadBytesPerSecond));
+    }
+
+    /**
+     * Creates pools that send every call through the same transport, with only the downloads kept apart.
+     *
+     * @param transport the transport for all API calls
+     */
+    public BotConnectionPools(BotServiceTransport transport) {
+        this(transport, transport, transport, defaultDownloadThreads, 0);
+    }
+
+    /**
+     * Creates the default pools with the given download admission rate: a single connection for the long poll,
+     * up to 32 connections for API calls, and up to 4 uploads and 4 downloads at once.
+     *
+     * @param admittedDownloadBytesPerSecond the rate at which the sizes of starting downloads are admitted, or 0 to start them right away.
+     *                                       This spaces out the starts of downloads and does not cap their throughput.
+     */
+    public BotConnectionPools(long admittedDownloadBytesPerSecond) {
+        this(newLongPollTransport(),
+                new PooledHttpTransport(defaultApiConnections, defaultConnectTimeout, defaultApiReadTimeout),
+                new PooledHttpTransport(defaultUploadConnections, defaultConnectTimeout, defaultFileReadTimeout),
+                defaultDownloadThreads, admittedDownloadBytesPerSecond);
+    }
+
+    /**
+     * Creates the default pools, starting every download right away.
+     */
+    public BotConnectionPools() {
+        this(0);
+    }
+
+    /**
+     * @return a transport with a single connection whose read timeout outlasts the longest long poll
+     */
+    static BotServiceTransport newLongPollTransport() {
+        return new PooledHttpTransport(1, defaultConnectTimeout, defaultLongPollReadTimeout);
+    }
+
+    /**
+     * @return the transport for getUpdates
+     */
+    public BotServiceTransport getUpdateTransport() {
+        return updateTransport;
+    }
+
+    /**
+     * @return the transport for API calls
+     */
+    public BotServiceTransport getApiTransport() {
+        return apiTransport;
+    }
+
+    /**
+     * @return the transport for calls that upload a file
+     */
+    public BotServiceTransport getUploadTransport() {
+        return uploadTransport;
+    }
+
+    /**
+     * @return the manager running file downloads
+     */
+    public DownloadManager getDownloadManager() {
+        return downloadManager;
+    }
+}
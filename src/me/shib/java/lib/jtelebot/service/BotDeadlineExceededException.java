@@ -0,0 +1,25 @@
+package me.shib.java.lib.jtelebot.service;
+
+import java.net.SocketTimeoutException;
+
+/**
+ * Thrown when a Bot API call, including its retries, does not complete within the deadline set for its method.
+ */
+public final class BotDeadlineExceededException extends SocketTimeoutException {
+
+    private static final long serialVersionUID = 1L;
+
+    private String methodName;
+
+    BotDeadlineExceededException(String methodName, long deadlineMillis) {
+        super("Call to " + methodName + " did not complete within " + deadlineMillis + " ms");
+        this.methodName = methodName;
+    }
+
+    /**
+     * @return the name of the Bot API method whose call timed out
+     */
+    public String getMethodName() {
+        return methodName;
+    }
+}
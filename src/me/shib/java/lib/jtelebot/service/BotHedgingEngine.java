@@ -0,0 +1,138 @@
+package me.shib.java.lib.jtelebot.service;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Applies a BotHedgingPolicy to the calls of a bot, keeping a window of recent latencies for every hedged method.
+ * It also counts the hedged calls in flight and the second requests among them, so that second requests stay
+ * within the maximum hedge ratio of the policy even when the API slows down for every call at once.
+ */
+final class BotHedgingEngine {
+
+    private static final int latencyWindow = 128;
+    private static final int minimumSamples = 16;
+    private static final int refreshInterval = 16;
+
+    private final BotHedgingPolicy policy;
+    private final ConcurrentMap<String, LatencyWindow> latencies;
+    private final AtomicInteger callsInFlight;
+    private final AtomicInteger hedgesInFlight;
+
+    BotHedgingEngine(BotHedgingPolicy policy) {
+        this.policy = policy;
+        this.latencies = new ConcurrentHashMap<>();
+        this.callsInFlight = new AtomicInteger();
+        this.hedgesInFlight = new AtomicInteger();
+    }
+
+    BotHedgingPolicy getPolicy() {
+        return policy;
+    }
+
+    boolean appliesTo(BotApiRequest request) {
+        return policy.getMethodNames().contains(request.getMethodName()) && !request.isMultipart();
+    }
+
+    /**
+     * @return how long to wait for the first request of a call before sending the second one
+     */
+    long hedgeDelayMillis(String methodName) {
+        long percentile = getWindow(methodName).percentile();
+        if (percentile < 0) {
+            return Math.max(policy.getInitialDelayMillis(), policy.getMinDelayMillis());
+        }
+        return Math.max(percentile, policy.getMinDelayMillis());
+    }
+
+    void callStarted() {
+        callsInFlight.incrementAndGet();
+    }
+
+    /**
+     * @param hedged whether a second request was sent for the call
+     */
+    void callFinished(boolean hedged) {
+        if (hedged) {
+            hedgesInFlight.decrementAndGet();
+        }
+        callsInFlight.decrementAndGet();
+    }
+
+    /**
+     * Takes room for a second request if the hedges in flight stay within the maximum hedge ratio of the calls in flight,
+     * rounded up so that a lone slow call can still be hedged.
+     *
+     * @return true if the second request can be sent, false if it has to be skipped
+     */
+    boolean tryStartHedge() {
+        while (true) {
+            int hedges = hedgesInFlight.get();
+            if (hedges >= Math.ceil(policy.getMaxHedgeRatio() * callsInFlight.get())) {
+                return false;
+            }
+            if (hedgesInFlight.compareAndSet(hedges, hedges + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void recordLatency(String methodName, long latencyMillis) {
+        getWindow(methodName).record(latencyMillis);
+    }
+
+    private LatencyWindow getWindow(String methodName) {
+        LatencyWindow window = latencies.get(methodName);
+        if (null == window) {
+            window = new LatencyWindow(policy.getLatencyPercentile());
+            LatencyWindow existing = latencies.putIfAbsent(methodName, window);
+            if (null != existing) {
+                window = existing;
+            }
+        }
+        return window;
+    }
+
+    /**
+     * A ring of the latest latencies of a method. The percentile is recomputed every few samples rather than on every call.
+     */
+    private static final class LatencyWindow {
+
+        private final double percentile;
+        private final long[] samples;
+        private int count;
+        private int next;
+        private int sinceRefresh;
+        private long cachedPercentile;
+
+        private LatencyWindow(double percentile) {
+            this.percentile = percentile;
+            this.samples = new long[latencyWindow];
+            this.cachedPercentile = -1;
+        }
+
+        private synchronized void record(long latencyMillis) {
+            samples[next] = latencyMillis;
+            next = (next + 1) % samples.length;
+            if (count < samples.length) {
+                count++;
+            }
+            if ((++sinceRefresh >= refreshInterval) && (count >= minimumSamples)) {
+                sinceRefresh = 0;
+                long[] sorted = Arrays.copyOf(samples, count);
+                Arrays.sort(sorted);
+                int index = (int) Math.ceil(percentile * count) - 1;
+                cachedPercentile = sorted[Math.max(0, Math.min(index, count - 1))];
+            }
+        }
+
+        /**
+         * @return the latency percentile in milliseconds, or -1 if too few latencies have been recorded
+         */
+        private synchronized long percentile() {
+            return cachedPercentile;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package me.shib.java.lib.jtelebot.service;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Decides which idempotent read calls are hedged, and when. If the first request of a hedged call has not been answered
+ * within the given latency percentile of recent calls to its method, a second request is sent, the first response wins
+ * and the other request is aborted. Only reads are hedged, as sending a message twice would deliver it twice.
+ * Second requests in flight are capped at a fraction of the hedged calls in flight, so hedging cannot double the load
+ * when the API slows down for every call.
+ */
+public final class BotHedgingPolicy {
+
+    private static final double defaultLatencyPercentile = 0.95;
+    private static final long defaultInitialDelay = 500;
+    private static final long defaultMinDelay = 50;
+    private static final double defaultMaxHedgeRatio = 0.1;
+    /**
+     * The reads that are safe to send twice or to share between callers. Hedged by default, and coalesced when read coalescing is enabled.
+     */
+    static final Set<String> idempotentReads = Collections.unmodifiableSet(
+            new HashSet<>(Arrays.asList("getChat", "getChatMember", "getFile", "getMe")));
+
+    private double latencyPercentile;
+    private long initialDelayMillis;
+    private long minDelayMillis;
+    private double maxHedgeRatio;
+    private Set<String> methodNames;
+
+    /**
+     * Creates a hedging policy.
+     *
+     * @param latencyPercentile  the percentile of recent latencies after which the second request is sent, between 0 and 1, e.g. 0.95
+     * @param initialDelayMillis the delay before the second request while too few latencies of the method have been recorded
+     * @param minDelayMillis     the shortest delay before the second request, so fast methods are not always sent twice
+     * @param maxHedgeRatio      the most second requests in flight, as a fraction of the hedged calls in flight, between 0 and 1,
+     *                           e.g. 0.1. Rounded up, so a lone slow call can always be hedged.
+     * @param methodNames        the Bot API methods to hedge. They must be safe to call twice.
+     */
+    public BotHedgingPolicy(double latencyPercentile, long initialDelayMillis, long minDelayMillis, double maxHedgeRatio,
+                            Collection<String> methodNames) {
+        if ((latencyPercentile <= 0) || (latencyPercentile > 1)) {
+            throw new IllegalArgumentException("Latency percentile must be greater than 0 and at most 1");
+        }
+        if ((initialDelayMillis < 0) || (minDelayMillis < 0)) {
+            throw new IllegalArgumentException("Hedging delays cannot be negative");
+        }
+        if ((maxHedgeRatio <= 0) || (maxHedgeRatio > 1)) {
+            throw new IllegalArgumentException("Maximum hedge ratio must be greater than 0 and at most 1");
+        }
+        this.latencyPercentile = latencyPercentile;
+        this.initialDelayMillis = initialDelayMillis;
+        this.minDelayMillis = minDelayMillis;
+        this.maxHedgeRatio = maxHedgeRatio;
+        this.methodNames = Collections.unmodifiableSet(new HashSet<>(methodNames));
+    }
+
+    /**
+     * Creates a hedging policy that lets at most a tenth of the hedged calls in flight send a second request.
+     *
+     * @param latencyPercentile  the percentile of recent latencies after which the second request is sent, between 0 and 1, e.g. 0.95
+     * @param initialDelayMillis the delay before the second request while too few latencies of the method have been recorded
+     * @param minDelayMillis     the shortest delay before the second request, so fast methods are not always sent twice
+     * @param methodNames        the Bot API methods to hedge. They must be safe to call twice.
+     */
+    public BotHedgingPolicy(double latencyPercentile, long initialDelayMillis, long minDelayMillis, Collection<String> methodNames) {
+        this(latencyPercentile, initialDelayMillis, minDelayMillis, defaultMaxHedgeRatio, methodNames);
+    }
+
+    /**
+     * Creates a hedging policy for getChat, getChatMember, getFile and getMe.
+     *
+     * @param latencyPercentile the percentile of recent latencies after which the second request is sent, between 0 and 1, e.g. 0.95
+     */
+    public BotHedgingPolicy(double latencyPercentile) {
+        this(latencyPercentile, defaultInitialDelay, defaultMinDelay, idempotentReads);
+    }
+
+    /**
+     * Creates the default hedging policy, which sends a second request for getChat, getChatMember, getFile and getMe
+     * once the first has taken longer than 95% of recent calls, or 500 milliseconds until enough calls have been seen,
+     * with at most a tenth of the hedged calls in flight sending a second request.
+     */
+    public BotHedgingPolicy() {
+        this(defaultLatencyPercentile);
+    }
+
+    /**
+     * @return the percentile of recent latencies after which the second request is sent
+     */
+    public double getLatencyPercentile() {
+        return latencyPercentile;
+    }
+
+    /**
+     * @return the delay before the second request while too few latencies of the method have been recorded
+     */
+    public long getInitialDelayMillis() {
+        return initialDelayMillis;
+    }
+
+    /**
+     * @return the shortest delay before the second request
+     */
+    public long getMinDelayMillis() {
+        return minDelayMillis;
+    }
+
+    /**
+     * @return the most second requests in flight, as a fraction of the hedged calls in flight
+     */
+    public double getMaxHedgeRatio() {
+        return maxHedgeRatio;
+    }
+
+    /**
+     * @return the Bot API methods that are hedged
+     */
+    public Set<String> getMethodNames() {
+        return methodNames;
+    }
+}
@@ -0,0 +1,136 @@
+package me.shib.java.lib.jtelebot.service;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps the messages sent by a bot just under the limits of Telegram: about 30 messages per second overall,
+ * 1 message per second to a private chat and 20 messages per minute to a group or channel.
+ * The limits apply to the send and edit methods, except sendChatAction. A call first waits for its chat's bucket and then for the global bucket,
+ * so a busy chat does not hold back the others. Groups are recognized by their negative identifiers, channels by their @username.
+ * The buckets are lock-free and kept in a concurrent map, so a limiter can be shared by all the threads and bots using the same token.
+ */
+public final class BotRateLimiter {
+
+    private static final int defaultGlobalPerSecond = 30;
+    private static final int defaultPrivateChatPerSecond = 1;
+    private static final int defaultGroupPerMinute = 20;
+    private static final int sweepInterval = 4096;
+    private static final int sweepThreshold = 1024;
+    private static final long idleBucketNanos = TimeUnit.MINUTES.toNanos(1);
+
+    private long privateChatIntervalNanos;
+    private long groupIntervalNanos;
+    private TokenBucket globalBucket;
+    private ConcurrentMap<String, TokenBucket> chatBuckets;
+    private AtomicInteger reservationCount;
+
+    /**
+     * Creates a rate limiter with the given limits.
+     *
+     * @param globalPerSecond      the maximum number of messages per second across all chats
+     * @param privateChatPerSecond the maximum number of messages per second to a single private chat
+     * @param groupPerMinute       the maximum number of messages per minute to a single group or channel
+     */
+    public BotRateLimiter(int globalPerSecond, int privateChatPerSecond, int groupPerMinute) {
+        if ((globalPerSecond < 1) || (privateChatPerSecond < 1) || (groupPerMinute < 1)) {
+            throw new IllegalArgumentException("Rate limits must be greater than 0");
+        }
+        this.privateChatIntervalNanos = TimeUnit.SECONDS.toNanos(1) / privateChatPerSecond;
+        this.groupIntervalNanos = TimeUnit.MINUTES.toNanos(1) / groupPerMinute;
+        this.globalBucket = new TokenBucket(TimeUnit.SECONDS.toNanos(1) / globalPerSecond, 1);
+        this.chatBuckets = new ConcurrentHashMap<>();
+        this.reservationCount = new AtomicInteger();
+    }
+
+    /**
+     * Creates a rate limiter with Telegram's limits of 30 messages per second overall, 1 per second per private chat and 20 per minute per group.
+     */
+    public BotRateLimiter() {
+        this(defaultGlobalPerSecond, defaultPrivateChatPerSecond, defaultGroupPerMinute);
+    }
+
+    boolean appliesTo(BotApiRequest request) {
+        String methodName = request.getMethodName();
+        return (methodName.startsWith("send") && !"sendChatAction".equals(methodName))
+                || methodName.startsWith("edit") || "forwardMessage".equals(methodName);
+    }
+
+    long peekChat(String chatId, long now) {
+        if ((null == chatId) || chatId.isEmpty()) {
+            return 0;
+        }
+        TokenBucket bucket = chatBuckets.get(chatId);
+        return (null == bucket) ? 0 : bucket.peek(now);
+    }
+
+    long reserveChat(String chatId) {
+        return reserveChat(chatId, Long.MAX_VALUE);
+    }
+
+    /**
+     * @return the time to wait in nanoseconds before sending to the chat, or -1 if nothing was reserved because the wait would be longer than maxWaitNanos
+     */
+    long reserveChat(String chatId, long maxWaitNanos) {
+        if ((null == chatId) || chatId.isEmpty()) {
+            return 0;
+        }
+        TokenBucket bucket = chatBuckets.get(chatId);
+        if (null == bucket) {
+            boolean group = chatId.startsWith("-") || chatId.startsWith("@");
+            bucket = new TokenBucket(group ? groupIntervalNanos : privateChatIntervalNanos, 1);
+            TokenBucket existing = chatBuckets.putIfAbsent(chatId, bucket);
+            if (null != existing) {
+                bucket = existing;
+            }
+        }
+        if (((reservationCount.incrementAndGet() % sweepInterval) == 0) && (chatBuckets.size() > sweepThreshold)) {
+            sweepIdleBuckets();
+        }
+        return bucket.tryReserve(1, maxWaitNanos);
+    }
+
+    void releaseChat(String chatId) {
+        if ((null == chatId) || chatId.isEmpty()) {
+            return;
+        }
+        TokenBucket bucket = chatBuckets.get(chatId);
+        if (null != bucket) {
+            bucket.release(1);
+        }
+    }
+
+    long peekGlobal(long now) {
+        return globalBucket.peek(now);
+    }
+
+    long reserveGlobal() {
+        return globalBucket.reserve();
+    }
+
+    /**
+     * @return the time to wait in nanoseconds before sending, or -1 if nothing was reserved because the wait would be longer than maxWaitNanos
+     */
+    long reserveGlobal(long maxWaitNanos) {
+        return globalBucket.tryReserve(1, maxWaitNanos);
+    }
+
+    void releaseGlobal() {
+        globalBucket.release(1);
+    }
+
+    private void sweepIdleBuckets() {
+        long now = System.nanoTime();
+        Iterator<Map.Entry<String, TokenBucket>> buckets = chatBuckets.entrySet().iterator();
+        while (buckets.hasNext()) {
+            Map.Entry<String, TokenBucket> bucket = buckets.next();
+            if (bucket.getValue().isIdle(now, idleBucketNanos)) {
+                chatBuckets.remove(bucket.getKey(), bucket.getValue());
+            }
+        }
+    }
+}
@@ -0,0 +1,458 @@
+package me.shib.java.lib.jtelebot.service;
+
+import com.google.gson.Gson;
+import me.shib.java.lib.jtelebot.models.inline.InlineKeyboardMarkup;
+import me.shib.java.lib.jtelebot.models.inline.InlineQueryResult;
+import me.shib.java.lib.jtelebot.models.types.*;
+
+/**
+ * Builds the requests for the Bot API methods, so that the blocking and the asynchronous bots send exactly the same calls.
+ */
+final class BotRequestFactory {
+
+    private Gson gson;
+    private OutboundPriority priority;
+
+    BotRequestFactory(OutboundPriority priority) {
+        this.gson = new Gson();
+        this.priority = priority;
+    }
+
+    BotRequestFactory() {
+        this(OutboundPriority.INTERACTIVE);
+    }
+
+    OutboundPriority getPriority() {
+        return priority;
+    }
+
+    private BotApiRequest newRequest(String methodName) {
+        BotApiRequest request = new BotApiRequest(methodName);
+        request.setPriority(priority);
+        return request;
+    }
+
+    BotApiRequest setWebhook(String url, InputFile certificate) {
+        BotApiRequest request = newRequest("setWebhook");
+        if (url != null) {
+            request.addParameter("url", url);
+        }
+        if (null != certificate.getFile_id()) {
+            request.addParameter("certificate", certificate.getFile_id());
+        } else {
+            request.addParameter("certificate", certificate);
+        }
+        return request;
+    }
+
+    BotApiRequest getMe() {
+        return newRequest("getMe");
+    }
+
+    BotApiRequest sendMessage(ChatId chat_id, String text, ParseMode parse_mode, boolean disable_web_page_preview, long reply_to_message_id, ReplyMarkup reply_markup, boolean disable_notification) {
+        BotApiRequest request = newRequest("sendMessage");
+        request.addParameter("chat_id", chat_id.getChatId());
+        request.addParameter("text", text);
+        if (disable_notification) {
+            request.addParameter("disable_notification", "" + true);
+        }
+        if (parse_mode != null) {
+            request.addParameter("parse_mode", parse_mode.toString());
+        }
+        if (disable_web_page_preview) {
+            request.addParameter("disable_web_page_preview", "" + true);
+        }
+        if (reply_to_message_id > 0) {
+            request.addParameter("reply_to_message_id", "" + reply_to_message_id);
+        }
+        if (null != reply_markup) {
+            request.addParameter("reply_markup", gson.toJson(reply_markup));
+        }
+        return request;
+    }
+
+    BotApiRequest forwardMessage(ChatId chat_id, ChatId from_chat_id, long message_id, boolean disable_notification) {
+        BotApiRequest request = newRequest("forwardMessage");
+        request.addParameter("chat_id", chat_id.getChatId());
+        request.addParameter("from_chat_id", from_chat_id.getChatId());
+        request.addParameter("message_id", "" + message_id);
+        if (disable_notification) {
+            request.addParameter("disable_notification", "" + true);
+        }
+        return request;
+    }
+
+    BotApiRequest sendPhoto(ChatId chat_id, InputFile photo, String caption, long reply_to_message_id, ReplyMarkup reply_markup, boolean disable_notification) {
+        BotApiRequest request = newRequest("sendPhoto");
+        request.addParameter("chat_id", chat_id.getChatId());
+        if (null != photo.getFile_id()) {
+            request.addParameter("photo", photo.getFile_id());
+        } else {
+            request.addParameter("photo", photo);
+        }
+        if (disable_notification) {
+            request.addParameter("disable_notification", "" + true);
+        }
+        if ((null != caption) && (!caption.isEmpty())) {
+            request.addParameter("caption", caption);
+        }
+        if (reply_to_message_id > 0) {
+            request.addParameter("reply_to_message_id", "" + reply_to_message_id);
+        }
+        if (null != reply_markup) {
+            request.addParameter("reply_markup", gson.toJson(reply_markup));
+        }
+        return request;
+    }
+
+    BotApiRequest sendAudio(ChatId chat_id, InputFile audio, int duration, String performer, String title, long reply_to_message_id, ReplyMarkup reply_markup, boolean disable_notification) {
+        BotApiRequest request = newRequest("sendAudio");
+        request.addParameter("chat_id", chat_id.getChatId());
+        if (null != audio.getFile_id()) {
+            request.addParameter("audio", audio.getFile_id());
+        } else {
+            request.addParameter("audio", audio);
+        }
+        if (disable_notification) {
+            request.addParameter("disable_notification", "" + true);
+        }
+        if (duration > 0) {
+            request.addParameter("duration", "" + duration);
+        }
+        if ((null != performer) && (!performer.isEmpty())) {
+            request.addParameter("performer", performer);
+        }
+        if ((null != title) && (!title.isEmpty())) {
+            request.addParameter("title", title);
+        }
+        if (reply_to_message_id > 0) {
+            request.addParameter("reply_to_message_id", "" + reply_to_message_id);
+        }
+        if (null != reply_markup) {
+            request.addParameter("reply_markup", gson.toJson(reply_markup));
+        }
+        return request;
+    }
+
+    BotApiRequest sendDocument(ChatId chat_id, InputFile document, String caption, long reply_to_message_id, ReplyMarkup reply_markup, boolean disable_notification) {
+        BotApiRequest request = newRequest("sendDocument");
+        request.addParameter("chat_id", chat_id.getChatId());
+        if (null != document.getFile_id()) {
+            request.addParameter("document", document.getFile_id());
+        } else {
+            request.addParameter("document", document);
+        }
+        if (null != caption) {
+            request.addParameter("caption", caption);
+        }
+        if (disable_notification) {
+            request.addParameter("disable_notification", "" + true);
+        }
+        if (reply_to_message_id > 0) {
+            request.addParameter("reply_to_message_id", "" + reply_to_message_id);
+        }
+        if (null != reply_markup) {
+            request.addParameter("reply_markup", gson.toJson(reply_markup));
+        }
+        return request;
+    }
+
+    BotApiRequest sendSticker(ChatId chat_id, InputFile sticker, long reply_to_message_id, ReplyMarkup reply_markup, boolean disable_notification) {
+        BotApiRequest request = newRequest("sendSticker");
+        request.addParameter("chat_id", chat_id.getChatId());
+        if (null != sticker.getFile_id()) {
+            request.addParameter("sticker", sticker.getFile_id());
+        } else {
+            request.addParameter("sticker", sticker);
+        }
+        if (disable_notification) {
+            request.addParameter("disable_notification", "" + true);
+        }
+        if (reply_to_message_id > 0) {
+            request.addParameter("reply_to_message_id", "" + reply_to_message_id);
+        }
+        if (null != reply_markup) {
+            request.addParameter("reply_markup", gson.toJson(reply_markup));
+        }
+        return request;
+    }
+
+    BotApiRequest sendVideo(ChatId chat_id, InputFile video, int duration, String caption, long reply_to_message_id, ReplyMarkup reply_markup, int width, int height, boolean disable_notification) {
+        BotApiRequest request = newRequest("sendVideo");
+        request.addParameter("chat_id", chat_id.getChatId());
+        if (null != video.getFile_id()) {
+            request.addParameter("video", video.getFile_id());
+        } else {
+            request.addParameter("video", video);
+        }
+        if (disable_notification) {
+            request.addParameter("disable_notification", "" + true);
+        }
+        if (duration > 0) {
+            request.addParameter("duration", "" + duration);
+        }
+        if ((null != caption) && (!caption.isEmpty())) {
+            request.addParameter("performer", caption);
+        }
+        if (reply_to_message_id > 0) {
+            request.addParameter("reply_to_message_id", "" + reply_to_message_id);
+        }
+        if (null != reply_markup) {
+            request.addParameter("reply_markup", gson.toJson(reply_markup));
+        }
+        if (width > 0) {
+            request.addParameter("width", "" + width);
+        }
+        if (height > 0) {
+            request.addParameter("height", "" + height);
+        }
+        return request;
+    }
+
+    BotApiRequest sendVoice(ChatId chat_id, InputFile voice, int duration, long reply_to_message_id, ReplyMarkup reply_markup, boolean disable_notification) {
+        BotApiRequest request = newRequest("sendVoice");
+        request.addParameter("chat_id", chat_id.getChatId());
+        if (null != voice.getFile_id()) {
+            request.addParameter("voice", voice.getFile_id());
+        } else {
+            request.addParameter("voice", voice);
+        }
+        if (disable_notification) {
+            request.addParameter("disable_notification", "" + true);
+        }
+        if (duration > 0) {
+            request.addParameter("duration", "" + duration);
+        }
+        if (reply_to_message_id > 0) {
+            request.addParameter("reply_to_message_id", "" + reply_to_message_id);
+        }
+        if (null != reply_markup) {
+            request.addParameter("reply_markup", gson.toJson(reply_markup));
+        }
+        return request;
+    }
+
+    BotApiRequest sendLocationAndVenue(String methodName, ChatId chat_id, float latitude, float longitude, String title, String address, String foursquare_id, long reply_to_message_id, ReplyMarkup reply_markup, boolean disable_notification) {
+        BotApiRequest request = newRequest(methodName);
+        request.addParameter("chat_id", chat_id.getChatId());
+        request.addParameter("latitude", "" + latitude);
+        request.addParameter("longitude", "" + longitude);
+        if (null != title) {
+            request.addParameter("title", title);
+        }
+        if (null != address) {
+            request.addParameter("address", address);
+        }
+        if (null != foursquare_id) {
+            request.addParameter("foursquare_id", foursquare_id);
+        }
+        if (disable_notification) {
+            request.addParameter("disable_notification", "" + true);
+        }
+        if (reply_to_message_id > 0) {
+            request.addParameter("reply_to_message_id", "" + reply_to_message_id);
+        }
+        if (null != reply_markup) {
+            request.addParameter("reply_markup", gson.toJson(reply_markup));
+        }
+        return request;
+    }
+
+    BotApiRequest sendContact(ChatId chat_id, String phone_number, String first_name, String last_name, long reply_to_message_id, ReplyMarkup reply_markup, boolean disable_notification) {
+        BotApiRequest request = newRequest("sendContact");
+        request.addParameter("chat_id", chat_id.getChatId());
+        if (null != phone_number) {
+            request.addParameter("phone_number", phone_number);
+        }
+        if (null != first_name) {
+            request.addParameter("first_name", first_name);
+        }
+        if (null != last_name) {
+            request.addParameter("last_name", last_name);
+        }
+        if (disable_notification) {
+            request.addParameter("disable_notification", "" + true);
+        }
+        if (reply_to_message_id > 0) {
+            request.addParameter("reply_to_message_id", "" + reply_to_message_id);
+        }
+        if (null != reply_markup) {
+            request.addParameter("reply_markup", gson.toJson(reply_markup));
+        }
+        return request;
+    }
+
+    BotApiRequest sendChatAction(ChatId chat_id, ChatAction action) {
+        BotApiRequest request = newRequest("sendChatAction");
+        request.addParameter("chat_id", chat_id.getChatId());
+        request.addParameter("action", "" + action);
+        return request;
+    }
+
+    BotApiRequest getUserProfilePhotos(long user_id, int offset, int limit) {
+        BotApiRequest request = newRequest("getUserProfilePhotos");
+        request.addParameter("user_id", "" + user_id);
+        if (offset > 0) {
+            request.addParameter("offset", "" + offset);
+        }
+        if ((limit > 0) && (limit < 100)) {
+            request.addParameter("limit", "" + limit);
+        }
+        return request;
+    }
+
+    BotApiRequest getFile(String file_id) {
+        BotApiRequest request = newRequest("getFile");
+        request.addParameter("file_id", "" + file_id);
+        return request;
+    }
+
+    BotApiRequest answerInlineQuery(String inline_query_id, InlineQueryResult[] results, String next_offset, boolean is_personal, int cache_time, String switch_pm_text, String switch_pm_parameter) {
+        BotApiRequest request = newRequest("answerInlineQuery");
+        request.addParameter("inline_query_id", inline_query_id);
+        request.addParameter("results", "" + gson.toJson(results));
+        if (next_offset != null) {
+            request.addParameter("next_offset", next_offset);
+        }
+        if (is_personal) {
+            request.addParameter("is_personal", "" + true);
+        }
+        if (cache_time >= 0) {
+            request.addParameter("cache_time", "" + cache_time);
+        }
+        if (null != switch_pm_text) {
+            request.addParameter("switch_pm_text", switch_pm_text);
+        }
+        if (null != switch_pm_parameter) {
+            request.addParameter("switch_pm_parameter", switch_pm_parameter);
+        }
+        return request;
+    }
+
+    BotApiRequest manageGroupMember(String methodName, ChatId chat_id, long user_id) {
+        BotApiRequest request = newRequest(methodName);
+        request.addParameter("chat_id", chat_id.getChatId());
+        request.addParameter("user_id", "" + user_id);
+        return request;
+    }
+
+    BotApiRequest leaveChat(ChatId chat_id) {
+        BotApiRequest request = newRequest("leaveChat");
+        request.addParameter("chat_id", chat_id.getChatId());
+        return request;
+    }
+
+    BotApiRequest getChat(ChatId chat_id) {
+        BotApiRequest request = newRequest("getChat");
+        request.addParameter("chat_id", chat_id.getChatId());
+        return request;
+    }
+
+    BotApiRequest getChatAdministrators(ChatId chat_id) {
+        BotApiRequest request = newRequest("getChatAdministrators");
+        request.addParameter("chat_id", chat_id.getChatId());
+        return request;
+    }
+
+    BotApiRequest getChatMembersCount(ChatId chat_id) {
+        BotApiRequest request = newRequest("getChatMembersCount");
+        request.addParameter("chat_id", chat_id.getChatId());
+        return request;
+    }
+
+    BotApiRequest getChatMember(ChatId chat_id, long user_id) {
+        BotApiRequest request = newRequest("getChatMember");
+        request.addParameter("chat_id", chat_id.getChatId());
+        request.addParameter("user_id", user_id + "");
+        return request;
+    }
+
+    BotApiRequest answerCallbackQuery(String callback_query_id, String text, boolean show_alert) {
+        BotApiRequest request = newRequest("answerCallbackQuery");
+        request.addParameter("callback_query_id", callback_query_id);
+        if (null != text) {
+            request.addParameter("text", text);
+        }
+        if (show_alert) {
+            request.addParameter("show_alert", "" + true);
+        }
+        return request;
+    }
+
+    BotApiRequest editMessageText(ChatId chat_id, long message_id, String text, ParseMode parse_mode, boolean disable_web_page_preview, InlineKeyboardMarkup reply_markup) {
+        BotApiRequest request = newRequest("editMessageText");
+        request.addParameter("chat_id", chat_id.getChatId());
+        request.addParameter("message_id", "" + message_id);
+        request.addParameter("text", text);
+        if (parse_mode != null) {
+            request.addParameter("parse_mode", parse_mode.toString());
+        }
+        if (disable_web_page_preview) {
+            request.addParameter("disable_web_page_preview", "" + true);
+        }
+        if (null != reply_markup) {
+            request.addParameter("reply_markup", gson.toJson(reply_markup));
+        }
+        return request;
+    }
+
+    BotApiRequest editMessageText(String inline_message_id, String text, ParseMode parse_mode, boolean disable_web_page_preview, InlineKeyboardMarkup reply_markup) {
+        BotApiRequest request = newRequest("editMessageText");
+        request.addParameter("inline_message_id", inline_message_id);
+        request.addParameter("text", text);
+        if (parse_mode != null) {
+            request.addParameter("parse_mode", parse_mode.toString());
+        }
+        if (disable_web_page_preview) {
+            request.addParameter("disable_web_page_preview", "" + true);
+        }
+        if (null != reply_markup) {
+            request.addParameter("reply_markup", gson.toJson(reply_markup));
+        }
+        return request;
+    }
+
+    BotApiRequest editMessageCaption(ChatId chat_id, long message_id, String caption, InlineKeyboardMarkup reply_markup) {
+        BotApiRequest request = newRequest("editMessageCaption");
+        request.addParameter("chat_id", chat_id.getChatId());
+        request.addParameter("message_id", "" + message_id);
+        if (null != caption) {
+            request.addParameter("caption", caption);
+        }
+        if (null != reply_markup) {
+            request.addParameter("reply_markup", gson.toJson(reply_markup));
+        }
+        return request;
+    }
+
+    BotApiRequest editMessageCaption(String inline_message_id, String caption, InlineKeyboardMarkup reply_markup) {
+        BotApiRequest request = newRequest("editMessageCaption");
+        request.addParameter("inline_message_id", inline_message_id);
+        if (null != caption) {
+            request.addParameter("caption", caption);
+        }
+        if (null != reply_markup) {
+            request.addParameter("reply_markup", gson.toJson(reply_markup));
+        }
+        return request;
+    }
+
+    BotApiRequest editMessageReplyMarkup(ChatId chat_id, long message_id, InlineKeyboardMarkup reply_markup) {
+        BotApiRequest request = newRequest("editMessageReplyMarkup");
+        request.addParameter("chat_id", chat_id.getChatId());
+        request.addParameter("message_id", "" + message_id);
+        if (null != reply_markup) {
+            request.addParameter("reply_markup", gson.toJson(reply_markup));
+        }
+        return request;
+    }
+
+    BotApiRequest editMessageReplyMarkup(String inline_message_id, InlineKeyboardMarkup reply_markup) {
+        BotApiRequest request = newRequest("editMessageReplyMarkup");
+        request.addParameter("inline_message_id", inline_message_id);
+        if (null != reply_markup) {
+            request.addParameter("reply_markup", gson.toJson(reply_markup));
+        }
+        return request;
+    }
+}
@@ -0,0 +1,165 @@
+package me.shib.java.lib.jtelebot.service;
+
+import me.shib.java.lib.jtelebot.models.types.ResponseParameters;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies a BotRetryPolicy to the calls of a bot. For every attempt it tells whether the outcome is final
+ * or how long to wait before the next attempt, and it keeps the circuit breakers of the methods.
+ */
+final class BotRetryEngine {
+
+    private static final int floodLimitStatus = 429;
+    private static ScheduledThreadPoolExecutor retryScheduler;
+
+    private final BotRetryPolicy policy;
+    private final ConcurrentMap<String, MethodCircuitBreaker> breakers;
+
+    BotRetryEngine(BotRetryPolicy policy) {
+        this.policy = policy;
+        this.breakers = new ConcurrentHashMap<>();
+    }
+
+    static synchronized ScheduledFuture<?> schedule(Runnable retry, long delay, TimeUnit unit) {
+        if (null == retryScheduler) {
+            retryScheduler = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "jtelebot-retry-scheduler");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            // Deadline watchdogs are cancelled when most calls complete, so drop them from the queue right away
+            retryScheduler.setRemoveOnCancelPolicy(true);
+        }
+        return retryScheduler.schedule(retry, delay, unit);
+    }
+
+    BotRetryPolicy getPolicy() {
+        return policy;
+    }
+
+    void acquire(String methodName) throws BotCircuitOpenException {
+        MethodCircuitBreaker breaker = getBreaker(methodName);
+        if ((null != breaker) && !breaker.tryAcquire(System.currentTimeMillis())) {
+            throw new BotCircuitOpenException(methodName);
+        }
+    }
+
+    /**
+     * @return the delay in milliseconds before the next attempt, or -1 if the response is final
+     */
+    long onResponse(BotApiRequest request, int attempt, int statusCode, BotServiceWrapper.BotServiceResponse response) {
+        String methodName = request.getMethodName();
+        boolean floodLimited = (statusCode == floodLimitStatus)
+                || ((null != response) && (response.getError_code() == floodLimitStatus));
+        if (floodLimited) {
+            // A flood limit says the bot is sending too fast, not that the endpoint is unhealthy, so the breaker ignores it
+            release(methodName);
+            if ((attempt >= policy.getMaxAttempts()) || !request.isRepeatable()) {
+                return -1;
+            }
+            ResponseParameters parameters = (null != response) ? response.getParameters() : null;
+            int retryAfter = (null != parameters) ? parameters.getRetry_after() : 0;
+            if (retryAfter <= 0) {
+                return backoff(attempt);
+            }
+            if (retryAfter > policy.getMaxRetryAfterSeconds()) {
+                return -1;
+            }
+            return (retryAfter * 1000L) + jitter(policy.getBaseBackoffMillis());
+        }
+        if (statusCode >= 500) {
+            onError(methodName);
+            if ((attempt >= policy.getMaxAttempts()) || !isSafeToRepeat(methodName) || !request.isRepeatable()) {
+                return -1;
+            }
+            return backoff(attempt);
+        }
+        MethodCircuitBreaker breaker = getBreaker(methodName);
+        if (null != breaker) {
+            breaker.onSuccess();
+        }
+        return -1;
+    }
+
+    /**
+     * @return the delay in milliseconds before the next attempt, or -1 if the failure is final
+     */
+    long onFailure(BotApiRequest request, int attempt, IOException e) {
+        String methodName = request.getMethodName();
+        // An aborted request fails with whatever the closed connection throws, so judge it by why it was aborted
+        IOException cause = request.isAborted() ? request.getAbortCause() : e;
+        if ((cause instanceof InterruptedIOException) && !(cause instanceof SocketTimeoutException)) {
+            // The call was cancelled, which says nothing about the endpoint. A missed deadline counts as a timeout.
+            release(methodName);
+            return -1;
+        }
+        onError(methodName);
+        if ((attempt >= policy.getMaxAttempts()) || !request.isRepeatable()) {
+            return -1;
+        }
+        boolean notSent = (e instanceof ConnectException) || (e instanceof UnknownHostException);
+        if (!notSent && !isSafeToRepeat(methodName)) {
+            return -1;
+        }
+        return backoff(attempt);
+    }
+
+    void onError(String methodName) {
+        MethodCircuitBreaker breaker = getBreaker(methodName);
+        if (null != breaker) {
+            breaker.onFailure(System.currentTimeMillis());
+        }
+    }
+
+    private void release(String methodName) {
+        MethodCircuitBreaker breaker = getBreaker(methodName);
+        if (null != breaker) {
+            breaker.release();
+        }
+    }
+
+    private MethodCircuitBreaker getBreaker(String methodName) {
+        if (policy.getBreakerFailureThreshold() <= 0) {
+            return null;
+        }
+        MethodCircuitBreaker breaker = breakers.get(methodName);
+        if (null == breaker) {
+            breaker = new MethodCircuitBreaker(policy.getBreakerFailureThreshold(),
+                    policy.getBreakerWindowMillis(), policy.getBreakerOpenMillis());
+            MethodCircuitBreaker existing = breakers.putIfAbsent(methodName, breaker);
+            if (null != existing) {
+                breaker = existing;
+            }
+        }
+        return breaker;
+    }
+
+    private long backoff(int attempt) {
+        long ceiling = Math.min(policy.getBaseBackoffMillis() << Math.min(attempt - 1, 20), policy.getMaxBackoffMillis());
+        return (ceiling / 2) + jitter(ceiling / 2);
+    }
+
+    private static long jitter(long bound) {
+        return (bound > 0) ? ThreadLocalRandom.current().nextLong(bound + 1) : 0;
+    }
+
+    private static boolean isSafeToRepeat(String methodName) {
+        return methodName.startsWith("get") || methodName.startsWith("edit")
+                || "setWebhook".equals(methodName) || "sendChatAction".equals(methodName);
+    }
+}
@@ -0,0 +1,126 @@
+package me.shib.java.lib.jtelebot.service;
+
+/**
+ * Decides how failed Bot API calls are retried, and when a method's circuit breaker opens.
+ * Flood limit responses (429) are retried after the retry_after period given by the API.
+ * Server errors (5xx) and connection failures are retried with jittered exponential backoff, but only for calls that are
+ * safe to repeat, i.e. the get, edit and chat action methods, or when the connection could not be established at all.
+ * An optional circuit breaker per method tracks the health of the endpoint: when server errors and connection failures
+ * of a method cluster within a window, its breaker opens and calls to it fail fast with a BotCircuitOpenException,
+ * until a single trial call after the open period succeeds. Flood limits are not counted as failures,
+ * since they only mean the bot is sending too fast. The breaker is disabled unless a failure threshold is given.
+ */
+public final class BotRetryPolicy {
+
+    private static final int defaultMaxAttempts = 3;
+    private static final long defaultBaseBackoff = 500;
+    private static final long defaultMaxBackoff = 10000;
+    private static final int defaultMaxRetryAfter = 60;
+    private static final int defaultBreakerFailureThreshold = 0;
+    private static final long defaultBreakerWindow = 10000;
+    private static final long defaultBreakerOpenDuration = 30000;
+
+    private int maxAttempts;
+    private long baseBackoffMillis;
+    private long maxBackoffMillis;
+    private int maxRetryAfterSeconds;
+    private int breakerFailureThreshold;
+    private long breakerWindowMillis;
+    private long breakerOpenMillis;
+
+    /**
+     * Creates a retry policy.
+     *
+     * @param maxAttempts             the maximum number of attempts for a call, including the first one. 1 disables retries.
+     * @param baseBackoffMillis       the backoff before the first retry of a server error or connection failure, doubled on every retry
+     * @param maxBackoffMillis        the maximum backoff between retries
+     * @param maxRetryAfterSeconds    the longest retry_after that is waited for. Flood limit responses asking for longer are not retried.
+     * @param breakerFailureThreshold the number of server errors and connection failures within the window that opens the circuit breaker
+     *                                of a method, for example 5. 0 disables the breaker.
+     * @param breakerWindowMillis     the window in which failures are counted
+     * @param breakerOpenMillis       how long an open circuit breaker rejects calls before letting a trial call through
+     */
+    public BotRetryPolicy(int maxAttempts, long baseBackoffMillis, long maxBackoffMillis, int maxRetryAfterSeconds,
+                          int breakerFailureThreshold, long breakerWindowMillis, long breakerOpenMillis) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Maximum attempts must be greater than 0");
+        }
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffMillis = baseBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.maxRetryAfterSeconds = maxRetryAfterSeconds;
+        this.breakerFailureThreshold = breakerFailureThreshold;
+        this.breakerWindowMillis = breakerWindowMillis;
+        this.breakerOpenMillis = breakerOpenMillis;
+    }
+
+    /**
+     * Creates a retry policy with the circuit breaker disabled.
+     *
+     * @param maxAttempts          the maximum number of attempts for a call, including the first one. 1 disables retries.
+     * @param baseBackoffMillis    the backoff before the first retry of a server error or connection failure, doubled on every retry
+     * @param maxBackoffMillis     the maximum backoff between retries
+     * @param maxRetryAfterSeconds the longest retry_after that is waited for. Flood limit responses asking for longer are not retried.
+     */
+    public BotRetryPolicy(int maxAttempts, long baseBackoffMillis, long maxBackoffMillis, int maxRetryAfterSeconds) {
+        this(maxAttempts, baseBackoffMillis, maxBackoffMillis, maxRetryAfterSeconds,
+                defaultBreakerFailureThreshold, defaultBreakerWindow, defaultBreakerOpenDuration);
+    }
+
+    /**
+     * Creates the default retry policy, which makes up to 3 attempts, backs off from 500 milliseconds up to 10 seconds
+     * and waits for flood limits of up to 60 seconds, with the circuit breaker disabled.
+     */
+    public BotRetryPolicy() {
+        this(defaultMaxAttempts, defaultBaseBackoff, defaultMaxBackoff, defaultMaxRetryAfter);
+    }
+
+    /**
+     * @return the maximum number of attempts for a call, including the first one
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * @return the backoff before the first retry in milliseconds
+     */
+    public long getBaseBackoffMillis() {
+        return baseBackoffMillis;
+    }
+
+    /**
+     * @return the maximum backoff between retries in milliseconds
+     */
+    public long getMaxBackoffMillis() {
+        return maxBackoffMillis;
+    }
+
+    /**
+     * @return the longest retry_after in seconds that is waited for
+     */
+    public int getMaxRetryAfterSeconds() {
+        return maxRetryAfterSeconds;
+    }
+
+    /**
+     * @return the number of failures within the window that opens a circuit breaker, or 0 if the breaker is disabled
+     */
+    public int getBreakerFailureThreshold() {
+        return breakerFailureThreshold;
+    }
+
+    /**
+     * @return the window in milliseconds in which failures are counted
+     */
+    public long getBreakerWindowMillis() {
+        return breakerWindowMillis;
+    }
+
+    /**
+     * @return how long in milliseconds an open circuit breaker rejects calls
+     */
+    public long getBreakerOpenMillis() {
+        return breakerOpenMillis;
+    }
+}
@@ -6,12 +6,12 @@ import me.shib.java.lib.jtelebot.models.types.*;
 import me.shib.java.lib.jtelebot.models.updates.Message;
 import me.shib.java.lib.jtelebot.models.updates.Update;
 import me.shib.java.lib.utils.FileDownloader;
-import me.shib.java.lib.restiny.requests.GET;
-import me.shib.java.lib.restiny.requests.POST;
-import me.shib.java.lib.utils.JsonUtil;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
 import java.util.logging.Logger;
 
 /**
@@ -23,30 +23,69 @@ public final class BotService extends TelegramBot {
     private static Logger logger = Logger.getLogger(BotService.class.getName());
 
     private String botApiToken;
-    private JsonUtil jsonUtil;
     private BotServiceWrapper botServiceWrapper;
+    private BotRequestFactory requestFactory;
     private User identity;
     private String endPoint;
     private BotUpdateService botUpdateService;
+    private DownloadManager downloadManager;
 
 
     /**
      * Creates an object for the given bot API token. For every unique API token, a singleton update receiver is created
      * is created to avoid duplicate update reception throughout the JVM.
      *
-     * @param botApiToken the API token that is given by @BotFather bot
-     * @param endPoint    the endpoint to call the Bot API service. Might be used in case of proxy services
+     * @param botApiToken     the API token that is given by @BotFather bot
+     * @param endPoint        the endpoint to call the Bot API service. Might be used in case of proxy services
+     * @param connectionPools the separate pools for the long poll, API calls and file transfers. The update receiver of the token
+     *                        is switched to the update transport of the given pools. If null, default pools are created
+     *                        and the update receiver keeps its transport.
      */
-    public BotService(String botApiToken, String endPoint) {
+    public BotService(String botApiToken, String endPoint, BotConnectionPools connectionPools) {
         if ((endPoint == null) || (endPoint.isEmpty())) {
             this.endPoint = telegramBotServiceEndPoint;
         } else {
             this.endPoint = endPoint;
         }
+        BotServiceTransport updateTransport = null;
+        if (null == connectionPools) {
+            connectionPools = new BotConnectionPools();
+        } else {
+            updateTransport = connectionPools.getUpdateTransport();
+        }
         this.botApiToken = botApiToken;
-        this.jsonUtil = new JsonUtil();
-        this.botServiceWrapper = new BotServiceWrapper(this.endPoint + "/bot" + botApiToken);
-        this.botUpdateService = BotUpdateService.getInstance(this.botApiToken, this.endPoint);
+        this.botServiceWrapper = new BotServiceWrapper(this.endPoint + "/bot" + botApiToken,
+                connectionPools.getApiTransport(), connectionPools.getUploadTransport());
+        this.requestFactory = new BotRequestFactory();
+        this.downloadManager = connectionPools.getDownloadManager();
+        this.botUpdateService = BotUpdateService.getInstance(this.botApiToken, this.endPoint, updateTransport);
+        if (null != botUpdateService) {
+            botUpdateService.setCallDeadlines(botServiceWrapper.getCallDeadlines());
+            botUpdateService.setRetryPolicy(botServiceWrapper.getRetryPolicy());
+        }
+    }
+
+    /**
+     * Creates an object for the given bot API token. For every unique API token, a singleton update receiver is created
+     * is created to avoid duplicate update reception throughout the JVM.
+     *
+     * @param botApiToken the API token that is given by @BotFather bot
+     * @param endPoint    the endpoint to call the Bot API service. Might be used in case of proxy services
+     * @param transport   the transport used to send requests to the Bot API. Share one transport between bots to share its connections.
+     */
+    public BotService(String botApiToken, String endPoint, BotServiceTransport transport) {
+        this(botApiToken, endPoint, (null == transport) ? null : new BotConnectionPools(transport));
+    }
+
+    /**
+     * Creates an object for the given bot API token. For every unique API token, a singleton update receiver is created
+     * is created to avoid duplicate update reception throughout the JVM.
+     *
+     * @param botApiToken the API token that is given by @BotFather bot
+     * @param endPoint    the endpoint to call the Bot API service. Might be used in case of proxy services
+     */
+    public BotService(String botApiToken, String endPoint) {
+        this(botApiToken, endPoint, (BotConnectionPools) null);
     }
 
     /**
@@ -59,6 +98,27 @@ public final class BotService extends TelegramBot {
         this(botApiToken, null);
     }
 
+    private BotService(BotService botService, OutboundPriority priority) {
+        this.endPoint = botService.endPoint;
+        this.botApiToken = botService.botApiToken;
+        this.botServiceWrapper = botService.botServiceWrapper;
+        this.requestFactory = new BotRequestFactory(priority);
+        this.botUpdateService = botService.botUpdateService;
+        this.downloadManager = botService.downloadManager;
+        this.identity = botService.identity;
+    }
+
+    /**
+     * Gives a view of this bot whose calls are queued in the given priority class by the outbound scheduler.
+     * The view shares the connections, retry policy, rate limiter and scheduler of this bot.
+     *
+     * @param priority the priority class of the calls made through the view
+     * @return a bot that makes its calls with the given priority
+     */
+    public BotService withPriority(OutboundPriority priority) {
+        return new BotService(this, priority);
+    }
+
     /**
      * Use this method to receive incoming updates using long polling with the given timeout value.
      *
@@ -72,6 +132,22 @@ public final class BotService extends TelegramBot {
         return botUpdateService.getUpdates(timeout, limit, offset);
     }
 
+    /**
+     * Use this method to receive incoming updates using long polling without holding the calling thread.
+     * The poll waits on the update transport of the bot: an AsyncBotServiceTransport completes it from its own threads,
+     * and a blocking transport holds a thread of a shared long poll pool for as long as the poll is open.
+     *
+     * @param timeout          Timeout in seconds for long polling
+     * @param limit            Limits the number of updates to be retrieved. Values between 1—100 are accepted. Defaults to 100
+     * @param offset           Identifier of the first update to be returned
+     * @param callbackExecutor the executor on which the callbacks of the returned future run
+     * @return the pending updates. The result is an empty array if there aren't any updates.
+     */
+    @Override
+    public BotCallFuture<Update[]> getUpdatesAsync(int timeout, int limit, long offset, Executor callbackExecutor) {
+        return botUpdateService.getUpdatesAsync(timeout, limit, offset, callbackExecutor);
+    }
+
     /**
      * Use this method to receive incoming updates using long polling with the given timeout value.
      *
@@ -99,20 +175,7 @@ public final class BotService extends TelegramBot {
      * @throws IOException an exception is thrown in case of any service call failures
      */
     public boolean setWebhook(String url, InputFile certificate) throws IOException {
-        POST postRequest = new POST("setWebhook");
-        if (url != null) {
-            postRequest.addParameter("url", url);
-        }
-        if (null != certificate.getFile_id()) {
-            postRequest.addParameter("certificate", certificate.getFile_id());
-        } else {
-            postRequest.addParameter("certificate", certificate.getFile());
-        }
-        BotServiceWrapper.BotServiceResponse botServiceResponse = botServiceWrapper.call(postRequest);
-        if ((null == botServiceResponse) || (!botServiceResponse.isOk())) {
-            return false;
-        }
-        return jsonUtil.fromJson(jsonUtil.toJson(botServiceResponse.getResult()), Boolean.class);
+        return botServiceWrapper.call(requestFactory.setWebhook(url, certificate), Boolean.class, false);
     }
 
     /**
@@ -124,6 +187,128 @@ public final class BotService extends TelegramBot {
         return botApiToken;
     }
 
+    /**
+     * Sets how long each call of this bot may take, including its retries, before it is aborted and fails
+     * with a BotDeadlineExceededException. Aborting a call closes its connection, so a hung socket cannot hold a thread.
+     * The deadlines also apply to getUpdates, whose receiver is shared by every BotService of the same token,
+     * so the deadlines set last apply to the long poll.
+     *
+     * @param callDeadlines the deadlines of the calls of this bot
+     */
+    @Override
+    public void setCallDeadlines(BotCallDeadlines callDeadlines) {
+        if (null == callDeadlines) {
+            throw new IllegalArgumentException("Call deadlines cannot be null");
+        }
+        botServiceWrapper.setCallDeadlines(callDeadlines);
+        if (null != botUpdateService) {
+            botUpdateService.setCallDeadlines(callDeadlines);
+        }
+    }
+
+    /**
+     * @return the deadlines of the calls of this bot
+     */
+    @Override
+    public BotCallDeadlines getCallDeadlines() {
+        return botServiceWrapper.getCallDeadlines();
+    }
+
+    /**
+     * Sets whether identical read calls of this bot that are in flight at the same time share a single request.
+     * Only getChat, getChatMember, getFile and getMe are shared, as for the default BotHedgingPolicy.
+     * Concurrent calls like getChat for the same chat then get the same result instance, so a caller must not modify
+     * the result, and has to copy it first if it needs changes. Each call still fails on its own deadline, and cancelling
+     * one call does not cancel the shared request. Enabled by default.
+     *
+     * @param readCoalescing true to let identical concurrent reads share a request
+     */
+    public void setReadCoalescing(boolean readCoalescing) {
+        botServiceWrapper.setReadCoalescing(readCoalescing);
+    }
+
+    /**
+     * @return true if identical concurrent read calls of this bot share a single request
+     */
+    public boolean isReadCoalescing() {
+        return botServiceWrapper.isReadCoalescing();
+    }
+
+    /**
+     * Sets which read calls of this bot are hedged. A hedged call whose first request is slower than the given latency
+     * percentile sends a second request and takes whichever response comes first.
+     *
+     * @param hedgingPolicy the hedging policy, or null to disable hedging, which is the default
+     */
+    public void setHedgingPolicy(BotHedgingPolicy hedgingPolicy) {
+        botServiceWrapper.setHedgingPolicy(hedgingPolicy);
+    }
+
+    /**
+     * @return the hedging policy of this bot, or null if calls are not hedged
+     */
+    public BotHedgingPolicy getHedgingPolicy() {
+        return botServiceWrapper.getHedgingPolicy();
+    }
+
+    /**
+     * Sets how failed calls of this bot are retried and when their circuit breakers open.
+     * Flood limit responses are retried after the retry_after given by the API, instead of immediately.
+     * Like the call deadlines, the policy also applies to getUpdates of every BotService of the same token.
+     *
+     * @param retryPolicy the retry policy. Use a policy with a single attempt to disable retries.
+     */
+    public void setRetryPolicy(BotRetryPolicy retryPolicy) {
+        if (null == retryPolicy) {
+            throw new IllegalArgumentException("Retry policy cannot be null");
+        }
+        botServiceWrapper.setRetryPolicy(retryPolicy);
+        if (null != botUpdateService) {
+            botUpdateService.setRetryPolicy(retryPolicy);
+        }
+    }
+
+    /**
+     * @return the retry policy of this bot
+     */
+    public BotRetryPolicy getRetryPolicy() {
+        return botServiceWrapper.getRetryPolicy();
+    }
+
+    /**
+     * Sets the rate limiter that keeps the messages of this bot under Telegram's limits. Share one limiter between
+     * the BotService and AsyncBotService of the same token, so that their messages are counted together.
+     *
+     * @param rateLimiter the rate limiter, or null to send without limiting
+     */
+    public void setRateLimiter(BotRateLimiter rateLimiter) {
+        botServiceWrapper.setRateLimiter(rateLimiter);
+    }
+
+    /**
+     * @return the rate limiter of this bot, or null if messages are sent without limiting
+     */
+    public BotRateLimiter getRateLimiter() {
+        return botServiceWrapper.getRateLimiter();
+    }
+
+    /**
+     * Routes the send and edit calls of this bot through an outbound scheduler, which queues them by priority class and chat
+     * and applies its own rate limiter and concurrency limit to them. Share one scheduler between the bots using the same token.
+     *
+     * @param scheduler the outbound scheduler, or null to send calls directly
+     */
+    public void setOutboundScheduler(OutboundScheduler scheduler) {
+        botServiceWrapper.setOutboundScheduler(scheduler);
+    }
+
+    /**
+     * @return the outbound scheduler of this bot, or null if calls are sent directly
+     */
+    public OutboundScheduler getOutboundScheduler() {
+        return botServiceWrapper.getOutboundScheduler();
+    }
+
     /**
      * A simple method for testing your bot's auth token.
      *
@@ -131,12 +316,7 @@ public final class BotService extends TelegramBot {
      * @throws IOException an exception is thrown in case of any service call failures
      */
     public User getMe() throws IOException {
-        GET getRequest = new GET("getMe");
-        BotServiceWrapper.BotServiceResponse botServiceResponse = botServiceWrapper.call(getRequest);
-        if ((null == botServiceResponse) || (!botServiceResponse.isOk())) {
-            return null;
-        }
-        return jsonUtil.fromJson(jsonUtil.toJson(botServiceResponse.getResult()), User.class);
+        return botServiceWrapper.call(requestFactory.getMe(), User.class, null);
     }
 
     /**
@@ -170,29 +350,7 @@ public final class BotService extends TelegramBot {
      * @throws IOException an exception is thrown in case of any service call failures
      */
     public Message sendMessage(ChatId chat_id, String text, ParseMode parse_mode, boolean disable_web_page_preview, long reply_to_message_id, ReplyMarkup reply_markup, boolean disable_notification) throws IOException {
-        POST postRequest = new POST("sendMessage");
-        postRequest.addParameter("chat_id", chat_id.getChatId());
-        postRequest.addParameter("text", text);
-        if (disable_notification) {
-            postRequest.addParameter("disable_notification", "" + true);
-        }
-        if (parse_mode != null) {
-            postRequest.addParameter("parse_mode", parse_mode.toString());
-        }
-        if (disable_web_page_preview) {
-            postRequest.addParameter("disable_web_page_preview", "" + true);
-        }
-        if (reply_to_message_id > 0) {
-            postRequest.addParameter("reply_to_message_id", "" + reply_to_message_id);
-        }
-        if (null != reply_markup) {
-            postRequest.addParameter("reply_markup", jsonUtil.toJson(reply_markup));
-        }
-        BotServiceWrapper.BotServiceResponse botServiceResponse = botServiceWrapper.call(postRequest);
-        if ((null == botServiceResponse) || (!botServiceResponse.isOk())) {
-            return null;
-        }
-        return jsonUtil.fromJson(jsonUtil.toJson(botServiceResponse.getResult()), Message.class);
+        return botServiceWrapper.call(requestFactory.sendMessage(chat_id, text, parse_mode, disable_web_page_preview, reply_to_message_id, reply_markup, disable_notification), Message.class, null);
     }
 
     /**
@@ -206,18 +364,7 @@ public final class BotService extends TelegramBot {
      * @throws IOException an exception is thrown in case of any service call failures
      */
     public Message forwardMessage(ChatId chat_id, ChatId from_chat_id, long message_id, boolean disable_notification) throws IOException {
-        POST postRequest = new POST("forwardMessage");
-        postRequest.addParameter("chat_id", chat_id.getChatId());
-        postRequest.addParameter("from_chat_id", from_chat_id.getChatId());
-        postRequest.addParameter("message_id", "" + message_id);
-        if (disable_notification) {
-            postRequest.addParameter("disable_notification", "" + true);
-        }
-        BotServiceWrapper.BotServiceResponse botServiceResponse = botServiceWrapper.call(postRequest);
-        if ((null == botServiceResponse) || (!botServiceResponse.isOk())) {
-            return null;
-        }
-        return jsonUtil.fromJson(jsonUtil.toJson(botServiceResponse.getResult()), Message.class);
+        return botServiceWrapper.call(requestFactory.forwardMessage(chat_id, from_chat_id, message_id, disable_notification), Message.class, null);
     }
 
     /**
@@ -233,30 +380,7 @@ public final class BotService extends TelegramBot {
      * @throws IOException an exception is thrown in case of any service call failures
      */
     public Message sendPhoto(ChatId chat_id, InputFile photo, String caption, long reply_to_message_id, ReplyMarkup reply_markup, boolean disable_notification) throws IOException {
-        POST postRequest = new POST("sendPhoto");
-        postRequest.addParameter("chat_id", chat_id.getChatId());
-        if (null != photo.getFile_id()) {
-            postRequest.addParameter("photo", photo.getFile_id());
-        } else {
-            postRequest.addParameter("photo", photo.getFile());
-        }
-        if (disable_notification) {
-            postRequest.addParameter("disable_notification", "" + true);
-        }
-        if ((null != caption) && (!caption.isEmpty())) {
-            postRequest.addParameter("caption", caption);
-        }
-        if (reply_to_message_id > 0) {
-            postRequest.addParameter("reply_to_message_id", "" + reply_to_message_id);
-        }
-        if (null != reply_markup) {
-            postRequest.addParameter("reply_markup", jsonUtil.toJson(reply_markup));
-        }
-        BotServiceWrapper.BotServiceResponse botServiceResponse = botServiceWrapper.call(postRequest);
-        if ((null == botServiceResponse) || (!botServiceResponse.isOk())) {
-            return null;
-        }
-        return jsonUtil.fromJson(jsonUtil.toJson(botServiceResponse.getResult()), Message.class);
+        return botServiceWrapper.call(requestFactory.sendPhoto(chat_id, photo, caption, reply_to_message_id, reply_markup, disable_notification), Message.class, null);
     }
 
     /**
@@ -274,36 +398,7 @@ public final class BotService extends TelegramBot {
      * @throws IOException an exception is thrown in case of any service call failures
      */
     public Message sendAudio(ChatId chat_id, InputFile audio, int duration, String performer, String title, long reply_to_message_id, ReplyMarkup reply_markup, boolean disable_notification) throws IOException {
-        POST postRequest = new POST("sendAudio");
-        postRequest.addParameter("chat_id", chat_id.getChatId());
-        if (null != audio.getFile_id()) {
-            postRequest.addParameter("audio", audio.getFile_id());
-        } else {
-            postRequest.addParameter("audio", audio.getFile());
-        }
-        if (disable_notification) {
-            postRequest.addParameter("disable_notification", "" + true);
-        }
-        if (duration > 0) {
-            postRequest.addParameter("duration", "" + duration);
-        }
-        if ((null != performer) && (!performer.isEmpty())) {
-            postRequest.addParameter("performer", performer);
-        }
-        if ((null != title) && (!title.isEmpty())) {
-            postRequest.addParameter("title", title);
-        }
-        if (reply_to_message_id > 0) {
-            postRequest.addParameter("reply_to_message_id", "" + reply_to_message_id);
-        }
-        if (null != reply_markup) {
-            postRequest.addParameter("reply_markup", jsonUtil.toJson(reply_markup));
-        }
-        BotServiceWrapper.BotServiceResponse botServiceResponse = botServiceWrapper.call(postRequest);
-        if ((null == botServiceResponse) || (!botServiceResponse.isOk())) {
-            return null;
-        }
-        return jsonUtil.fromJson(jsonUtil.toJson(botServiceResponse.getResult()), Message.class);
+        return botServiceWrapper.call(requestFactory.sendAudio(chat_id, audio, duration, performer, title, reply_to_message_id, reply_markup, disable_notification), Message.class, null);
     }
 
     /**
@@ -319,30 +414,7 @@ public final class BotService extends TelegramBot {
      * @throws IOException an exception is thrown in case of any service call failures
      */
     public Message sendDocument(ChatId chat_id, InputFile document, String caption, long reply_to_message_id, ReplyMarkup reply_markup, boolean disable_notification) throws IOException {
-        POST postRequest = new POST("sendDocument");
-        postRequest.addParameter("chat_id", chat_id.getChatId());
-        if (null != document.getFile_id()) {
-            postRequest.addParameter("document", document.getFile_id());
-        } else {
-            postRequest.addParameter("document", document.getFile());
-        }
-        if (null != caption) {
-            postRequest.addParameter("caption", caption);
-        }
-        if (disable_notification) {
-            postRequest.addParameter("disable_notification", "" + true);
-        }
-        if (reply_to_message_id > 0) {
-            postRequest.addParameter("reply_to_message_id", "" + reply_to_message_id);
-        }
-        if (null != reply_markup) {
-            postRequest.addParameter("reply_markup", jsonUtil.toJson(reply_markup));
-        }
-        BotServiceWrapper.BotServiceResponse botServiceResponse = botServiceWrapper.call(postRequest);
-        if ((null == botServiceResponse) || (!botServiceResponse.isOk())) {
-            return null;
-        }
-        return jsonUtil.fromJson(jsonUtil.toJson(botServiceResponse.getResult()), Message.class);
+        return botServiceWrapper.call(requestFactory.sendDocument(chat_id, document, caption, reply_to_message_id, reply_markup, disable_notification), Message.class, null);
     }
 
     /**
@@ -357,27 +429,7 @@ public final class BotService extends TelegramBot {
      * @throws IOException an exception is thrown in case of any service call failures
      */
     public Message sendSticker(ChatId chat_id, InputFile sticker, long reply_to_message_id, ReplyMarkup reply_markup, boolean disable_notification) throws IOException {
-        POST postRequest = new POST("sendSticker");
-        postRequest.addParameter("chat_id", chat_id.getChatId());
-        if (null != sticker.getFile_id()) {
-            postRequest.addParameter("sticker", sticker.getFile_id());
-        } else {
-            postRequest.addParameter("sticker", sticker.getFile());
-        }
-        if (disable_notification) {
-            postRequest.addParameter("disable_notification", "" + true);
-        }
-        if (reply_to_message_id > 0) {
-            postRequest.addParameter("reply_to_message_id", "" + reply_to_message_id);
-        }
-        if (null != reply_markup) {
-            postRequest.addParameter("reply_markup", jsonUtil.toJson(reply_markup));
-        }
-        BotServiceWrapper.BotServiceResponse botServiceResponse = botServiceWrapper.call(postRequest);
-        if ((null == botServiceResponse) || (!botServiceResponse.isOk())) {
-            return null;
-        }
-        return jsonUtil.fromJson(jsonUtil.toJson(botServiceResponse.getResult()), Message.class);
+        return botServiceWrapper.call(requestFactory.sendSticker(chat_id, sticker, reply_to_message_id, reply_markup, disable_notification), Message.class, null);
     }
 
     /**
@@ -396,39 +448,7 @@ public final class BotService extends TelegramBot {
      * @throws IOException an exception is thrown in case of any service call failures
      */
     public Message sendVideo(ChatId chat_id, InputFile video, int duration, String caption, long reply_to_message_id, ReplyMarkup reply_markup, int width, int height, boolean disable_notification) throws IOException {
-        POST postRequest = new POST("sendVideo");
-        postRequest.addParameter("chat_id", chat_id.getChatId());
-        if (null != video.getFile_id()) {
-            postRequest.addParameter("video", video.getFile_id());
-        } else {
-            postRequest.addParameter("video", video.getFile());
-        }
-        if (disable_notification) {
-            postRequest.addParameter("disable_notification", "" + true);
-        }
-        if (duration > 0) {
-            postRequest.addParameter("duration", "" + duration);
-        }
-        if ((null != caption) && (!caption.isEmpty())) {
-            postRequest.addParameter("performer", caption);
-        }
-        if (reply_to_message_id > 0) {
-            postRequest.addParameter("reply_to_message_id", "" + reply_to_message_id);
-        }
-        if (null != reply_markup) {
-            postRequest.addParameter("reply_markup", jsonUtil.toJson(reply_markup));
-        }
-        if (width > 0) {
-            postRequest.addParameter("width", "" + width);
-        }
-        if (height > 0) {
-            postRequest.addParameter("height", "" + height);
-        }
-        BotServiceWrapper.BotServiceResponse botServiceResponse = botServiceWrapper.call(postRequest);
-        if ((null == botServiceResponse) || (!botServiceResponse.isOk())) {
-            return null;
-        }
-        return jsonUtil.fromJson(jsonUtil.toJson(botServiceResponse.getResult()), Message.class);
+        return botServiceWrapper.call(requestFactory.sendVideo(chat_id, video, duration, caption, reply_to_message_id, reply_markup, width, height, disable_notification), Message.class, null);
     }
 
     /**
@@ -444,60 +464,11 @@ public final class BotService extends TelegramBot {
      * @throws IOException an exception is thrown in case of any service call failures
      */
     public Message sendVoice(ChatId chat_id, InputFile voice, int duration, long reply_to_message_id, ReplyMarkup reply_markup, boolean disable_notification) throws IOException {
-        POST postRequest = new POST("sendVoice");
-        postRequest.addParameter("chat_id", chat_id.getChatId());
-        if (null != voice.getFile_id()) {
-            postRequest.addParameter("voice", voice.getFile_id());
-        } else {
-            postRequest.addParameter("voice", voice.getFile());
-        }
-        if (disable_notification) {
-            postRequest.addParameter("disable_notification", "" + true);
-        }
-        if (duration > 0) {
-            postRequest.addParameter("duration", "" + duration);
-        }
-        if (reply_to_message_id > 0) {
-            postRequest.addParameter("reply_to_message_id", "" + reply_to_message_id);
-        }
-        if (null != reply_markup) {
-            postRequest.addParameter("reply_markup", jsonUtil.toJson(reply_markup));
-        }
-        BotServiceWrapper.BotServiceResponse botServiceResponse = botServiceWrapper.call(postRequest);
-        if ((null == botServiceResponse) || (!botServiceResponse.isOk())) {
-            return null;
-        }
-        return jsonUtil.fromJson(jsonUtil.toJson(botServiceResponse.getResult()), Message.class);
+        return botServiceWrapper.call(requestFactory.sendVoice(chat_id, voice, duration, reply_to_message_id, reply_markup, disable_notification), Message.class, null);
     }
 
     private Message sendLocationAndVenue(String methodName, ChatId chat_id, float latitude, float longitude, String title, String address, String foursquare_id, long reply_to_message_id, ReplyMarkup reply_markup, boolean disable_notification) throws IOException {
-        POST postRequest = new POST(methodName);
-        postRequest.addParameter("chat_id", chat_id.getChatId());
-        postRequest.addParameter("latitude", "" + latitude);
-        postRequest.addParameter("longitude", "" + longitude);
-        if (null != title) {
-            postRequest.addParameter("title", title);
-        }
-        if (null != address) {
-            postRequest.addParameter("address", address);
-        }
-        if (null != foursquare_id) {
-            postRequest.addParameter("foursquare_id", foursquare_id);
-        }
-        if (disable_notification) {
-            postRequest.addParameter("disable_notification", "" + true);
-        }
-        if (reply_to_message_id > 0) {
-            postRequest.addParameter("reply_to_message_id", "" + reply_to_message_id);
-        }
-        if (null != reply_markup) {
-            postRequest.addParameter("reply_markup", jsonUtil.toJson(reply_markup));
-        }
-        BotServiceWrapper.BotServiceResponse botServiceResponse = botServiceWrapper.call(postRequest);
-        if ((null == botServiceResponse) || (!botServiceResponse.isOk())) {
-            return null;
-        }
-        return jsonUtil.fromJson(jsonUtil.toJson(botServiceResponse.getResult()), Message.class);
+        return botServiceWrapper.call(requestFactory.sendLocationAndVenue(methodName, chat_id, latitude, longitude, title, address, foursquare_id, reply_to_message_id, reply_markup, disable_notification), Message.class, null);
     }
 
     /**
@@ -549,31 +520,7 @@ public final class BotService extends TelegramBot {
      * @throws IOException an exception is thrown in case of any service call failures
      */
     public Message sendContact(ChatId chat_id, String phone_number, String first_name, String last_name, long reply_to_message_id, ReplyMarkup reply_markup, boolean disable_notification) throws IOException {
-        POST postRequest = new POST("sendContact");
-        postRequest.addParameter("chat_id", chat_id.getChatId());
-        if (null != phone_number) {
-            postRequest.addParameter("phone_number", phone_number);
-        }
-        if (null != first_name) {
-            postRequest.addParameter("first_name", first_name);
-        }
-        if (null != last_name) {
-            postRequest.addParameter("last_name", last_name);
-        }
-        if (disable_notification) {
-            postRequest.addParameter("disable_notification", "" + true);
-        }
-        if (reply_to_message_id > 0) {
-            postRequest.addParameter("reply_to_message_id", "" + reply_to_message_id);
-        }
-        if (null != reply_markup) {
-            postRequest.addParameter("reply_markup", jsonUtil.toJson(reply_markup));
-        }
-        BotServiceWrapper.BotServiceResponse botServiceResponse = botServiceWrapper.call(postRequest);
-        if ((null == botServiceResponse) || (!botServiceResponse.isOk())) {
-            return null;
-        }
-        return jsonUtil.fromJson(jsonUtil.toJson(botServiceResponse.getResult()), Message.class);
+        return botServiceWrapper.call(requestFactory.sendContact(chat_id, phone_number, first_name, last_name, reply_to_message_id, reply_markup, disable_notification), Message.class, null);
     }
 
     /**
@@ -585,14 +532,7 @@ public final class BotService extends TelegramBot {
      * @throws IOException an exception is thrown in case of any service call failures
      */
     public boolean sendChatAction(ChatId chat_id, ChatAction action) throws IOException {
-        POST postRequest = new POST("sendChatAction");
-        postRequest.addParameter("chat_id", chat_id.getChatId());
-        postRequest.addParameter("action", "" + action);
-        BotServiceWrapper.BotServiceResponse botServiceResponse = botServiceWrapper.call(postRequest);
-        if ((null == botServiceResponse) || (!botServiceResponse.isOk())) {
-            return false;
-        }
-        return jsonUtil.fromJson(jsonUtil.toJson(botServiceResponse.getResult()), boolean.class);
+        return botServiceWrapper.call(requestFactory.sendChatAction(chat_id, action), Boolean.class, false);
     }
 
     /**
@@ -605,19 +545,7 @@ public final class BotService extends TelegramBot {
      * @throws IOException an exception is thrown in case of any service call failures
      */
     public UserProfilePhotos getUserProfilePhotos(long user_id, int offset, int limit) throws IOException {
-        POST postRequest = new POST("getUserProfilePhotos");
-        postRequest.addParameter("user_id", "" + user_id);
-        if (offset > 0) {
-            postRequest.addParameter("offset", "" + offset);
-        }
-        if ((limit > 0) && (limit < 100)) {
-            postRequest.addParameter("limit", "" + limit);
-        }
-        BotServiceWrapper.BotServiceResponse botServiceResponse = botServiceWrapper.call(postRequest);
-        if ((null == botServiceResponse) || (!botServiceResponse.isOk())) {
-            return null;
-        }
-        return jsonUtil.fromJson(jsonUtil.toJson(botServiceResponse.getResult()), UserProfilePhotos.class);
+        return botServiceWrapper.call(requestFactory.getUserProfilePhotos(user_id, offset, limit), UserProfilePhotos.class, null);
     }
 
     /**
@@ -628,17 +556,12 @@ public final class BotService extends TelegramBot {
      * @throws IOException an exception is thrown in case of any service call failures
      */
     public TFile getFile(String file_id) throws IOException {
-        POST postRequest = new POST("getFile");
-        postRequest.addParameter("file_id", "" + file_id);
-        BotServiceWrapper.BotServiceResponse botServiceResponse = botServiceWrapper.call(postRequest);
-        if ((null == botServiceResponse) || (!botServiceResponse.isOk())) {
-            return null;
-        }
-        return jsonUtil.fromJson(jsonUtil.toJson(botServiceResponse.getResult()), TFile.class);
+        return botServiceWrapper.call(requestFactory.getFile(file_id), TFile.class, null);
     }
 
     /**
      * Use this method to download and return a File object of a given file_id . For the moment, bots can download files of up to 20MB in size.
+     * The download is queued on the DownloadManager of this bot, in the priority class of this bot.
      *
      * @param file_id           File identifier to for the file to be downloaded
      * @param downloadToFile    The local file where the content has to be downloaded
@@ -658,11 +581,11 @@ public final class BotService extends TelegramBot {
         } else {
             hfd = new FileDownloader(downloadableURL, downloadToFile);
         }
-        hfd.start();
+        Future<?> download = downloadManager.submit(hfd, tFile.getFile_size(), requestFactory.getPriority());
         if (waitForCompletion) {
             try {
-                hfd.join();
-            } catch (InterruptedException e) {
+                download.get();
+            } catch (InterruptedException | ExecutionException e) {
                 logger.throwing(this.getClass().getName(), "downloadToFile", e);
             }
         }
@@ -703,40 +626,11 @@ public final class BotService extends TelegramBot {
      * @throws IOException an exception is thrown in case of any service call failures
      */
     public boolean answerInlineQuery(String inline_query_id, InlineQueryResult[] results, String next_offset, boolean is_personal, int cache_time, String switch_pm_text, String switch_pm_parameter) throws IOException {
-        POST postRequest = new POST("answerInlineQuery");
-        postRequest.addParameter("inline_query_id", inline_query_id);
-        postRequest.addParameter("results", "" + jsonUtil.toJson(results));
-        if (next_offset != null) {
-            postRequest.addParameter("next_offset", next_offset);
-        }
-        if (is_personal) {
-            postRequest.addParameter("is_personal", "" + true);
-        }
-        if (cache_time >= 0) {
-            postRequest.addParameter("cache_time", "" + cache_time);
-        }
-        if (null != switch_pm_text) {
-            postRequest.addParameter("switch_pm_text", switch_pm_text);
-        }
-        if (null != switch_pm_parameter) {
-            postRequest.addParameter("switch_pm_parameter", switch_pm_parameter);
-        }
-        BotServiceWrapper.BotServiceResponse botServiceResponse = botServiceWrapper.call(postRequest);
-        if ((null == botServiceResponse) || (!botServiceResponse.isOk())) {
-            return false;
-        }
-        return jsonUtil.fromJson(jsonUtil.toJson(botServiceResponse.getResult()), Boolean.class);
+        return botServiceWrapper.call(requestFactory.answerInlineQuery(inline_query_id, results, next_offset, is_personal, cache_time, switch_pm_text, switch_pm_parameter), Boolean.class, false);
     }
 
     private boolean manageGroupMember(String methodName, ChatId chat_id, long user_id) throws IOException {
-        POST postRequest = new POST(methodName);
-        postRequest.addParameter("chat_id", chat_id.getChatId());
-        postRequest.addParameter("user_id", "" + user_id);
-        BotServiceWrapper.BotServiceResponse botServiceResponse = botServiceWrapper.call(postRequest);
-        if ((null == botServiceResponse) || (!botServiceResponse.isOk())) {
-            return false;
-        }
-        return jsonUtil.fromJson(jsonUtil.toJson(botServiceResponse.getResult()), Boolean.class);
+        return botServiceWrapper.call(requestFactory.manageGroupMember(methodName, chat_id, user_id), Boolean.class, false);
     }
 
     /**
@@ -761,13 +655,7 @@ public final class BotService extends TelegramBot {
      * @throws IOException an exception is thrown in case of any service call failures
      */
     public boolean leaveChat(ChatId chat_id) throws IOException {
-        POST postRequest = new POST("leaveChat");
-        postRequest.addParameter("chat_id", chat_id.getChatId());
-        BotServiceWrapper.BotServiceResponse botServiceResponse = botServiceWrapper.call(postRequest);
-        if ((null == botServiceResponse) || (!botServiceResponse.isOk())) {
-            return false;
-        }
-        return jsonUtil.fromJson(jsonUtil.toJson(botServiceResponse.getResult()), Boolean.class);
+        return botServiceWrapper.call(requestFactory.leaveChat(chat_id), Boolean.class, false);
     }
 
     /**
@@ -793,13 +681,7 @@ public final class BotService extends TelegramBot {
      * @throws IOException an exception is thrown in case of any service call failures
      */
     public Chat getChat(ChatId chat_id) throws IOException {
-        POST postRequest = new POST("getChat");
-        postRequest.addParameter("chat_id", chat_id.getChatId());
-        BotServiceWrapper.BotServiceResponse botServiceResponse = botServiceWrapper.call(postRequest);
-        if ((null == botServiceResponse) || (!botServiceResponse.isOk())) {
-            return null;
-        }
-        return jsonUtil.fromJson(jsonUtil.toJson(botServiceResponse.getResult()), Chat.class);
+        return botServiceWrapper.call(requestFactory.getChat(chat_id), Chat.class, null);
     }
 
     /**
@@ -811,13 +693,7 @@ public final class BotService extends TelegramBot {
      * @throws IOException an exception is thrown in case of any service call failures
      */
     public ChatMember[] getChatAdministrators(ChatId chat_id) throws IOException {
-        POST postRequest = new POST("getChatAdministrators");
-        postRequest.addParameter("chat_id", chat_id.getChatId());
-        BotServiceWrapper.BotServiceResponse botServiceResponse = botServiceWrapper.call(postRequest);
-        if ((null == botServiceResponse) || (!botServiceResponse.isOk())) {
-            return null;
-        }
-        return jsonUtil.fromJson(jsonUtil.toJson(botServiceResponse.getResult()), ChatMember[].class);
+        return botServiceWrapper.call(requestFactory.getChatAdministrators(chat_id), ChatMember[].class, null);
     }
 
     /**
@@ -828,13 +704,7 @@ public final class BotService extends TelegramBot {
      * @throws IOException an exception is thrown in case of any service call failures
      */
     public int getChatMembersCount(ChatId chat_id) throws IOException {
-        POST postRequest = new POST("getChatMembersCount");
-        postRequest.addParameter("chat_id", chat_id.getChatId());
-        BotServiceWrapper.BotServiceResponse botServiceResponse = botServiceWrapper.call(postRequest);
-        if ((null == botServiceResponse) || (!botServiceResponse.isOk())) {
-            return 0;
-        }
-        return jsonUtil.fromJson(jsonUtil.toJson(botServiceResponse.getResult()), Integer.class);
+        return botServiceWrapper.call(requestFactory.getChatMembersCount(chat_id), Integer.class, 0);
     }
 
     /**
@@ -846,14 +716,7 @@ public final class BotService extends TelegramBot {
      * @throws IOException an exception is thrown in case of any service call failures
      */
     public ChatMember getChatMember(ChatId chat_id, long user_id) throws IOException {
-        POST postRequest = new POST("getChatMember");
-        postRequest.addParameter("chat_id", chat_id.getChatId());
-        postRequest.addParameter("user_id", user_id + "");
-        BotServiceWrapper.BotServiceResponse botServiceResponse = botServiceWrapper.call(postRequest);
-        if ((null == botServiceResponse) || (!botServiceResponse.isOk())) {
-            return null;
-        }
-        return jsonUtil.fromJson(jsonUtil.toJson(botServiceResponse.getResult()), ChatMember.class);
+        return botServiceWrapper.call(requestFactory.getChatMember(chat_id, user_id), ChatMember.class, null);
     }
 
     /**
@@ -867,19 +730,7 @@ public final class BotService extends TelegramBot {
      * @throws IOException an exception is thrown in case of any service call failures
      */
     public boolean answerCallbackQuery(String callback_query_id, String text, boolean show_alert) throws IOException {
-        POST postRequest = new POST("answerCallbackQuery");
-        postRequest.addParameter("callback_query_id", callback_query_id);
-        if (null != text) {
-            postRequest.addParameter("text", text);
-        }
-        if (show_alert) {
-            postRequest.addParameter("show_alert", "" + true);
-        }
-        BotServiceWrapper.BotServiceResponse botServiceResponse = botServiceWrapper.call(postRequest);
-        if ((null == botServiceResponse) || (!botServiceResponse.isOk())) {
-            return false;
-        }
-        return jsonUtil.fromJson(jsonUtil.toJson(botServiceResponse.getResult()), Boolean.class);
+        return botServiceWrapper.call(requestFactory.answerCallbackQuery(callback_query_id, text, show_alert), Boolean.class, false);
     }
 
     /**
@@ -896,24 +747,7 @@ public final class BotService extends TelegramBot {
      */
     @Override
     public Message editMessageText(ChatId chat_id, long message_id, String text, ParseMode parse_mode, boolean disable_web_page_preview, InlineKeyboardMarkup reply_markup) throws IOException {
-        POST postRequest = new POST("editMessageText");
-        postRequest.addParameter("chat_id", chat_id.getChatId());
-        postRequest.addParameter("message_id", "" + message_id);
-        postRequest.addParameter("text", text);
-        if (parse_mode != null) {
-            postRequest.addParameter("parse_mode", parse_mode.toString());
-        }
-        if (disable_web_page_preview) {
-            postRequest.addParameter("disable_web_page_preview", "" + true);
-        }
-        if (null != reply_markup) {
-            postRequest.addParameter("reply_markup", jsonUtil.toJson(reply_markup));
-        }
-        BotServiceWrapper.BotServiceResponse botServiceResponse = botServiceWrapper.call(postRequest);
-        if ((null == botServiceResponse) || (!botServiceResponse.isOk())) {
-            return null;
-        }
-        return jsonUtil.fromJson(jsonUtil.toJson(botServiceResponse.getResult()), Message.class);
+        return botServiceWrapper.call(requestFactory.editMessageText(chat_id, message_id, text, parse_mode, disable_web_page_preview, reply_markup), Message.class, null);
     }
 
     /**
@@ -929,23 +763,7 @@ public final class BotService extends TelegramBot {
      */
     @Override
     public boolean editMessageText(String inline_message_id, String text, ParseMode parse_mode, boolean disable_web_page_preview, InlineKeyboardMarkup reply_markup) throws IOException {
-        POST postRequest = new POST("editMessageText");
-        postRequest.addParameter("inline_message_id", inline_message_id);
-        postRequest.addParameter("text", text);
-        if (parse_mode != null) {
-            postRequest.addParameter("parse_mode", parse_mode.toString());
-        }
-        if (disable_web_page_preview) {
-            postRequest.addParameter("disable_web_page_preview", "" + true);
-        }
-        if (null != reply_markup) {
-            postRequest.addParameter("reply_markup", jsonUtil.toJson(reply_markup));
-        }
-        BotServiceWrapper.BotServiceResponse botServiceResponse = botServiceWrapper.call(postRequest);
-        if ((null == botServiceResponse) || (!botServiceResponse.isOk())) {
-            return false;
-        }
-        return jsonUtil.fromJson(jsonUtil.toJson(botServiceResponse.getResult()), Boolean.class);
+        return botServiceWrapper.call(requestFactory.editMessageText(inline_message_id, text, parse_mode, disable_web_page_preview, reply_markup), Boolean.class, false);
     }
 
     /**
@@ -960,20 +778,7 @@ public final class BotService extends TelegramBot {
      */
     @Override
     public Message editMessageCaption(ChatId chat_id, long message_id, String caption, InlineKeyboardMarkup reply_markup) throws IOException {
-        POST postRequest = new POST("editMessageCaption");
-        postRequest.addParameter("chat_id", chat_id.getChatId());
-        postRequest.addParameter("message_id", "" + message_id);
-        if (null != caption) {
-            postRequest.addParameter("caption", caption);
-        }
-        if (null != reply_markup) {
-            postRequest.addParameter("reply_markup", jsonUtil.toJson(reply_markup));
-        }
-        BotServiceWrapper.BotServiceResponse botServiceResponse = botServiceWrapper.call(postRequest);
-        if ((null == botServiceResponse) || (!botServiceResponse.isOk())) {
-            return null;
-        }
-        return jsonUtil.fromJson(jsonUtil.toJson(botServiceResponse.getResult()), Message.class);
+        return botServiceWrapper.call(requestFactory.editMessageCaption(chat_id, message_id, caption, reply_markup), Message.class, null);
     }
 
     /**
@@ -987,19 +792,7 @@ public final class BotService extends TelegramBot {
      */
     @Override
     public boolean editMessageCaption(String inline_message_id, String caption, InlineKeyboardMarkup reply_markup) throws IOException {
-        POST postRequest = new POST("editMessageCaption");
-        postRequest.addParameter("inline_message_id", inline_message_id);
-        if (null != caption) {
-            postRequest.addParameter("caption", caption);
-        }
-        if (null != reply_markup) {
-            postRequest.addParameter("reply_markup", jsonUtil.toJson(reply_markup));
-        }
-        BotServiceWrapper.BotServiceResponse botServiceResponse = botServiceWrapper.call(postRequest);
-        if ((null == botServiceResponse) || (!botServiceResponse.isOk())) {
-            return false;
-        }
-        return jsonUtil.fromJson(jsonUtil.toJson(botServiceResponse.getResult()), Boolean.class);
+        return botServiceWrapper.call(requestFactory.editMessageCaption(inline_message_id, caption, reply_markup), Boolean.class, false);
     }
 
     /**
@@ -1013,17 +806,7 @@ public final class BotService extends TelegramBot {
      */
     @Override
     public Message editMessageReplyMarkup(ChatId chat_id, long message_id, InlineKeyboardMarkup reply_markup) throws IOException {
-        POST postRequest = new POST("editMessageReplyMarkup");
-        postRequest.addParameter("chat_id", chat_id.getChatId());
-        postRequest.addParameter("message_id", "" + message_id);
-        if (null != reply_markup) {
-            postRequest.addParameter("reply_markup", jsonUtil.toJson(reply_markup));
-        }
-        BotServiceWrapper.BotServiceResponse botServiceResponse = botServiceWrapper.call(postRequest);
-        if ((null == botServiceResponse) || (!botServiceResponse.isOk())) {
-            return null;
-        }
-        return jsonUtil.fromJson(jsonUtil.toJson(botServiceResponse.getResult()), Message.class);
+        return botServiceWrapper.call(requestFactory.editMessageReplyMarkup(chat_id, message_id, reply_markup), Message.class, null);
     }
 
     /**
@@ -1036,16 +819,7 @@ public final class BotService extends TelegramBot {
      */
     @Override
     public boolean editMessageReplyMarkup(String inline_message_id, InlineKeyboardMarkup reply_markup) throws IOException {
-        POST postRequest = new POST("editMessageReplyMarkup");
-        postRequest.addParameter("inline_message_id", inline_message_id);
-        if (null != reply_markup) {
-            postRequest.addParameter("reply_markup", jsonUtil.toJson(reply_markup));
-        }
-        BotServiceWrapper.BotServiceResponse botServiceResponse = botServiceWrapper.call(postRequest);
-        if ((null == botServiceResponse) || (!botServiceResponse.isOk())) {
-            return false;
-        }
-        return jsonUtil.fromJson(jsonUtil.toJson(botServiceResponse.getResult()), Boolean.class);
+        return botServiceWrapper.call(requestFactory.editMessageReplyMarkup(inline_message_id, reply_markup), Boolean.class, false);
     }
 
 }
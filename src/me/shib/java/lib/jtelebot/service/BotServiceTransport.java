@@ -0,0 +1,21 @@
+package me.shib.java.lib.jtelebot.service;
+
+import java.io.IOException;
+
+/**
+ * Sends Bot API requests over HTTP. Implement this interface to control how connections to the Bot API are made and reused.
+ * Implementations must be thread safe, as a transport is shared by all the threads that use a bot.
+ */
+public interface BotServiceTransport {
+
+    /**
+     * Sends a request to the Bot API and reads the complete response.
+     *
+     * @param endPoint the URL of the bot, e.g. https://api.telegram.org/bot&lt;token&gt;, to which the method name is appended
+     * @param request  the request to be sent
+     * @return the status code and body of the response
+     * @throws IOException an exception is thrown in case of any connection failures
+     */
+    TransportResponse call(String endPoint, BotApiRequest request) throws IOException;
+
+}
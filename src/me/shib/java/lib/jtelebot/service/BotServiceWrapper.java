@@ -1,25 +1,776 @@
 package me.shib.java.lib.jtelebot.service;
 
-import me.shib.java.lib.restiny.RESTinyClient;
-import me.shib.java.lib.restiny.Response;
-import me.shib.java.lib.restiny.requests.Request;
+import com.google.gson.Gson;
+import me.shib.java.lib.jtelebot.models.types.ResponseParameters;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UnsupportedEncodingException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 final class BotServiceWrapper {
 
-    private RESTinyClient resTinyClient;
+    private static final int defaultCallThreadCount = 20;
+    private static final int defaultCallQueueCapacity = 1000;
+    private static final Executor directExecutor = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    private String endPoint;
+    private volatile BotServiceTransport transport;
+    private volatile BotServiceTransport uploadTransport;
+    private Gson gson;
+    private volatile BotRetryEngine retryEngine;
+    private volatile BotRateLimiter rateLimiter;
+    private volatile OutboundScheduler scheduler;
+    private volatile BotCallDeadlines deadlines;
+    private volatile BotHedgingEngine hedgingEngine;
+    private volatile boolean readCoalescing;
+    private volatile Executor callExecutor;
+    private Executor hedgeExecutor;
+    private ConcurrentMap<String, BotCallFuture<?>> inFlightReads;
+
+    BotServiceWrapper(String endPoint, BotServiceTransport transport) {
+        this(endPoint, transport, transport);
+    }
+
+    BotServiceWrapper(String endPoint, BotServiceTransport transport, BotServiceTransport uploadTransport) {
+        this.endPoint = endPoint;
+        this.transport = transport;
+        this.uploadTransport = uploadTransport;
+        this.gson = new Gson();
+        this.retryEngine = new BotRetryEngine(new BotRetryPolicy());
+        this.rateLimiter = new BotRateLimiter();
+        this.deadlines = new BotCallDeadlines();
+        this.readCoalescing = true;
+        this.inFlightReads = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Creates a pool for calls made on a blocking transport, with a thread per connection of a PooledHttpTransport,
+     * or 20 threads otherwise, and a queue of 1000 calls. Calls beyond the queue are rejected.
+     */
+    static Executor newCallExecutor(BotServiceTransport transport, final String threadName) {
+        int threadCount = (transport instanceof PooledHttpTransport)
+                ? ((PooledHttpTransport) transport).getMaxConnections() : defaultCallThreadCount;
+        ThreadPoolExecutor callExecutor = new ThreadPoolExecutor(threadCount, threadCount, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<Runnable>(defaultCallQueueCapacity), new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, threadName);
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        callExecutor.allowCoreThreadTimeOut(true);
+        return callExecutor;
+    }
+
+    private BotServiceTransport transportFor(BotApiRequest request) {
+        return request.isMultipart() ? uploadTransport : transport;
+    }
+
+    BotServiceTransport getTransport() {
+        return transport;
+    }
+
+    /**
+     * Sends the calls made from now on through the given transport. Calls in flight complete on the transport they started on.
+     */
+    void setTransport(BotServiceTransport transport) {
+        this.transport = transport;
+        this.uploadTransport = transport;
+    }
+
+    void setRateLimiter(BotRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    BotRateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    void setOutboundScheduler(OutboundScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    OutboundScheduler getOutboundScheduler() {
+        return scheduler;
+    }
+
+    void setCallDeadlines(BotCallDeadlines deadlines) {
+        this.deadlines = deadlines;
+    }
+
+    BotCallDeadlines getCallDeadlines() {
+        return deadlines;
+    }
+
+    void setReadCoalescing(boolean readCoalescing) {
+        this.readCoalescing = readCoalescing;
+    }
+
+    boolean isReadCoalescing() {
+        return readCoalescing;
+    }
+
+    /**
+     * Makes the asynchronous calls of a blocking transport on the given executor instead of on the callback executor of each call.
+     */
+    void setCallExecutor(Executor callExecutor) {
+        this.callExecutor = callExecutor;
+    }
+
+    void setHedgingPolicy(BotHedgingPolicy hedgingPolicy) {
+        this.hedgingEngine = (null == hedgingPolicy) ? null : new BotHedgingEngine(hedgingPolicy);
+    }
+
+    /**
+     * @return the executor on which a blocking transport sends the requests of hedged calls: the call executor if there is one,
+     * or else a bounded pool of this bot created on first use
+     */
+    private synchronized Executor getHedgeExecutor() {
+        Executor executor = callExecutor;
+        if (null != executor) {
+            return executor;
+        }
+        if (null == hedgeExecutor) {
+            hedgeExecutor = newCallExecutor(transport, "jtelebot-hedge");
+        }
+        return hedgeExecutor;
+    }
+
+    BotHedgingPolicy getHedgingPolicy() {
+        BotHedgingEngine engine = hedgingEngine;
+        return (null == engine) ? null : engine.getPolicy();
+    }
+
+    void setRetryPolicy(BotRetryPolicy retryPolicy) {
+        this.retryEngine = new BotRetryEngine(retryPolicy);
+    }
+
+    BotRetryPolicy getRetryPolicy() {
+        return retryEngine.getPolicy();
+    }
+
+    BotServiceResponse call(BotApiRequest request) throws IOException {
+        BotRetryEngine engine = retryEngine;
+        ScheduledFuture<?> watchdog = startDeadline(request, null);
+        try {
+            for (int attempt = 1; ; attempt++) {
+                throttle(request);
+                if (request.isAborted()) {
+                    throw request.getAbortCause();
+                }
+                engine.acquire(request.getMethodName());
+                long retryDelay;
+                BotServiceResponse botServiceResponse = null;
+                IOException failure = null;
+                try {
+                    TransportResponse response = send(request);
+                    botServiceResponse = toServiceResponse(response);
+                    retryDelay = engine.onResponse(request, attempt, response.getStatusCode(), botServiceResponse);
+                } catch (IOException e) {
+                    retryDelay = engine.onFailure(request, attempt, e);
+                    if (request.isAborted()) {
+                        throw request.getAbortCause();
+                    }
+                    failure = e;
+                } catch (RuntimeException e) {
+                    engine.onError(request.getMethodName());
+                    throw e;
+                }
+                if ((retryDelay < 0) || request.isPastDeadlineAfter(retryDelay)) {
+                    if (null != failure) {
+                        throw failure;
+                    }
+                    return botServiceResponse;
+                }
+                sleep(TimeUnit.MILLISECONDS.toNanos(retryDelay), request);
+            }
+        } finally {
+            if (null != watchdog) {
+                watchdog.cancel(false);
+            }
+        }
+    }
+
+    private TransportResponse send(BotApiRequest request) throws IOException {
+        BotHedgingEngine hedging = hedgingEngine;
+        if ((null == hedging) || !hedging.appliesTo(request)) {
+            return transportFor(request).call(endPoint, request);
+        }
+        HedgedCall hedgedCall = new HedgedCall(transportFor(request), endPoint, request, hedging, getHedgeExecutor(), null);
+        hedgedCall.start();
+        return hedgedCall.await();
+    }
+
+    /**
+     * Sets the deadline of the call and schedules a watchdog that aborts it once the deadline passes.
+     *
+     * @param onExpiry what to do besides aborting the request when the deadline passes, or null
+     * @return the watchdog, or null if the call has no deadline
+     */
+    private ScheduledFuture<?> startDeadline(final BotApiRequest request, final BotCallFuture<?> onExpiry) {
+        final long deadlineMillis = deadlines.deadlineFor(request);
+        if (deadlineMillis <= 0) {
+            return null;
+        }
+        request.setDeadline(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMillis));
+        return BotRetryEngine.schedule(new Runnable() {
+            @Override
+            public void run() {
+                BotDeadlineExceededException cause = new BotDeadlineExceededException(request.getMethodName(), deadlineMillis);
+                if (null != onExpiry) {
+                    onExpiry.fail(cause);
+                }
+                request.abort(cause);
+            }
+        }, deadlineMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Waits for the chat's bucket and then for the global bucket. A reservation that could not be used before the deadline
+     * is not made, and a reservation the call gives up on is released, so that it does not hold back the calls after it.
+     */
+    private void throttle(BotApiRequest request) throws IOException {
+        BotRateLimiter limiter = rateLimiter;
+        if ((null == limiter) || !limiter.appliesTo(request)) {
+            return;
+        }
+        String chatId = request.getParameter("chat_id");
+        long chatWait = limiter.reserveChat(chatId, request.getRemainingNanos());
+        if (chatWait < 0) {
+            throw pastDeadline(request);
+        }
+        try {
+            sleep(chatWait, request);
+        } catch (IOException e) {
+            limiter.releaseChat(chatId);
+            throw e;
+        }
+        long globalWait = limiter.reserveGlobal(request.getRemainingNanos());
+        if (globalWait < 0) {
+            limiter.releaseChat(chatId);
+            throw pastDeadline(request);
+        }
+        try {
+            sleep(globalWait, request);
+        } catch (IOException e) {
+            limiter.releaseChat(chatId);
+            limiter.releaseGlobal();
+            throw e;
+        }
+    }
+
+    private BotDeadlineExceededException pastDeadline(BotApiRequest request) {
+        return new BotDeadlineExceededException(request.getMethodName(), deadlines.deadlineFor(request));
+    }
+
+    /**
+     * Waits for the given time, and fails with the cause of the abort as soon as the call is aborted.
+     */
+    private void sleep(long waitNanos, BotApiRequest request) throws IOException {
+        if (waitNanos <= 0) {
+            return;
+        }
+        boolean aborted;
+        try {
+            aborted = request.awaitAbort(waitNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to send " + request.getMethodName());
+        }
+        if (aborted) {
+            throw request.getAbortCause();
+        }
+    }
+
+    private BotServiceResponse toServiceResponse(TransportResponse response) {
+        if (null == response.getBody()) {
+            return null;
+        }
+        try {
+            return gson.fromJson(response.getBody(), BotServiceResponse.class);
+        } catch (RuntimeException e) {
+            // Proxies and load balancers answer some errors with pages that are not JSON
+            return null;
+        }
+    }
+
+    <T> T call(BotApiRequest request, Class<T> resultType, T failureResult) throws IOException {
+        if (coalesces(request)) {
+            return awaitResult(coalesce(request, resultType, failureResult, directExecutor, directExecutor));
+        }
+        return callDirect(request, resultType, failureResult);
+    }
+
+    private <T> T callDirect(BotApiRequest request, Class<T> resultType, T failureResult) throws IOException {
+        OutboundScheduler outboundScheduler = scheduler;
+        if ((null != outboundScheduler) && outboundScheduler.appliesTo(request)) {
+            BotCallFuture<T> future = new BotCallFuture<>(directExecutor);
+            new AsyncAttempt<>(request, resultType, failureResult, future, retryEngine, null, outboundScheduler).run();
+            return awaitResult(future);
+        }
+        return toResult(call(request), resultType, failureResult);
+    }
+
+    <T> BotCallFuture<T> callAsync(BotApiRequest request, Class<T> resultType, T failureResult, Executor executor) {
+        Executor blockingCallExecutor = callExecutor;
+        return callAsync(request, resultType, failureResult, executor, (null == blockingCallExecutor) ? executor : blockingCallExecutor);
+    }
+
+    /**
+     * Starts a call whose callbacks run on the callback executor, while a blocking transport makes the call on the call executor,
+     * so that a long running call like a long poll does not hold a callback thread.
+     */
+    <T> BotCallFuture<T> callAsync(BotApiRequest request, Class<T> resultType, T failureResult,
+                                   Executor callbackExecutor, Executor callExecutor) {
+        if (coalesces(request)) {
+            return coalesce(request, resultType, failureResult, callbackExecutor, callExecutor);
+        }
+        return startCall(request, resultType, failureResult, callbackExecutor, callExecutor);
+    }
+
+    private <T> BotCallFuture<T> startCall(final BotApiRequest request, final Class<T> resultType, final T failureResult,
+                                           Executor executor, Executor callExecutor) {
+        final BotCallFuture<T> future = new BotCallFuture<>(executor);
+        OutboundScheduler outboundScheduler = scheduler;
+        if ((null != outboundScheduler) && outboundScheduler.appliesTo(request)) {
+            new AsyncAttempt<>(request, resultType, failureResult, future, retryEngine, null, outboundScheduler).run();
+        } else if (transportFor(request) instanceof AsyncBotServiceTransport) {
+            new AsyncAttempt<>(request, resultType, failureResult, future, retryEngine, rateLimiter, null).run();
+        } else {
+            future.setCancelAction(new Runnable() {
+                @Override
+                public void run() {
+                    request.abort(new InterruptedIOException("Call to " + request.getMethodName() + " cancelled"));
+                }
+            });
+            try {
+                callExecutor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (future.isDone()) {
+                            return;
+                        }
+                        try {
+                            future.complete(callDirect(request, resultType, failureResult));
+                        } catch (IOException | RuntimeException e) {
+                            future.fail(e);
+                        }
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                future.fail(new IOException("Call to " + request.getMethodName() + " rejected, as too many calls are queued", e));
+            }
+        }
+        return future;
+    }
+
+    private boolean coalesces(BotApiRequest request) {
+        return readCoalescing && BotHedgingPolicy.idempotentReads.contains(request.getMethodName()) && !request.isMultipart();
+    }
 
-    BotServiceWrapper(String endPoint) {
-        this.resTinyClient = new RESTinyClient(endPoint);
+    /**
+     * Joins the call to an identical read that is already in flight, or makes it the call that the reads arriving
+     * while it is in flight join. Every caller gets a future of its own, so cancelling one does not cancel the shared call,
+     * and each future fails once the deadline of its own call has passed, counted from when that call joined.
+     * All callers get the same result instance.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> BotCallFuture<T> coalesce(BotApiRequest request, Class<T> resultType, T failureResult,
+                                          Executor executor, Executor callExecutor) {
+        final String key;
+        try {
+            key = resultType.getName() + " " + request.getMethodName() + "?" + new String(request.toFormBody(), "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            return startCall(request, resultType, failureResult, executor, callExecutor);
+        }
+        BotCallFuture<T> created = null;
+        BotCallFuture<T> shared = (BotCallFuture<T>) inFlightReads.get(key);
+        if (null == shared) {
+            created = new BotCallFuture<>(directExecutor);
+            shared = (BotCallFuture<T>) inFlightReads.putIfAbsent(key, created);
+            if (null == shared) {
+                shared = created;
+            } else {
+                created = null;
+            }
+        }
+        final BotCallFuture<T> joined = new BotCallFuture<>(executor);
+        final ScheduledFuture<?> watchdog = startJoinedDeadline(request, joined);
+        shared.addCallback(new BotCallback<T>() {
+            @Override
+            public void onSuccess(T result) {
+                cancelWatchdog(watchdog);
+                joined.complete(result);
+            }
+
+            @Override
+            public void onFailure(Throwable failure) {
+                cancelWatchdog(watchdog);
+                joined.fail(failure);
+            }
+        });
+        if (null != created) {
+            final BotCallFuture<T> leader = created;
+            startCall(request, resultType, failureResult, executor, callExecutor).addCallback(new BotCallback<T>() {
+                @Override
+                public void onSuccess(T result) {
+                    inFlightReads.remove(key, leader);
+                    leader.complete(result);
+                }
+
+                @Override
+                public void onFailure(Throwable failure) {
+                    inFlightReads.remove(key, leader);
+                    leader.fail(failure);
+                }
+            });
+        }
+        return joined;
     }
 
-    BotServiceResponse call(Request request) throws IOException {
-        Response response = resTinyClient.call(request);
-        if (response.getStatusCode() != 200) {
+    /**
+     * Schedules a watchdog that fails a caller's future of a shared read once the deadline of the caller's own call passes.
+     * The shared call itself is left to complete for the other callers.
+     *
+     * @return the watchdog, or null if the call has no deadline
+     */
+    private ScheduledFuture<?> startJoinedDeadline(final BotApiRequest request, final BotCallFuture<?> joined) {
+        final long deadlineMillis = deadlines.deadlineFor(request);
+        if (deadlineMillis <= 0) {
             return null;
         }
-        return response.getResponse(BotServiceResponse.class);
+        final ScheduledFuture<?> watchdog = BotRetryEngine.schedule(new Runnable() {
+            @Override
+            public void run() {
+                joined.fail(new BotDeadlineExceededException(request.getMethodName(), deadlineMillis));
+            }
+        }, deadlineMillis, TimeUnit.MILLISECONDS);
+        joined.setCancelAction(new Runnable() {
+            @Override
+            public void run() {
+                watchdog.cancel(false);
+            }
+        });
+        return watchdog;
+    }
+
+    private static void cancelWatchdog(ScheduledFuture<?> watchdog) {
+        if (null != watchdog) {
+            watchdog.cancel(false);
+        }
+    }
+
+    private <T> T awaitResult(BotCallFuture<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the call to complete");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private <T> T toResult(BotServiceResponse botServiceResponse, Class<T> resultType, T failureResult) {
+        if ((null == botServiceResponse) || (!botServiceResponse.isOk())) {
+            return failureResult;
+        }
+        return gson.fromJson(gson.toJson(botServiceResponse.getResult()), resultType);
+    }
+
+    /**
+     * An attempt of an asynchronous call, which schedules itself instead of sleeping when it has to wait for the rate limiter
+     * or for a retry. Each attempt either goes through the outbound scheduler, or waits for its chat's bucket
+     * and then for the global bucket, and is then sent. While it waits, aborting the call cancels the scheduled resume
+     * and releases the reservations it holds.
+     */
+    private final class AsyncAttempt<T> implements Runnable, TransportCallback, ScheduledCall {
+
+        private static final int awaitingChat = 0;
+        private static final int awaitingGlobal = 1;
+        private static final int ready = 2;
+
+        private final BotApiRequest request;
+        private final Class<T> resultType;
+        private final T failureResult;
+        private final BotCallFuture<T> future;
+        private final BotRetryEngine engine;
+        private final BotRateLimiter limiter;
+        private final OutboundScheduler outboundScheduler;
+        private int attempt;
+        private int step;
+        private Runnable release;
+        private boolean started;
+        private volatile ScheduledFuture<?> watchdog;
+        private volatile ScheduledFuture<?> resume;
+        private volatile boolean chatReserved;
+        private volatile boolean globalReserved;
+        private final Runnable abortWait = new Runnable() {
+            @Override
+            public void run() {
+                ScheduledFuture<?> scheduled = resume;
+                if ((null != scheduled) && scheduled.cancel(false)) {
+                    releaseReservations();
+                    fail(request.getAbortCause());
+                }
+            }
+        };
+
+        private AsyncAttempt(BotApiRequest request, Class<T> resultType, T failureResult, BotCallFuture<T> future,
+                             BotRetryEngine engine, BotRateLimiter limiter, OutboundScheduler outboundScheduler) {
+            this.request = request;
+            this.resultType = resultType;
+            this.failureResult = failureResult;
+            this.future = future;
+            this.engine = engine;
+            this.limiter = ((null != limiter) && limiter.appliesTo(request)) ? limiter : null;
+            this.outboundScheduler = outboundScheduler;
+            this.attempt = 0;
+            this.step = awaitingChat;
+        }
+
+        @Override
+        public void run() {
+            resume = null;
+            if (future.isDone() || request.isAborted()) {
+                releaseReservations();
+                if (!future.isDone()) {
+                    fail(request.getAbortCause());
+                }
+                return;
+            }
+            if (!started) {
+                start();
+            }
+            if (null != outboundScheduler) {
+                attempt++;
+                outboundScheduler.submit(this);
+                return;
+            }
+            if (step == awaitingChat) {
+                attempt++;
+                step = awaitingGlobal;
+                if (null != limiter) {
+                    long wait = limiter.reserveChat(request.getParameter("chat_id"), request.getRemainingNanos());
+                    if (wait < 0) {
+                        fail(pastDeadline(request));
+                        return;
+                    }
+                    chatReserved = true;
+                    if (wait > 0) {
+                        resumeAfter(wait);
+                        return;
+                    }
+                }
+            }
+            if (step == awaitingGlobal) {
+                if (null != limiter) {
+                    long wait = limiter.reserveGlobal(request.getRemainingNanos());
+                    if (wait < 0) {
+                        releaseReservations();
+                        fail(pastDeadline(request));
+                        return;
+                    }
+                    globalReserved = true;
+                    if (wait > 0) {
+                        step = ready;
+                        resumeAfter(wait);
+                        return;
+                    }
+                }
+            }
+            step = awaitingChat;
+            chatReserved = false;
+            globalReserved = false;
+            send();
+        }
+
+        /**
+         * Runs the attempt again after the given time, unless the call is aborted in the meantime.
+         */
+        private void resumeAfter(long waitNanos) {
+            if (!request.setAbortAction(abortWait)) {
+                releaseReservations();
+                fail(request.getAbortCause());
+                return;
+            }
+            resume = BotRetryEngine.schedule(this, waitNanos, TimeUnit.NANOSECONDS);
+            if (request.isAborted()) {
+                // Aborted before the resume was scheduled, so the abort action could not cancel it
+                abortWait.run();
+            }
+        }
+
+        private void releaseReservations() {
+            if (chatReserved) {
+                chatReserved = false;
+                limiter.releaseChat(request.getParameter("chat_id"));
+            }
+            if (globalReserved) {
+                globalReserved = false;
+                limiter.releaseGlobal();
+            }
+        }
+
+        private void start() {
+            started = true;
+            future.setCancelAction(new Runnable() {
+                @Override
+                public void run() {
+                    cancelWatchdog();
+                    request.abort(new InterruptedIOException("Call to " + request.getMethodName() + " cancelled"));
+                }
+            });
+            watchdog = startDeadline(request, future);
+        }
+
+        private void cancelWatchdog() {
+            ScheduledFuture<?> deadlineWatchdog = watchdog;
+            if (null != deadlineWatchdog) {
+                deadlineWatchdog.cancel(false);
+            }
+        }
+
+        private void succeed(T result) {
+            cancelWatchdog();
+            future.complete(result);
+        }
+
+        private void fail(Throwable failure) {
+            cancelWatchdog();
+            future.fail(failure);
+        }
+
+        @Override
+        public String getChatKey() {
+            return request.getParameter("chat_id");
+        }
+
+        @Override
+        public OutboundPriority getPriority() {
+            return request.getPriority();
+        }
+
+        @Override
+        public boolean isDone() {
+            return future.isDone();
+        }
+
+        @Override
+        public void dispatch(Runnable release) {
+            this.release = release;
+            if (future.isDone()) {
+                releaseInFlight();
+                return;
+            }
+            send();
+        }
+
+        @Override
+        public void reject(IOException e) {
+            fail(e);
+        }
+
+        private void send() {
+            if (request.isAborted()) {
+                releaseInFlight();
+                fail(request.getAbortCause());
+                return;
+            }
+            try {
+                engine.acquire(request.getMethodName());
+            } catch (BotCircuitOpenException e) {
+                releaseInFlight();
+                fail(e);
+                return;
+            }
+            BotServiceTransport requestTransport = transportFor(request);
+            BotHedgingEngine hedging = hedgingEngine;
+            if ((null != hedging) && hedging.appliesTo(request)) {
+                new HedgedCall(requestTransport, endPoint, request, hedging, getHedgeExecutor(), this).start();
+                return;
+            }
+            if (requestTransport instanceof AsyncBotServiceTransport) {
+                ((AsyncBotServiceTransport) requestTransport).callAsync(endPoint, request, this);
+                return;
+            }
+            TransportResponse response;
+            try {
+                response = requestTransport.call(endPoint, request);
+            } catch (IOException e) {
+                onFailure(e);
+                return;
+            } catch (RuntimeException e) {
+                engine.onError(request.getMethodName());
+                releaseInFlight();
+                fail(e);
+                return;
+            }
+            onResponse(response);
+        }
+
+        private void releaseInFlight() {
+            Runnable inFlight = release;
+            release = null;
+            if (null != inFlight) {
+                inFlight.run();
+            }
+        }
+
+        @Override
+        public void onResponse(TransportResponse response) {
+            releaseInFlight();
+            try {
+                BotServiceResponse botServiceResponse = toServiceResponse(response);
+                long retryDelay = engine.onResponse(request, attempt, response.getStatusCode(), botServiceResponse);
+                if ((retryDelay >= 0) && !request.isPastDeadlineAfter(retryDelay)) {
+                    resumeAfter(TimeUnit.MILLISECONDS.toNanos(retryDelay));
+                    return;
+                }
+                succeed(toResult(botServiceResponse, resultType, failureResult));
+            } catch (RuntimeException e) {
+                fail(e);
+            }
+        }
+
+        @Override
+        public void onFailure(IOException e) {
+            releaseInFlight();
+            long retryDelay = engine.onFailure(request, attempt, e);
+            if (request.isAborted()) {
+                fail(request.getAbortCause());
+                return;
+            }
+            if ((retryDelay >= 0) && !request.isPastDeadlineAfter(retryDelay)) {
+                resumeAfter(TimeUnit.MILLISECONDS.toNanos(retryDelay));
+                return;
+            }
+            fail(e);
+        }
     }
 
     class BotServiceResponse {
@@ -27,12 +778,14 @@ final class BotServiceWrapper {
         private int error_code;
         private String description;
         private Object result;
+        private ResponseParameters parameters;
 
         private BotServiceResponse() {
             this.ok = false;
             this.error_code = 0;
             this.description = null;
             this.result = null;
+            this.parameters = null;
         }
 
         boolean isOk() {
@@ -50,6 +803,10 @@ final class BotServiceWrapper {
         Object getResult() {
             return result;
         }
+
+        ResponseParameters getParameters() {
+            return parameters;
+        }
     }
 
 }
@@ -1,46 +1,64 @@
 package me.shib.java.lib.jtelebot.service;
 
+import com.google.gson.Gson;
 import me.shib.java.lib.jtelebot.models.updates.Update;
-import me.shib.java.lib.restiny.requests.POST;
-import me.shib.java.lib.utils.JsonUtil;
 
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 
 final class BotUpdateService {
 
     private static Map<String, BotUpdateService> botUpdateServiceMap = new HashMap<>();
+    private static ExecutorService longPollExecutor;
 
     private long updateServiceOffset;
-    private JsonUtil jsonUtil;
+    private Gson gson;
     private BotServiceWrapper botServiceWrapper;
 
-    private BotUpdateService(String botApiToken, String endPoint) {
-        this.jsonUtil = new JsonUtil();
-        this.botServiceWrapper = new BotServiceWrapper(endPoint + "/bot" + botApiToken);
+    private BotUpdateService(String botApiToken, String endPoint, BotServiceTransport transport) {
+        this.gson = new Gson();
+        this.botServiceWrapper = new BotServiceWrapper(endPoint + "/bot" + botApiToken,
+                (null == transport) ? BotConnectionPools.newLongPollTransport() : transport);
         this.updateServiceOffset = 0;
     }
 
     /**
      * Creates a singleton object for the given bot API token. For every unique API token, a singleton object is created.
+     * When a transport is given and the existing object uses another one, it is rebound to the given transport,
+     * so the long poll runs on the transport of the BotService created last. A long poll in progress completes on the old transport.
      *
      * @param botApiToken the API token that is given by @BotFather bot
      * @param endPoint    the endpoint to call the Bot API service. Might be used in case of proxy services.
+     * @param transport   the transport for getUpdates, or null to keep the current one, which is a dedicated long poll transport by default
      * @return A singleton instance of the bot's update receiver for a given API token. Returns null if null or empty values are provided.
      */
-    static synchronized BotUpdateService getInstance(String botApiToken, String endPoint) {
+    static synchronized BotUpdateService getInstance(String botApiToken, String endPoint, BotServiceTransport transport) {
         if ((botApiToken == null) || (botApiToken.isEmpty())) {
             return null;
         }
         BotUpdateService botUpdateService = botUpdateServiceMap.get(endPoint + "/bot" + botApiToken);
         if (botUpdateService == null) {
-            botUpdateService = new BotUpdateService(botApiToken, endPoint);
+            botUpdateService = new BotUpdateService(botApiToken, endPoint, transport);
             botUpdateServiceMap.put(endPoint + "/bot" + botApiToken, botUpdateService);
+        } else if ((null != transport) && (transport != botUpdateService.botServiceWrapper.getTransport())) {
+            botUpdateService.botServiceWrapper.setTransport(transport);
         }
         return botUpdateService;
     }
 
+    void setCallDeadlines(BotCallDeadlines deadlines) {
+        botServiceWrapper.setCallDeadlines(deadlines);
+    }
+
+    void setRetryPolicy(BotRetryPolicy retryPolicy) {
+        botServiceWrapper.setRetryPolicy(retryPolicy);
+    }
+
     /**
      * Use this method to receive incoming updates using long polling with the given timeout value.
      *
@@ -51,21 +69,51 @@ final class BotUpdateService {
      * @throws IOException an exception is thrown in case of any service call failures
      */
     synchronized Update[] getUpdates(int timeout, int limit, long offset) throws IOException {
-        POST postRequest = new POST("getUpdates");
+        BotServiceWrapper.BotServiceResponse botServiceResponse = botServiceWrapper.call(newRequest(timeout, limit, offset));
+        if ((null == botServiceResponse) || (!botServiceResponse.isOk())) {
+            return new Update[0];
+        }
+        return gson.fromJson(gson.toJson(botServiceResponse.getResult()), Update[].class);
+    }
+
+    /**
+     * Starts a long poll without holding the calling thread. With a blocking transport, the poll holds a thread of a shared
+     * long poll pool for as long as it is open, so the pool grows with the number of polls open at once.
+     *
+     * @param callbackExecutor the executor on which the callbacks of the returned future run
+     * @return the pending updates. An empty array is the result if the call is not successful.
+     */
+    BotCallFuture<Update[]> getUpdatesAsync(int timeout, int limit, long offset, Executor callbackExecutor) {
+        return botServiceWrapper.callAsync(newRequest(timeout, limit, offset), Update[].class, new Update[0],
+                callbackExecutor, getLongPollExecutor());
+    }
+
+    private static BotApiRequest newRequest(int timeout, int limit, long offset) {
+        BotApiRequest request = new BotApiRequest("getUpdates");
         if (offset > 0) {
-            postRequest.addParameter("offset", "" + offset);
+            request.addParameter("offset", "" + offset);
         }
         if ((limit > 0) && (limit <= 100)) {
-            postRequest.addParameter("limit", "" + limit);
+            request.addParameter("limit", "" + limit);
         }
         if (timeout > 0) {
-            postRequest.addParameter("timeout", "" + timeout);
+            request.addParameter("timeout", "" + timeout);
         }
-        BotServiceWrapper.BotServiceResponse botServiceResponse = botServiceWrapper.call(postRequest);
-        if ((null == botServiceResponse) || (!botServiceResponse.isOk())) {
-            return new Update[0];
+        return request;
+    }
+
+    private static synchronized ExecutorService getLongPollExecutor() {
+        if (null == longPollExecutor) {
+            longPollExecutor = Executors.newCachedThreadPool(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "jtelebot-long-poll");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
         }
-        return jsonUtil.fromJson(jsonUtil.toJson(botServiceResponse.getResult()), Update[].class);
+        return longPollExecutor;
     }
 
     /**
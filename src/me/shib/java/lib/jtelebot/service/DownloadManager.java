@@ -0,0 +1,175 @@
+package me.shib.java.lib.jtelebot.service;
+
+import me.shib.java.lib.utils.FileDownloader;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs file downloads on a bounded pool of worker threads instead of a thread per download, so bursts of media
+ * only grow the queue. Queued downloads start in priority order, interactive before bulk and first come first served within each.
+ * When an admission rate is set, each download of a known size reserves that size from a byte-rate bucket before it starts,
+ * and the next download waits until those bytes have been paid for. This is admission control, not a bandwidth cap:
+ * it only spaces out the starts of downloads, a started download runs at whatever rate the network gives it,
+ * and downloads of unknown size are admitted without being counted. FileDownloader reads the stream itself,
+ * so the bytes cannot be throttled as they are read.
+ * A download waiting for admission gives its worker back and is queued again once it can be admitted,
+ * so the other queued downloads are not held up behind a sleeping worker.
+ * A manager can be shared by several bots to apply one admission rate to all their downloads.
+ */
+public final class DownloadManager {
+
+    private static final int defaultWorkerThreads = 4;
+
+    private ThreadPoolExecutor workers;
+    private TokenBucket admission;
+    private long admittedBytesPerSecond;
+    private AtomicLong sequence;
+    private AtomicInteger deferredCount;
+    private volatile boolean shutdown;
+
+    /**
+     * Creates a download manager.
+     *
+     * @param workerThreads          the maximum number of downloads running at once
+     * @param admittedBytesPerSecond the rate at which the sizes of starting downloads are admitted, or 0 to start them right away
+     */
+    public DownloadManager(int workerThreads, long admittedBytesPerSecond) {
+        if (workerThreads < 1) {
+            throw new IllegalArgumentException("Worker thread count must be greater than 0");
+        }
+        if (admittedBytesPerSecond < 0) {
+            throw new IllegalArgumentException("Download admission rate cannot be negative");
+        }
+        this.workers = new ThreadPoolExecutor(workerThreads, workerThreads, 60, TimeUnit.SECONDS,
+                new PriorityBlockingQueue<Runnable>(), new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "jtelebot-file-download");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        this.workers.allowCoreThreadTimeOut(true);
+        if (admittedBytesPerSecond > 0) {
+            long intervalNanos = Math.max(1, TimeUnit.SECONDS.toNanos(1) / admittedBytesPerSecond);
+            this.admission = new TokenBucket(intervalNanos, (int) Math.min(Integer.MAX_VALUE, admittedBytesPerSecond));
+        }
+        this.admittedBytesPerSecond = admittedBytesPerSecond;
+        this.sequence = new AtomicLong();
+        this.deferredCount = new AtomicInteger();
+        this.shutdown = false;
+    }
+
+    /**
+     * Creates a download manager running up to 4 downloads at once, starting each one right away.
+     */
+    public DownloadManager() {
+        this(defaultWorkerThreads, 0);
+    }
+
+    /**
+     * @return the maximum number of downloads running at once
+     */
+    public int getWorkerThreads() {
+        return workers.getMaximumPoolSize();
+    }
+
+    /**
+     * @return the rate at which the sizes of starting downloads are admitted, 0 if downloads start right away
+     */
+    public long getAdmittedBytesPerSecond() {
+        return admittedBytesPerSecond;
+    }
+
+    /**
+     * @return the number of downloads waiting for a worker or for admission
+     */
+    public int getQueuedCount() {
+        return workers.getQueue().size() + deferredCount.get();
+    }
+
+    /**
+     * Stops taking new downloads. Queued and running downloads still complete, including those waiting for admission,
+     * and the workers stop once they have been idle for a minute.
+     */
+    public void shutdown() {
+        shutdown = true;
+    }
+
+    /**
+     * Queues a download. The downloader is run on a worker thread instead of being started as a thread of its own,
+     * and its DownloadProgress reports the download as usual once it starts.
+     *
+     * @param downloader    the download to run
+     * @param expectedBytes the size of the file if known, 0 otherwise
+     * @param priority      the priority of the download in the queue
+     * @return a future that is done when the download has finished
+     * @throws RejectedExecutionException if the manager was shut down
+     */
+    Future<?> submit(FileDownloader downloader, long expectedBytes, OutboundPriority priority) {
+        if (shutdown) {
+            throw new RejectedExecutionException("Download manager is shut down");
+        }
+        DownloadTask task = new DownloadTask(downloader, expectedBytes, priority, sequence.getAndIncrement());
+        workers.execute(task);
+        return task;
+    }
+
+    private final class DownloadTask extends FutureTask<Void> implements Comparable<DownloadTask> {
+
+        private final long expectedBytes;
+        private final OutboundPriority priority;
+        private final long order;
+
+        private DownloadTask(FileDownloader downloader, long expectedBytes, OutboundPriority priority, long order) {
+            super(downloader, null);
+            this.expectedBytes = expectedBytes;
+            this.priority = priority;
+            this.order = order;
+        }
+
+        /**
+         * Starts the download if it can be admitted, and otherwise queues it again once the bucket has room for it.
+         */
+        @Override
+        public void run() {
+            if (!isDone() && !admit(expectedBytes)) {
+                defer(this);
+                return;
+            }
+            super.run();
+        }
+
+        @Override
+        public int compareTo(DownloadTask other) {
+            int byPriority = priority.compareTo(other.priority);
+            if (byPriority != 0) {
+                return byPriority;
+            }
+            return (order < other.order) ? -1 : ((order == other.order) ? 0 : 1);
+        }
+    }
+
+    private boolean admit(long expectedBytes) {
+        return (null == admission) || (expectedBytes <= 0) || (admission.tryReserve(expectedBytes, 0) >= 0);
+    }
+
+    private void defer(final DownloadTask task) {
+        deferredCount.incrementAndGet();
+        BotRetryEngine.schedule(new Runnable() {
+            @Override
+            public void run() {
+                deferredCount.decrementAndGet();
+                workers.execute(task);
+            }
+        }, admission.peek(System.nanoTime()), TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,216 @@
+package me.shib.java.lib.jtelebot.service;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A single attempt of a hedged call. The first request is sent right away and, if it has not been answered
+ * when the hedge delay runs out, a second copy of it is sent. The first response completes the attempt and aborts
+ * the other request. A failed request only fails the attempt once no other request is left in flight.
+ * The second request is skipped when the hedging engine has no room for another hedge.
+ * A blocking transport sends the requests on the given executor, which is bounded.
+ * Without a callback, the calling thread waits for the outcome.
+ */
+final class HedgedCall implements Runnable, TransportCallback {
+
+    private final BotServiceTransport transport;
+    private final String endPoint;
+    private final BotApiRequest request;
+    private final BotHedgingEngine engine;
+    private final Executor executor;
+    private final TransportCallback callback;
+    private final CountDownLatch done;
+    private final List<BotApiRequest> sent;
+    private int failures;
+    private boolean completed;
+    private boolean stopped;
+    private boolean hedged;
+    private ScheduledFuture<?> hedgeTimer;
+    private TransportResponse response;
+    private IOException failure;
+
+    HedgedCall(BotServiceTransport transport, String endPoint, BotApiRequest request, BotHedgingEngine engine,
+               Executor executor, TransportCallback callback) {
+        this.transport = transport;
+        this.endPoint = endPoint;
+        this.request = request;
+        this.engine = engine;
+        this.executor = executor;
+        this.callback = callback;
+        this.done = new CountDownLatch(1);
+        this.sent = new ArrayList<>(2);
+    }
+
+    void start() {
+        engine.callStarted();
+        boolean abortable = request.setAbortAction(new Runnable() {
+            @Override
+            public void run() {
+                abortAll(request.getAbortCause());
+            }
+        });
+        if (!abortable) {
+            onFailure(new InterruptedIOException("Call to " + request.getMethodName() + " aborted"));
+            return;
+        }
+        long hedgeDelay = engine.hedgeDelayMillis(request.getMethodName());
+        if (!send(false)) {
+            onFailure(new InterruptedIOException("Call to " + request.getMethodName() + " aborted"));
+            return;
+        }
+        if (!request.isPastDeadlineAfter(hedgeDelay)) {
+            ScheduledFuture<?> timer = BotRetryEngine.schedule(this, hedgeDelay, TimeUnit.MILLISECONDS);
+            synchronized (this) {
+                if (completed) {
+                    timer.cancel(false);
+                } else {
+                    hedgeTimer = timer;
+                }
+            }
+        }
+    }
+
+    TransportResponse await() throws IOException {
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            abortAll(new InterruptedIOException("Call to " + request.getMethodName() + " interrupted"));
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the response");
+        }
+        if (null != failure) {
+            throw failure;
+        }
+        return response;
+    }
+
+    /**
+     * Sends the second request when the hedge delay runs out.
+     */
+    @Override
+    public void run() {
+        send(true);
+    }
+
+    private boolean send(boolean hedge) {
+        final BotApiRequest copy = request.copy();
+        synchronized (this) {
+            if (completed || stopped) {
+                return false;
+            }
+            if (hedge) {
+                if (!engine.tryStartHedge()) {
+                    return false;
+                }
+                hedged = true;
+            }
+            sent.add(copy);
+        }
+        final long startedAt = System.nanoTime();
+        final TransportCallback attemptCallback = new TransportCallback() {
+            @Override
+            public void onResponse(TransportResponse response) {
+                engine.recordLatency(copy.getMethodName(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+                HedgedCall.this.onResponse(response);
+            }
+
+            @Override
+            public void onFailure(IOException e) {
+                HedgedCall.this.onFailure(e);
+            }
+        };
+        if (transport instanceof AsyncBotServiceTransport) {
+            ((AsyncBotServiceTransport) transport).callAsync(endPoint, copy, attemptCallback);
+            return true;
+        }
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    TransportResponse response;
+                    try {
+                        response = transport.call(endPoint, copy);
+                    } catch (IOException e) {
+                        attemptCallback.onFailure(e);
+                        return;
+                    } catch (RuntimeException e) {
+                        attemptCallback.onFailure(new IOException(e));
+                        return;
+                    }
+                    attemptCallback.onResponse(response);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            attemptCallback.onFailure(new IOException("Hedged call could not be sent", e));
+        }
+        return true;
+    }
+
+    @Override
+    public void onResponse(TransportResponse response) {
+        synchronized (this) {
+            if (completed) {
+                return;
+            }
+            completed = true;
+            this.response = response;
+        }
+        finish(true);
+    }
+
+    @Override
+    public void onFailure(IOException e) {
+        synchronized (this) {
+            failures++;
+            if (completed || (failures < sent.size())) {
+                return;
+            }
+            completed = true;
+            this.failure = e;
+        }
+        finish(false);
+    }
+
+    private void finish(boolean succeeded) {
+        boolean withHedge;
+        synchronized (this) {
+            withHedge = hedged;
+        }
+        engine.callFinished(withHedge);
+        request.clearAbortAction();
+        abortAll(new InterruptedIOException("Call to " + request.getMethodName() + " answered by another request"));
+        done.countDown();
+        if (null == callback) {
+            return;
+        }
+        if (succeeded) {
+            callback.onResponse(response);
+        } else {
+            callback.onFailure(failure);
+        }
+    }
+
+    private void abortAll(IOException cause) {
+        List<BotApiRequest> inFlight;
+        ScheduledFuture<?> timer;
+        synchronized (this) {
+            inFlight = new ArrayList<>(sent);
+            timer = hedgeTimer;
+            hedgeTimer = null;
+            stopped = true;
+        }
+        if (null != timer) {
+            timer.cancel(false);
+        }
+        for (BotApiRequest copy : inFlight) {
+            copy.abort(cause);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package me.shib.java.lib.jtelebot.service;
+
+/**
+ * The circuit breaker of a single Bot API method. It opens when the failure threshold is reached within the window,
+ * rejects calls while open, and then lets a single trial call through whose outcome closes or reopens it.
+ * A trial that ends without telling anything about the health of the method, e.g. because it was flood limited
+ * or aborted, is released, so the next call becomes the trial.
+ */
+final class MethodCircuitBreaker {
+
+    private static final int closed = 0;
+    private static final int open = 1;
+    private static final int halfOpen = 2;
+
+    private final int failureThreshold;
+    private final long windowMillis;
+    private final long openMillis;
+    private final long[] failureTimes;
+    private int failureCount;
+    private int nextFailureSlot;
+    private int state;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    MethodCircuitBreaker(int failureThreshold, long windowMillis, long openMillis) {
+        this.failureThreshold = failureThreshold;
+        this.windowMillis = windowMillis;
+        this.openMillis = openMillis;
+        this.failureTimes = new long[failureThreshold];
+        this.state = closed;
+    }
+
+    synchronized boolean tryAcquire(long now) {
+        if (state == closed) {
+            return true;
+        }
+        if (state == open) {
+            if ((now - openedAt) < openMillis) {
+                return false;
+            }
+            state = halfOpen;
+            trialInFlight = false;
+        }
+        if (trialInFlight) {
+            return false;
+        }
+        trialInFlight = true;
+        return true;
+    }
+
+    synchronized void onSuccess() {
+        if (state == halfOpen) {
+            state = closed;
+            trialInFlight = false;
+            failureCount = 0;
+        }
+    }
+
+    /**
+     * Gives up the trial call without an outcome. Does nothing unless the breaker is half open.
+     */
+    synchronized void release() {
+        if (state == halfOpen) {
+            trialInFlight = false;
+        }
+    }
+
+    synchronized void onFailure(long now) {
+        if (state == halfOpen) {
+            trip(now);
+            return;
+        }
+        if (state == open) {
+            return;
+        }
+        failureTimes[nextFailureSlot] = now;
+        nextFailureSlot = (nextFailureSlot + 1) % failureTimes.length;
+        if (failureCount < failureTimes.length) {
+            failureCount++;
+        }
+        // The slot about to be overwritten holds the oldest of the last failureThreshold failures
+        if ((failureCount == failureTimes.length) && ((now - failureTimes[nextFailureSlot]) <= windowMillis)) {
+            trip(now);
+        }
+    }
+
+    private void trip(long now) {
+        state = open;
+        openedAt = now;
+        trialInFlight = false;
+        failureCount = 0;
+    }
+}
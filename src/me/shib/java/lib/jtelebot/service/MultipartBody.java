@@ -0,0 +1,140 @@
+package me.shib.java.lib.jtelebot.service;
+
+import me.shib.java.lib.jtelebot.models.types.InputFile;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Writes the parameters and uploads of a request as a multipart/form-data body.
+ * Unless an upload is a stream of unknown length, the exact length of the body is known up front,
+ * so it can be streamed without being buffered. Files are copied with FileChannel.transferTo, which hands the copy
+ * to the kernel when the target is a channel and otherwise moves the file through a small direct buffer instead of reading it onto the heap.
+ * Streams are copied as they are read, so generated contents never have to be held in full.
+ */
+final class MultipartBody {
+
+    private static final Charset utf8 = Charset.forName("UTF-8");
+    private static final Random random = new Random();
+
+    private BotApiRequest request;
+    private String boundary;
+
+    MultipartBody(BotApiRequest request) {
+        this.request = request;
+        this.boundary = "----jtelebot" + Long.toHexString(random.nextLong()) + Long.toHexString(System.nanoTime());
+    }
+
+    String getContentType() {
+        return "multipart/form-data; boundary=" + boundary;
+    }
+
+    /**
+     * @return the length of the body in bytes, or -1 if an upload is read from a stream of unknown length
+     */
+    long getContentLength() {
+        long length = 0;
+        for (Map.Entry<String, String> parameter : request.getParameters().entrySet()) {
+            length += textPartHeader(parameter.getKey()).length + parameter.getValue().getBytes(utf8).length + lineBreak().length;
+        }
+        for (Map.Entry<String, InputFile> upload : request.getUploads().entrySet()) {
+            long uploadLength = upload.getValue().getContentLength();
+            if (uploadLength < 0) {
+                return -1;
+            }
+            length += filePartHeader(upload.getKey(), upload.getValue().getFileName()).length + uploadLength + lineBreak().length;
+        }
+        return length + closingBoundary().length;
+    }
+
+    void writeTo(OutputStream out) throws IOException {
+        for (Map.Entry<String, String> parameter : request.getParameters().entrySet()) {
+            out.write(textPartHeader(parameter.getKey()));
+            out.write(parameter.getValue().getBytes(utf8));
+            out.write(lineBreak());
+        }
+        WritableByteChannel channel = Channels.newChannel(out);
+        for (Map.Entry<String, InputFile> upload : request.getUploads().entrySet()) {
+            InputFile inputFile = upload.getValue();
+            out.write(filePartHeader(upload.getKey(), inputFile.getFileName()));
+            if (null != inputFile.getFile()) {
+                transfer(inputFile.getFile(), channel);
+            } else if (null != inputFile.getBytes()) {
+                out.write(inputFile.getBytes());
+            } else if (null != inputFile.getByteBuffer()) {
+                ByteBuffer buffer = inputFile.getByteBuffer();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            } else {
+                copy(inputFile, out);
+            }
+            out.write(lineBreak());
+        }
+        out.write(closingBoundary());
+    }
+
+    private void transfer(File file, WritableByteChannel target) throws IOException {
+        long expectedLength = file.length();
+        try (FileChannel fileChannel = new FileInputStream(file).getChannel()) {
+            long position = 0;
+            while (position < expectedLength) {
+                long transferred = fileChannel.transferTo(position, expectedLength - position, target);
+                if (transferred <= 0) {
+                    throw new IOException("File " + file.getName() + " changed while it was being uploaded");
+                }
+                position += transferred;
+            }
+        }
+    }
+
+    private void copy(InputFile inputFile, OutputStream out) throws IOException {
+        long expectedLength = inputFile.getContentLength();
+        long copied = 0;
+        byte[] buffer = new byte[8192];
+        try (InputStream in = inputFile.getInputStream()) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                if ((expectedLength >= 0) && (copied + read > expectedLength)) {
+                    throw new IOException("Stream of " + inputFile.getFileName() + " is longer than its given length");
+                }
+                out.write(buffer, 0, read);
+                copied += read;
+            }
+        }
+        if ((expectedLength >= 0) && (copied != expectedLength)) {
+            throw new IOException("Stream of " + inputFile.getFileName() + " is shorter than its given length");
+        }
+    }
+
+    private byte[] textPartHeader(String name) {
+        return ("--" + boundary + "\r\nContent-Disposition: form-data; name=\"" + escape(name) + "\"\r\n\r\n").getBytes(utf8);
+    }
+
+    private byte[] filePartHeader(String name, String fileName) {
+        return ("--" + boundary + "\r\nContent-Disposition: form-data; name=\"" + escape(name) + "\"; filename=\"" + escape(fileName)
+                + "\"\r\nContent-Type: application/octet-stream\r\n\r\n").getBytes(utf8);
+    }
+
+    private byte[] lineBreak() {
+        return "\r\n".getBytes(utf8);
+    }
+
+    private byte[] closingBoundary() {
+        return ("--" + boundary + "--\r\n").getBytes(utf8);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\"", "%22").replace("\r", "%0D").replace("\n", "%0A");
+    }
+}
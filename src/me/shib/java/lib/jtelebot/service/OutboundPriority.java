@@ -0,0 +1,19 @@
+package me.shib.java.lib.jtelebot.service;
+
+/**
+ * The priority class of an outbound call, used by the OutboundScheduler to keep replies to users ahead of broadcasts.
+ * File downloads made by a bot use the same classes in the queue of its DownloadManager.
+ */
+public enum OutboundPriority {
+
+    /**
+     * Replies to users and other calls someone is waiting for. This is the default for all calls.
+     */
+    INTERACTIVE,
+
+    /**
+     * Broadcasts, notifications and other bulk sends, which get a smaller share of the capacity while interactive calls are waiting.
+     */
+    BULK
+
+}
@@ -0,0 +1,386 @@
+package me.shib.java.lib.jtelebot.service;
+
+import me.shib.java.lib.jtelebot.models.types.ChatId;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+
+/**
+ * A queue in front of the send and edit calls of a bot, and the single place where rate limits and concurrency are applied to them.
+ * Calls are queued per chat within their priority class. A dispatcher thread visits the chats round robin,
+ * skipping those whose rate limit bucket is not ready, so a chat with thousands of queued messages only gets its turn like any other chat.
+ * The dispatcher never sleeps on a bucket: it only takes a call once both its chat's bucket and the global bucket are ready,
+ * and otherwise waits for the next call or bucket to become ready. Calls cancelled while queued are dropped without using the rate limit.
+ * Chats can be given weights to get more turns per round (deficit round robin).
+ * While both classes have calls ready, interactive calls get several turns for every bulk call, so replies are not stuck behind a broadcast.
+ * At most the given number of calls are in flight at a time.
+ */
+public final class OutboundScheduler {
+
+    private static Logger logger = Logger.getLogger(OutboundScheduler.class.getName());
+
+    private static final int defaultMaxInFlight = 16;
+    private static final int defaultInteractiveWeight = 4;
+    private static final long idleWaitNanos = TimeUnit.SECONDS.toNanos(1);
+
+    private BotRateLimiter rateLimiter;
+    private int maxInFlight;
+    private int interactiveWeight;
+    private Semaphore inFlightPermits;
+    private ConcurrentMap<String, Integer> chatWeights;
+    private Map<OutboundPriority, PriorityClass> priorityClasses;
+    private ReentrantLock lock;
+    private Condition callsChanged;
+    private int interactiveCredit;
+    private int queuedCount;
+    private volatile Object session;
+    private ExecutorService senders;
+
+    /**
+     * Creates an outbound scheduler.
+     *
+     * @param rateLimiter       the rate limiter applied to the scheduled calls
+     * @param maxInFlight       the maximum number of calls in flight at a time
+     * @param interactiveWeight the number of interactive calls sent for every bulk call while both classes have calls ready
+     */
+    public OutboundScheduler(BotRateLimiter rateLimiter, int maxInFlight, int interactiveWeight) {
+        if (null == rateLimiter) {
+            throw new IllegalArgumentException("Rate limiter cannot be null");
+        }
+        if ((maxInFlight < 1) || (interactiveWeight < 1)) {
+            throw new IllegalArgumentException("Maximum calls in flight and interactive weight must be greater than 0");
+        }
+        this.rateLimiter = rateLimiter;
+        this.maxInFlight = maxInFlight;
+        this.interactiveWeight = interactiveWeight;
+        this.inFlightPermits = new Semaphore(maxInFlight);
+        this.chatWeights = new ConcurrentHashMap<>();
+        this.priorityClasses = new EnumMap<>(OutboundPriority.class);
+        for (OutboundPriority priority : OutboundPriority.values()) {
+            priorityClasses.put(priority, new PriorityClass());
+        }
+        this.lock = new ReentrantLock();
+        this.callsChanged = lock.newCondition();
+        this.interactiveCredit = interactiveWeight;
+        this.queuedCount = 0;
+    }
+
+    /**
+     * Creates an outbound scheduler with Telegram's rate limits, up to 16 calls in flight and 4 interactive calls for every bulk call.
+     */
+    public OutboundScheduler() {
+        this(new BotRateLimiter(), defaultMaxInFlight, defaultInteractiveWeight);
+    }
+
+    /**
+     * Gives a chat more turns per round than the others. Takes effect once the chat's queue is emptied and refilled.
+     *
+     * @param chat_id the chat
+     * @param weight  the number of calls the chat may send per round. Defaults to 1.
+     */
+    public void setChatWeight(ChatId chat_id, int weight) {
+        if (weight < 1) {
+            throw new IllegalArgumentException("Weight must be greater than 0");
+        }
+        if (weight == 1) {
+            chatWeights.remove(chat_id.getChatId());
+        } else {
+            chatWeights.put(chat_id.getChatId(), weight);
+        }
+    }
+
+    /**
+     * @return the rate limiter applied to the scheduled calls
+     */
+    public BotRateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * @return the number of calls waiting in the queue
+     */
+    public int getQueuedCount() {
+        lock.lock();
+        try {
+            return queuedCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops the dispatcher. Calls still waiting in the queue fail, and calls submitted later start it again.
+     */
+    public void shutdown() {
+        List<ScheduledCall> rejected = new ArrayList<>();
+        lock.lock();
+        try {
+            session = null;
+            if (null != senders) {
+                senders.shutdown();
+                senders = null;
+            }
+            for (PriorityClass priorityClass : priorityClasses.values()) {
+                priorityClass.drainTo(rejected);
+            }
+            queuedCount = 0;
+            callsChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        for (ScheduledCall call : rejected) {
+            call.reject(new IOException("Outbound scheduler was shut down"));
+        }
+    }
+
+    boolean appliesTo(BotApiRequest request) {
+        return rateLimiter.appliesTo(request);
+    }
+
+    void submit(ScheduledCall call) {
+        lock.lock();
+        try {
+            if (null == session) {
+                start();
+            }
+            priorityClasses.get(call.getPriority()).add(call);
+            queuedCount++;
+            callsChanged.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void start() {
+        final Object currentSession = new Object();
+        session = currentSession;
+        senders = Executors.newFixedThreadPool(maxInFlight, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "jtelebot-outbound-sender");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        final ExecutorService currentSenders = senders;
+        Thread dispatcher = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                dispatch(currentSession, currentSenders);
+            }
+        }, "jtelebot-outbound-scheduler");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    private void dispatch(Object currentSession, ExecutorService currentSenders) {
+        try {
+            while (session == currentSession) {
+                inFlightPermits.acquire();
+                ScheduledCall call = awaitNextCall(currentSession);
+                if (null == call) {
+                    inFlightPermits.release();
+                    continue;
+                }
+                send(call, currentSenders);
+            }
+        } catch (InterruptedException e) {
+            logger.throwing(this.getClass().getName(), "dispatch", e);
+        }
+    }
+
+    private ScheduledCall awaitNextCall(Object currentSession) throws InterruptedException {
+        lock.lock();
+        try {
+            while (session == currentSession) {
+                long now = System.nanoTime();
+                long[] nextReady = {idleWaitNanos};
+                ScheduledCall call = pollReady(now, nextReady);
+                if (null != call) {
+                    queuedCount--;
+                    return call;
+                }
+                callsChanged.awaitNanos(nextReady[0]);
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes the next call whose chat bucket and the global bucket are both ready, and reserves both for it.
+     */
+    private ScheduledCall pollReady(long now, long[] nextReady) {
+        long globalWait = rateLimiter.peekGlobal(now);
+        if (globalWait > 0) {
+            nextReady[0] = Math.min(nextReady[0], globalWait);
+            return null;
+        }
+        PriorityClass interactive = priorityClasses.get(OutboundPriority.INTERACTIVE);
+        PriorityClass bulk = priorityClasses.get(OutboundPriority.BULK);
+        boolean interactiveFirst = interactiveCredit > 0;
+        PriorityClass source = interactiveFirst ? interactive : bulk;
+        ScheduledCall call = source.pollReady(now, nextReady);
+        boolean fromInteractive = interactiveFirst;
+        if (null == call) {
+            source = interactiveFirst ? bulk : interactive;
+            call = source.pollReady(now, nextReady);
+            fromInteractive = !interactiveFirst;
+        }
+        if ((null != call) && (rateLimiter.reserveGlobal(0) < 0)) {
+            // The global bucket is shared with calls made outside the scheduler, which took the slot since it was peeked
+            rateLimiter.releaseChat(call.getChatKey());
+            source.addFirst(call);
+            nextReady[0] = Math.min(nextReady[0], Math.max(1, rateLimiter.peekGlobal(System.nanoTime())));
+            return null;
+        }
+        if (null != call) {
+            if (!fromInteractive) {
+                interactiveCredit = interactiveWeight;
+            } else if (!bulk.isEmpty()) {
+                interactiveCredit--;
+            }
+        }
+        return call;
+    }
+
+    private void send(final ScheduledCall call, ExecutorService currentSenders) {
+        final Runnable release = new Runnable() {
+            private boolean released = false;
+
+            @Override
+            public synchronized void run() {
+                if (!released) {
+                    released = true;
+                    inFlightPermits.release();
+                }
+            }
+        };
+        try {
+            currentSenders.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        call.dispatch(release);
+                    } catch (RuntimeException e) {
+                        release.run();
+                        call.reject(new IOException("Failed to send " + call.getChatKey(), e));
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            release.run();
+            call.reject(new IOException("Outbound scheduler was shut down", e));
+        }
+    }
+
+    /**
+     * The queued calls of one priority class, kept per chat, with the chats that have calls in a round robin ring.
+     */
+    private final class PriorityClass {
+
+        private final Map<String, ChatQueue> chatQueues = new HashMap<>();
+        private final ArrayDeque<ChatQueue> ring = new ArrayDeque<>();
+
+        private void add(ScheduledCall call) {
+            String chatKey = (null == call.getChatKey()) ? "" : call.getChatKey();
+            ChatQueue chatQueue = chatQueues.get(chatKey);
+            if (null == chatQueue) {
+                Integer weight = chatWeights.get(chatKey);
+                chatQueue = new ChatQueue(chatKey, (null == weight) ? 1 : weight);
+                chatQueues.put(chatKey, chatQueue);
+                ring.addLast(chatQueue);
+            }
+            chatQueue.calls.addLast(call);
+        }
+
+        private void addFirst(ScheduledCall call) {
+            String chatKey = (null == call.getChatKey()) ? "" : call.getChatKey();
+            ChatQueue chatQueue = chatQueues.get(chatKey);
+            if (null == chatQueue) {
+                Integer weight = chatWeights.get(chatKey);
+                chatQueue = new ChatQueue(chatKey, (null == weight) ? 1 : weight);
+                chatQueues.put(chatKey, chatQueue);
+                ring.addFirst(chatQueue);
+            }
+            chatQueue.calls.addFirst(call);
+            chatQueue.deficit++;
+        }
+
+        private boolean isEmpty() {
+            return ring.isEmpty();
+        }
+
+        private ScheduledCall pollReady(long now, long[] nextReady) {
+            for (int visited = ring.size(); visited > 0; visited--) {
+                ChatQueue chatQueue = ring.pollFirst();
+                while (!chatQueue.calls.isEmpty() && chatQueue.calls.peekFirst().isDone()) {
+                    chatQueue.calls.pollFirst();
+                    queuedCount--;
+                }
+                if (chatQueue.calls.isEmpty()) {
+                    chatQueues.remove(chatQueue.chatKey);
+                    continue;
+                }
+                if (rateLimiter.reserveChat(chatQueue.chatKey, 0) < 0) {
+                    ring.addLast(chatQueue);
+                    nextReady[0] = Math.min(nextReady[0], Math.max(1, rateLimiter.peekChat(chatQueue.chatKey, now)));
+                    continue;
+                }
+                if (chatQueue.deficit <= 0) {
+                    chatQueue.deficit += chatQueue.weight;
+                }
+                ScheduledCall call = chatQueue.calls.pollFirst();
+                chatQueue.deficit--;
+                if (chatQueue.calls.isEmpty()) {
+                    chatQueues.remove(chatQueue.chatKey);
+                } else if (chatQueue.deficit > 0) {
+                    ring.addFirst(chatQueue);
+                } else {
+                    ring.addLast(chatQueue);
+                }
+                return call;
+            }
+            return null;
+        }
+
+        private void drainTo(List<ScheduledCall> calls) {
+            for (ChatQueue chatQueue : ring) {
+                calls.addAll(chatQueue.calls);
+            }
+            ring.clear();
+            chatQueues.clear();
+        }
+    }
+
+    private static final class ChatQueue {
+
+        private final String chatKey;
+        private final int weight;
+        private final ArrayDeque<ScheduledCall> calls;
+        private int deficit;
+
+        private ChatQueue(String chatKey, int weight) {
+            this.chatKey = chatKey;
+            this.weight = weight;
+            this.calls = new ArrayDeque<>();
+            this.deficit = 0;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package me.shib.java.lib.jtelebot.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The default transport, which reuses keep-alive connections to the Bot API.
+ * Every response is read to the end and its stream closed, so the JDK returns the connection to its keep-alive cache
+ * and the next request to the same host skips the TCP and TLS handshakes.
+ * The number of requests in flight, and therefore the number of open connections, is capped by the connection limit.
+ * The JDK keeps up to http.maxConnections (5 unless set otherwise) idle connections per host,
+ * so raise that system property along with the limit to keep more connections warm.
+ * A call that passes its deadline while it waits for a response is aborted by closing its connection.
+ */
+public final class PooledHttpTransport implements BotServiceTransport {
+
+    private static final int defaultMaxConnections = 20;
+    private static final int defaultConnectTimeout = 10000;
+    private static final int defaultReadTimeout = 330000;
+
+    private int maxConnections;
+    private int connectTimeoutMillis;
+    private int readTimeoutMillis;
+    private Semaphore connectionPermits;
+
+    /**
+     * Creates a transport with the given limits.
+     *
+     * @param maxConnections       the maximum number of requests in flight. Further requests wait for a connection to be free.
+     * @param connectTimeoutMillis the timeout for establishing a connection in milliseconds
+     * @param readTimeoutMillis    the timeout for reading from a connection in milliseconds. Must be longer than the long poll timeout.
+     */
+    public PooledHttpTransport(int maxConnections, int connectTimeoutMillis, int readTimeoutMillis) {
+        if (maxConnections < 1) {
+            throw new IllegalArgumentException("Maximum connections must be greater than 0");
+        }
+        this.maxConnections = maxConnections;
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        this.readTimeoutMillis = readTimeoutMillis;
+        this.connectionPermits = new Semaphore(maxConnections, true);
+    }
+
+    /**
+     * Creates a transport with up to 20 connections, a connect timeout of 10 seconds and a read timeout of 330 seconds.
+     */
+    public PooledHttpTransport() {
+        this(defaultMaxConnections, defaultConnectTimeout, defaultReadTimeout);
+    }
+
+    /**
+     * @return the maximum number of requests in flight
+     */
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    @Override
+    public TransportResponse call(String endPoint, BotApiRequest request) throws IOException {
+        long timeoutMillis = request.getTimeoutMillis();
+        try {
+            if (timeoutMillis == 0) {
+                connectionPermits.acquire();
+            } else if (!connectionPermits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SocketTimeoutException("Timed out waiting for a connection to call " + request.getMethodName());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a connection");
+        }
+        try {
+            return execute(endPoint, request);
+        } finally {
+            connectionPermits.release();
+        }
+    }
+
+    private TransportResponse execute(String endPoint, BotApiRequest request) throws IOException {
+        final HttpURLConnection connection = (HttpURLConnection) new URL(endPoint + "/" + request.getMethodName()).openConnection();
+        boolean abortable = request.setAbortAction(new Runnable() {
+            @Override
+            public void run() {
+                connection.disconnect();
+            }
+        });
+        if (!abortable) {
+            throw new InterruptedIOException("Call to " + request.getMethodName() + " aborted");
+        }
+        try {
+            long timeoutMillis = request.getTimeoutMillis();
+            connection.setConnectTimeout(limit(connectTimeoutMillis, timeoutMillis));
+            connection.setReadTimeout(limit(readTimeoutMillis, timeoutMillis));
+            connection.setUseCaches(false);
+            connection.setRequestProperty("Connection", "keep-alive");
+            connection.setRequestProperty("Accept", "application/json");
+            if (request.isMultipart()) {
+                writeMultipart(connection, request);
+            } else if (!request.getParameters().isEmpty()) {
+                writeForm(connection, request);
+            } else {
+                connection.setRequestMethod("GET");
+            }
+            int statusCode = connection.getResponseCode();
+            InputStream responseStream = (statusCode >= 400) ? connection.getErrorStream() : connection.getInputStream();
+            return new TransportResponse(statusCode, readFully(responseStream));
+        } catch (IOException e) {
+            connection.disconnect();
+            throw e;
+        } finally {
+            request.clearAbortAction();
+        }
+    }
+
+    private static int limit(int timeoutMillis, long deadlineMillis) {
+        if ((deadlineMillis == 0) || ((timeoutMillis != 0) && (timeoutMillis <= deadlineMillis))) {
+            return timeoutMillis;
+        }
+        return (int) Math.min(deadlineMillis, Integer.MAX_VALUE);
+    }
+
+    private void writeForm(HttpURLConnection connection, BotApiRequest request) throws IOException {
+        byte[] body = request.toFormBody();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setRequestProperty("Content-Type", "application/x-www-form-urlencoded; charset=utf-8");
+        connection.setFixedLengthStreamingMode(body.length);
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(body);
+        }
+    }
+
+    private void writeMultipart(HttpURLConnection connection, BotApiRequest request) throws IOException {
+        MultipartBody multipartBody = new MultipartBody(request);
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setRequestProperty("Content-Type", multipartBody.getContentType());
+        // Without a fixed length or chunking, HttpURLConnection holds the whole body on the heap to count it before sending
+        long contentLength = multipartBody.getContentLength();
+        if (contentLength < 0) {
+            connection.setChunkedStreamingMode(0);
+        } else {
+            connection.setFixedLengthStreamingMode(contentLength);
+        }
+        try (OutputStream out = connection.getOutputStream()) {
+            multipartBody.writeTo(out);
+        }
+    }
+
+    private String readFully(InputStream in) throws IOException {
+        if (in == null) {
+            return null;
+        }
+        try (InputStream responseStream = in) {
+            ByteArrayOutputStream body = new ByteArrayOutputStream(1024);
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = responseStream.read(buffer)) != -1) {
+                body.write(buffer, 0, read);
+            }
+            return body.toString("UTF-8");
+        }
+    }
+}
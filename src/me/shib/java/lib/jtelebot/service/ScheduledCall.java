@@ -0,0 +1,26 @@
+package me.shib.java.lib.jtelebot.service;
+
+import java.io.IOException;
+
+/**
+ * A call waiting in an OutboundScheduler.
+ */
+interface ScheduledCall {
+
+    String getChatKey();
+
+    OutboundPriority getPriority();
+
+    /**
+     * @return true if the call no longer needs to be sent, e.g. because it was cancelled while queued
+     */
+    boolean isDone();
+
+    /**
+     * Sends the call. The release must be run exactly once, when the outcome of the call is known.
+     */
+    void dispatch(Runnable release);
+
+    void reject(IOException e);
+
+}
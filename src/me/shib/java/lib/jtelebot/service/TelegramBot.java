@@ -11,6 +11,7 @@ import java.io.File;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 public abstract class TelegramBot {
 
@@ -76,6 +77,18 @@ public abstract class TelegramBot {
      */
     public abstract Update[] getUpdates(int timeout, int limit) throws IOException;
 
+    /**
+     * Use this method to receive incoming updates using long polling without holding the calling thread.
+     * A blocking update transport still holds a thread of a shared long poll pool while the poll is open.
+     *
+     * @param timeout          Timeout in seconds for long polling
+     * @param limit            Limits the number of updates to be retrieved. Values between 1—100 are accepted. Defaults to 100
+     * @param offset           Identifier of the first update to be returned. Must be greater by one than the highest among the identifiers of previously received updates.
+     * @param callbackExecutor the executor on which the callbacks of the returned future run
+     * @return the pending updates. The result is an empty array if there aren't any updates.
+     */
+    public abstract BotCallFuture<Update[]> getUpdatesAsync(int timeout, int limit, long offset, Executor callbackExecutor);
+
     /**
      * Use this method to specify a url and receive incoming updates via an outgoing webhook.
      * Whenever there is an update for the bot, an HTTPS POST request to the specified url will be sent, containing a JSON-serialized Update.
@@ -149,6 +162,19 @@ public abstract class TelegramBot {
      */
     public abstract User getIdentity();
 
+    /**
+     * Sets how long each call of this bot may take, including its retries, before it is aborted and fails
+     * with a BotDeadlineExceededException. The deadlines also apply to getUpdates.
+     *
+     * @param callDeadlines the deadlines of the calls of this bot
+     */
+    public abstract void setCallDeadlines(BotCallDeadlines callDeadlines);
+
+    /**
+     * @return the deadlines of the calls of this bot
+     */
+    public abstract BotCallDeadlines getCallDeadlines();
+
     /**
      * Use this method to send text messages.
      *
@@ -0,0 +1,78 @@
+package me.shib.java.lib.jtelebot.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free token bucket, kept as the theoretical arrival time of the next call (the generic cell rate algorithm).
+ * A reservation moves the arrival time forward with a single compare-and-set and tells the caller how long to wait
+ * before its call conforms to the rate. A bounded reservation fails without moving it when the wait would be longer than the caller can wait,
+ * and a reservation that ends up unused can be released, so a burst of calls cannot push the bucket minutes ahead.
+ */
+final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(long intervalNanos, int capacity) {
+        this.intervalNanos = intervalNanos;
+        this.toleranceNanos = (capacity - 1) * intervalNanos;
+        this.theoreticalArrival = new AtomicLong(System.nanoTime() - toleranceNanos - intervalNanos);
+    }
+
+    /**
+     * @return the time to wait in nanoseconds before making the reserved call, 0 if it can be made right away
+     */
+    long reserve() {
+        return reserve(1);
+    }
+
+    /**
+     * Reserves several units at once, e.g. the bytes of a download when the bucket is filled at a byte rate.
+     *
+     * @return the time to wait in nanoseconds before using the reserved units, 0 if they can be used right away
+     */
+    long reserve(long units) {
+        return tryReserve(units, Long.MAX_VALUE);
+    }
+
+    /**
+     * Reserves units only if they can be used within the given time.
+     *
+     * @return the time to wait in nanoseconds before using the reserved units, or -1 if nothing was reserved
+     * because the wait would be longer than maxWaitNanos
+     */
+    long tryReserve(long units, long maxWaitNanos) {
+        while (true) {
+            long now = System.nanoTime();
+            long arrival = theoreticalArrival.get();
+            long wait = arrival - toleranceNanos - now;
+            if (wait > maxWaitNanos) {
+                return -1;
+            }
+            long earliest = (arrival - now > 0) ? arrival : now;
+            if (theoreticalArrival.compareAndSet(arrival, earliest + (units * intervalNanos))) {
+                return (wait > 0) ? wait : 0;
+            }
+        }
+    }
+
+    /**
+     * Gives back units that were reserved but not used, so that the calls after them can go sooner.
+     */
+    void release(long units) {
+        theoreticalArrival.addAndGet(-(units * intervalNanos));
+    }
+
+    /**
+     * @return the time in nanoseconds until a call would conform to the rate, without reserving it
+     */
+    long peek(long now) {
+        long wait = theoreticalArrival.get() - toleranceNanos - now;
+        return (wait > 0) ? wait : 0;
+    }
+
+    boolean isIdle(long now, long idleNanos) {
+        return (now - theoreticalArrival.get()) > idleNanos;
+    }
+}
@@ -0,0 +1,24 @@
+package me.shib.java.lib.jtelebot.service;
+
+import java.io.IOException;
+
+/**
+ * Receives the outcome of a call made through an AsyncBotServiceTransport.
+ */
+public interface TransportCallback {
+
+    /**
+     * Invoked when the complete response is read.
+     *
+     * @param response the status code and body of the response
+     */
+    void onResponse(TransportResponse response);
+
+    /**
+     * Invoked when the call fails.
+     *
+     * @param e the connection failure
+     */
+    void onFailure(IOException e);
+
+}
@@ -0,0 +1,35 @@
+package me.shib.java.lib.jtelebot.service;
+
+/**
+ * The HTTP response to a Bot API request, as returned by a BotServiceTransport.
+ */
+public final class TransportResponse {
+
+    private int statusCode;
+    private String body;
+
+    /**
+     * Initializes a new TransportResponse object
+     *
+     * @param statusCode the HTTP status code of the response
+     * @param body       the body of the response, which is the JSON envelope of the Bot API
+     */
+    public TransportResponse(int statusCode, String body) {
+        this.statusCode = statusCode;
+        this.body = body;
+    }
+
+    /**
+     * @return the HTTP status code of the response
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * @return the body of the response
+     */
+    public String getBody() {
+        return body;
+    }
+}
@@ -0,0 +1,127 @@
+package me.shib.java.lib.jtelebot.receiver;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class UpdateAckTrackerTest {
+
+    private static final int windowSize = 4096;
+
+    @Test
+    public void watermarkWaitsForTheOldestPendingUpdate() throws InterruptedException {
+        RecordingStore store = new RecordingStore();
+        UpdateAckTracker tracker = new UpdateAckTracker(store, 10);
+        assertTrue(tracker.register(10));
+        assertTrue(tracker.register(11));
+        assertTrue(tracker.register(12));
+        tracker.acknowledge(12);
+        assertEquals(10, tracker.getCommittedOffset());
+        tracker.acknowledge(10);
+        assertEquals(11, tracker.getCommittedOffset());
+        tracker.acknowledge(11);
+        assertEquals(13, tracker.getCommittedOffset());
+        assertEquals(2, store.offsets.size());
+        assertEquals(11L, (long) store.offsets.get(0));
+        assertEquals(13L, (long) store.offsets.get(1));
+    }
+
+    @Test
+    public void updatesReceivedAgainAreRejected() throws InterruptedException {
+        UpdateAckTracker tracker = new UpdateAckTracker(null, 10);
+        assertTrue(tracker.register(10));
+        assertFalse(tracker.register(10));
+        tracker.acknowledge(10);
+        assertFalse(tracker.register(10));
+        assertFalse(tracker.register(9));
+    }
+
+    @Test
+    public void gapWithNothingPendingIsSkippedAtOnce() throws InterruptedException {
+        UpdateAckTracker tracker = new UpdateAckTracker(null, 10);
+        assertTrue(tracker.register(100000));
+        assertEquals(100000, tracker.getCommittedOffset());
+        tracker.acknowledge(100000);
+        assertEquals(100001, tracker.getCommittedOffset());
+    }
+
+    @Test
+    public void gapBehindPendingUpdateIsAcknowledged() throws InterruptedException {
+        UpdateAckTracker tracker = new UpdateAckTracker(null, 10);
+        assertTrue(tracker.register(10));
+        assertTrue(tracker.register(13));
+        tracker.acknowledge(10);
+        assertEquals(13, tracker.getCommittedOffset());
+        tracker.acknowledge(13);
+        assertEquals(14, tracker.getCommittedOffset());
+    }
+
+    @Test
+    public void watermarkAdvancesAcrossRingWrapAround() throws InterruptedException {
+        long first = windowSize - 5;
+        UpdateAckTracker tracker = new UpdateAckTracker(null, first);
+        long last = first + (3 * windowSize);
+        long acknowledgedUpTo = first;
+        for (long updateId = first; updateId <= last; updateId++) {
+            assertTrue(tracker.register(updateId));
+            // Keeps a few hundred updates pending, so slots are reused while others are still in use
+            if ((updateId - acknowledgedUpTo) >= 300) {
+                tracker.acknowledge(acknowledgedUpTo++);
+            }
+        }
+        assertEquals(acknowledgedUpTo, tracker.getCommittedOffset());
+        for (long updateId = last; updateId >= acknowledgedUpTo; updateId--) {
+            tracker.acknowledge(updateId);
+        }
+        assertEquals(last + 1, tracker.getCommittedOffset());
+    }
+
+    @Test
+    public void registerWaitsWhileTheRingIsFull() throws InterruptedException {
+        final UpdateAckTracker tracker = new UpdateAckTracker(null, 0);
+        for (long updateId = 0; updateId < windowSize; updateId++) {
+            assertTrue(tracker.register(updateId));
+        }
+        final CountDownLatch registered = new CountDownLatch(1);
+        Thread poller = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    tracker.register(windowSize);
+                    registered.countDown();
+                } catch (InterruptedException ignored) {
+                    // The test timed out
+                }
+            }
+        }, "test-poller");
+        poller.setDaemon(true);
+        poller.start();
+        assertFalse(registered.await(200, TimeUnit.MILLISECONDS));
+        tracker.acknowledge(0);
+        assertTrue(registered.await(5, TimeUnit.SECONDS));
+        assertEquals(1, tracker.getCommittedOffset());
+        poller.interrupt();
+    }
+
+    private static final class RecordingStore implements UpdateOffsetStore {
+
+        private final List<Long> offsets = new ArrayList<>();
+
+        @Override
+        public long load() {
+            return offsets.isEmpty() ? 0 : offsets.get(offsets.size() - 1);
+        }
+
+        @Override
+        public void store(long offset) {
+            offsets.add(offset);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package me.shib.java.lib.jtelebot.service;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BotHedgingEngineTest {
+
+    private static BotHedgingEngine newEngine(double maxHedgeRatio) {
+        return new BotHedgingEngine(new BotHedgingPolicy(0.95, 10, 10, maxHedgeRatio, Collections.singleton("getChat")));
+    }
+
+    @Test
+    public void loneCallCanBeHedgedOnce() {
+        BotHedgingEngine engine = newEngine(0.1);
+        engine.callStarted();
+        assertTrue(engine.tryStartHedge());
+        assertFalse(engine.tryStartHedge());
+        engine.callFinished(true);
+        engine.callStarted();
+        assertTrue(engine.tryStartHedge());
+    }
+
+    @Test
+    public void hedgesAreCappedAtTheRatioOfCallsInFlight() {
+        BotHedgingEngine engine = newEngine(0.1);
+        for (int i = 0; i < 30; i++) {
+            engine.callStarted();
+        }
+        for (int i = 0; i < 3; i++) {
+            assertTrue(engine.tryStartHedge());
+        }
+        assertFalse(engine.tryStartHedge());
+        engine.callFinished(true);
+        engine.callStarted();
+        assertTrue(engine.tryStartHedge());
+        for (int i = 0; i < 20; i++) {
+            engine.callFinished(false);
+        }
+        assertFalse("Fewer calls in flight leave room for fewer hedges", engine.tryStartHedge());
+    }
+
+    @Test
+    public void slowCallsSendSecondRequestsWithinTheRatio() throws InterruptedException {
+        final CountDownLatch slow = new CountDownLatch(1);
+        final AtomicInteger requests = new AtomicInteger();
+        BotServiceTransport transport = new BotServiceTransport() {
+            @Override
+            public TransportResponse call(String endPoint, BotApiRequest request) throws IOException {
+                requests.incrementAndGet();
+                try {
+                    slow.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                return new TransportResponse(200, "{\"ok\":true}");
+            }
+        };
+        final CountDownLatch answered = new CountDownLatch(20);
+        TransportCallback callback = new TransportCallback() {
+            @Override
+            public void onResponse(TransportResponse response) {
+                answered.countDown();
+            }
+
+            @Override
+            public void onFailure(IOException e) {
+                answered.countDown();
+            }
+        };
+        BotHedgingEngine engine = newEngine(0.1);
+        ExecutorService executor = Executors.newFixedThreadPool(30);
+        try {
+            for (int i = 0; i < 20; i++) {
+                new HedgedCall(transport, "http://localhost", new BotApiRequest("getChat"), engine, executor, callback).start();
+            }
+            Thread.sleep(300);
+            assertEquals(22, requests.get());
+            slow.countDown();
+            assertTrue(answered.await(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        engine.callStarted();
+        assertTrue("The hedges are released once their calls are answered", engine.tryStartHedge());
+    }
+}
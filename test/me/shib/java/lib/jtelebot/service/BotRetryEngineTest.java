@@ -0,0 +1,89 @@
+package me.shib.java.lib.jtelebot.service;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.SocketException;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BotRetryEngineTest {
+
+    private static final long openMillis = 20;
+
+    private BotRetryEngine engine;
+
+    @Before
+    public void setUp() {
+        engine = new BotRetryEngine(new BotRetryPolicy(1, 10, 10, 60, 1, 10000, openMillis));
+    }
+
+    private boolean tryAcquire() {
+        try {
+            engine.acquire("getChat");
+            return true;
+        } catch (BotCircuitOpenException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Opens the breaker of getChat, waits until it lets a trial through and starts the trial.
+     */
+    private void startTrial() throws InterruptedException {
+        assertTrue(tryAcquire());
+        engine.onFailure(new BotApiRequest("getChat"), 1, new ConnectException("Connection refused"));
+        assertFalse(tryAcquire());
+        Thread.sleep(openMillis * 2);
+        assertTrue(tryAcquire());
+        assertFalse("Only one trial call goes through at a time", tryAcquire());
+    }
+
+    @Test
+    public void successfulTrialClosesTheBreaker() throws InterruptedException {
+        startTrial();
+        engine.onResponse(new BotApiRequest("getChat"), 1, 200, null);
+        assertTrue(tryAcquire());
+        assertTrue(tryAcquire());
+    }
+
+    @Test
+    public void floodLimitedTrialIsReleased() throws InterruptedException {
+        startTrial();
+        engine.onResponse(new BotApiRequest("getChat"), 1, 429, null);
+        assertTrue(tryAcquire());
+        assertFalse(tryAcquire());
+    }
+
+    @Test
+    public void cancelledTrialIsReleased() throws InterruptedException {
+        startTrial();
+        BotApiRequest request = new BotApiRequest("getChat");
+        request.abort(new InterruptedIOException("Call to getChat cancelled"));
+        engine.onFailure(request, 1, new SocketException("Socket closed"));
+        assertTrue(tryAcquire());
+        assertFalse(tryAcquire());
+    }
+
+    @Test
+    public void trialPastItsDeadlineReopensTheBreaker() throws InterruptedException {
+        startTrial();
+        BotApiRequest request = new BotApiRequest("getChat");
+        request.abort(new BotDeadlineExceededException("getChat", 100));
+        engine.onFailure(request, 1, new SocketException("Socket closed"));
+        assertFalse(tryAcquire());
+        Thread.sleep(openMillis * 2);
+        assertTrue(tryAcquire());
+    }
+
+    @Test
+    public void cancelledCallIsNotCountedAsFailure() {
+        BotApiRequest request = new BotApiRequest("getChat");
+        request.abort(new InterruptedIOException("Call to getChat cancelled"));
+        engine.onFailure(request, 1, new SocketException("Socket closed"));
+        assertTrue(tryAcquire());
+    }
+}
@@ -0,0 +1,75 @@
+package me.shib.java.lib.jtelebot.service;
+
+import me.shib.java.lib.jtelebot.models.types.InputFile;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class MultipartBodyTest {
+
+    private static byte[] content(int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) i;
+        }
+        return bytes;
+    }
+
+    private static byte[] write(MultipartBody body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+        return out.toByteArray();
+    }
+
+    @Test
+    public void contentLengthMatchesTheBytesWritten() throws IOException {
+        File file = File.createTempFile("jtelebot-multipart", ".bin");
+        file.deleteOnExit();
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(content(100000));
+        }
+        BotApiRequest request = new BotApiRequest("sendMediaGroup");
+        request.addParameter("chat_id", "-100123");
+        request.addParameter("caption", "Größe \"quoted\"\r\nnext line");
+        request.addParameter("na\"me", "");
+        request.addParameter("document", new InputFile(file));
+        request.addParameter("photo", new InputFile("photo.jpg", content(5000)));
+        request.addParameter("thumb", new InputFile("thumb \"1\".jpg", ByteBuffer.wrap(content(700))));
+        request.addParameter("audio", new InputFile("audio.mp3", new ByteArrayInputStream(content(70000)), 70000));
+        MultipartBody body = new MultipartBody(request);
+        byte[] written = write(body);
+        assertEquals(written.length, body.getContentLength());
+        assertTrue(written.length > (100000 + 5000 + 700 + 70000));
+    }
+
+    @Test
+    public void contentLengthIsUnknownForStreamsOfUnknownLength() throws IOException {
+        BotApiRequest request = new BotApiRequest("sendDocument");
+        request.addParameter("chat_id", "5");
+        request.addParameter("document", new InputFile("generated.csv", new ByteArrayInputStream(content(300))));
+        MultipartBody body = new MultipartBody(request);
+        assertEquals(-1, body.getContentLength());
+        write(body);
+    }
+
+    @Test
+    public void streamShorterThanItsLengthFails() {
+        BotApiRequest request = new BotApiRequest("sendDocument");
+        request.addParameter("document", new InputFile("short.bin", new ByteArrayInputStream(content(10)), 20));
+        try {
+            write(new MultipartBody(request));
+            fail("A body shorter than its content length was written");
+        } catch (IOException expected) {
+            // The declared length can no longer be honoured
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package me.shib.java.lib.jtelebot.service;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class OutboundSchedulerTest {
+
+    private BlockingQueue<TestCall> dispatched;
+    private CountDownLatch gateStarted;
+    private CountDownLatch gateOpen;
+    private OutboundScheduler scheduler;
+
+    @Before
+    public void setUp() {
+        dispatched = new LinkedBlockingQueue<>();
+        gateStarted = new CountDownLatch(1);
+        gateOpen = new CountDownLatch(1);
+    }
+
+    @After
+    public void tearDown() {
+        gateOpen.countDown();
+        if (null != scheduler) {
+            scheduler.shutdown();
+        }
+    }
+
+    /**
+     * Holds the only in-flight slot of the scheduler, so that the calls submitted next queue up before any is taken.
+     */
+    private void holdDispatcher() throws InterruptedException {
+        scheduler.submit(new TestCall("gate", OutboundPriority.INTERACTIVE) {
+            @Override
+            public void dispatch(Runnable release) {
+                gateStarted.countDown();
+                try {
+                    gateOpen.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                release.run();
+            }
+        });
+        assertTrue(gateStarted.await(5, TimeUnit.SECONDS));
+    }
+
+    private List<TestCall> takeDispatched(int count) throws InterruptedException {
+        List<TestCall> calls = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            TestCall call = dispatched.poll(5, TimeUnit.SECONDS);
+            assertNotNull("Only " + i + " of " + count + " calls were dispatched", call);
+            calls.add(call);
+        }
+        return calls;
+    }
+
+    @Test
+    public void busyChatDoesNotHoldBackOthers() throws InterruptedException {
+        scheduler = new OutboundScheduler(new BotRateLimiter(1000, 1000, 60000), 1, 4);
+        holdDispatcher();
+        for (int i = 0; i < 20; i++) {
+            scheduler.submit(new TestCall("1", OutboundPriority.INTERACTIVE));
+        }
+        for (int i = 0; i < 3; i++) {
+            scheduler.submit(new TestCall("2", OutboundPriority.INTERACTIVE));
+        }
+        gateOpen.countDown();
+        List<TestCall> calls = takeDispatched(23);
+        StringBuilder order = new StringBuilder();
+        for (TestCall call : calls) {
+            order.append(call.getChatKey());
+        }
+        assertEquals("121212" + "11111111111111111", order.toString());
+        assertEquals(0, scheduler.getQueuedCount());
+    }
+
+    @Test
+    public void interactiveCallsGetSeveralTurnsPerBulkCall() throws InterruptedException {
+        scheduler = new OutboundScheduler(new BotRateLimiter(1000, 1000, 60000), 1, 4);
+        holdDispatcher();
+        for (int i = 0; i < 10; i++) {
+            scheduler.submit(new TestCall("10" + i, OutboundPriority.BULK));
+        }
+        for (int i = 0; i < 10; i++) {
+            scheduler.submit(new TestCall("20" + i, OutboundPriority.INTERACTIVE));
+        }
+        gateOpen.countDown();
+        StringBuilder order = new StringBuilder();
+        for (TestCall call : takeDispatched(20)) {
+            order.append((call.getPriority() == OutboundPriority.INTERACTIVE) ? 'I' : 'B');
+        }
+        assertEquals("IIIIB" + "IIIIB" + "IIBBBBBBBB", order.toString());
+    }
+
+    @Test
+    public void rateLimitedChatDoesNotStallTheDispatcher() throws InterruptedException {
+        scheduler = new OutboundScheduler(new BotRateLimiter(1000, 1000, 1), 1, 4);
+        holdDispatcher();
+        scheduler.submit(new TestCall("-100", OutboundPriority.INTERACTIVE));
+        scheduler.submit(new TestCall("-100", OutboundPriority.INTERACTIVE));
+        scheduler.submit(new TestCall("5", OutboundPriority.INTERACTIVE));
+        gateOpen.countDown();
+        List<TestCall> calls = takeDispatched(2);
+        assertEquals("-100", calls.get(0).getChatKey());
+        assertEquals("5", calls.get(1).getChatKey());
+        assertNull(dispatched.poll(200, TimeUnit.MILLISECONDS));
+        assertEquals(1, scheduler.getQueuedCount());
+    }
+
+    @Test
+    public void cancelledCallsAreDropped() throws InterruptedException {
+        scheduler = new OutboundScheduler(new BotRateLimiter(1000, 1, 60000), 1, 4);
+        holdDispatcher();
+        TestCall cancelled = new TestCall("7", OutboundPriority.INTERACTIVE);
+        scheduler.submit(cancelled);
+        scheduler.submit(new TestCall("7", OutboundPriority.INTERACTIVE));
+        cancelled.done = true;
+        gateOpen.countDown();
+        // The cancelled call does not use the chat's only slot of the second, so the other call goes right away
+        assertEquals("7", takeDispatched(1).get(0).getChatKey());
+        assertNull(dispatched.poll(200, TimeUnit.MILLISECONDS));
+        assertEquals(0, scheduler.getQueuedCount());
+    }
+
+    private class TestCall implements ScheduledCall {
+
+        private final String chatKey;
+        private final OutboundPriority priority;
+        private volatile boolean done;
+
+        private TestCall(String chatKey, OutboundPriority priority) {
+            this.chatKey = chatKey;
+            this.priority = priority;
+        }
+
+        @Override
+        public String getChatKey() {
+            return chatKey;
+        }
+
+        @Override
+        public OutboundPriority getPriority() {
+            return priority;
+        }
+
+        @Override
+        public boolean isDone() {
+            return done;
+        }
+
+        @Override
+        public void dispatch(Runnable release) {
+            dispatched.add(this);
+            release.run();
+        }
+
+        @Override
+        public void reject(IOException e) {
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package me.shib.java.lib.jtelebot.service;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TokenBucketTest {
+
+    private static final long interval = TimeUnit.SECONDS.toNanos(1);
+    private static final long slack = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private static void assertWait(long expected, long actual) {
+        assertTrue("Expected a wait of about " + expected + " ns, but was " + actual,
+                (actual <= expected) && (actual > expected - slack));
+    }
+
+    @Test
+    public void burstUpToCapacityIsNotDelayed() {
+        TokenBucket bucket = new TokenBucket(interval, 3);
+        assertEquals(0, bucket.reserve());
+        assertEquals(0, bucket.reserve());
+        assertEquals(0, bucket.reserve());
+        assertWait(interval, bucket.reserve());
+        assertWait(2 * interval, bucket.reserve());
+    }
+
+    @Test
+    public void reservingSeveralUnitsDelaysTheNextCallByAllOfThem() {
+        TokenBucket bucket = new TokenBucket(interval, 1);
+        assertEquals(0, bucket.reserve(5));
+        assertWait(5 * interval, bucket.reserve());
+    }
+
+    @Test
+    public void boundedReservationFailsWithoutReserving() {
+        TokenBucket bucket = new TokenBucket(interval, 1);
+        assertEquals(0, bucket.tryReserve(1, 0));
+        assertEquals(-1, bucket.tryReserve(1, interval / 2));
+        assertEquals(-1, bucket.tryReserve(1, interval / 2));
+        assertWait(interval, bucket.tryReserve(1, interval));
+        assertWait(2 * interval, bucket.reserve());
+    }
+
+    @Test
+    public void releasedReservationIsGivenToTheNextCall() {
+        TokenBucket bucket = new TokenBucket(interval, 1);
+        assertEquals(0, bucket.reserve());
+        assertWait(interval, bucket.reserve());
+        bucket.release(1);
+        assertWait(interval, bucket.reserve());
+    }
+
+    @Test
+    public void peekDoesNotReserve() {
+        TokenBucket bucket = new TokenBucket(interval, 1);
+        assertEquals(0, bucket.peek(System.nanoTime()));
+        assertEquals(0, bucket.reserve());
+        assertWait(interval, bucket.peek(System.nanoTime()));
+        assertWait(interval, bucket.peek(System.nanoTime()));
+        assertWait(interval, bucket.reserve());
+    }
+
+    @Test
+    public void idleTimeIsNotSavedBeyondCapacity() {
+        TokenBucket bucket = new TokenBucket(TimeUnit.MILLISECONDS.toNanos(10), 2);
+        assertEquals(0, bucket.reserve());
+        bucket.release(100);
+        assertEquals(0, bucket.reserve());
+        assertEquals(0, bucket.reserve());
+        assertTrue(bucket.reserve() > 0);
+    }
+}